@@ -1,16 +1,12 @@
 package br.edu.infnet.appMatheusAvelino;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
-import org.springframework.core.annotation.Order;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Abordagem;
 import br.edu.infnet.appMatheusAvelino.model.service.AbordagemService;
+import br.edu.infnet.appMatheusAvelino.model.service.ImportacaoService;
 
 /**
  * Classe responsável por carregar e processar dados de abordagens a partir de um arquivo de texto.
@@ -19,46 +15,50 @@ import br.edu.infnet.appMatheusAvelino.model.service.AbordagemService;
  * contexto da aplicação.
  * </p>
  * <p>
- * A anotação {@link Order} define a ordem de execução do loader, onde valores menores indicam uma prioridade mais alta.
- * Neste caso, {@code @Order(1)} indica que esta classe deve ser executada antes dos outros loaders.
+ * Como não depende de nenhuma outra {@link Carga}, é a primeira etapa executada pelo {@link CargaInicial}; a carga de
+ * psicólogos depende dela.
+ * </p>
+ * <p>
+ * A carga pode ser desligada com {@code app.carga.habilitada=false}, por exemplo nos benchmarks, que geram os
+ * próprios dados.
  * </p>
  */
 @Component
-@Order(1)
-public class AbordagemLoader implements ApplicationRunner {
+@ConditionalOnProperty(name = "app.carga.habilitada", havingValue = "true", matchIfMissing = true)
+public class AbordagemLoader implements Carga {
 
     @Autowired
     private AbordagemService abordagemService;
 
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getNome() {
+        return "Abordagem";
+    }
+
     /**
      * Método que carrega dados de abordagens a partir de um arquivo e os salva no serviço de abordagem.
      * <p>
      * Lê o arquivo "files/abordagem.txt", processa cada linha para criar instâncias de {@link Abordagem}, e
-     * as inclui no serviço {@link AbordagemService}.
+     * as inclui em lotes no serviço {@link AbordagemService} por meio do {@link ImportacaoService}. A importação é
+     * ordenada porque o arquivo de psicólogos referencia as abordagens pelo ID.
      * </p>
      * 
-     * @param args Argumentos da linha de comando fornecidos para a aplicação.
      * @throws Exception Caso ocorra algum erro durante a leitura do arquivo ou processamento dos dados.
      */
     @Override
-    public void run(ApplicationArguments args) throws Exception {
-        try (FileReader file = new FileReader("files/abordagem.txt");
-             BufferedReader leitura = new BufferedReader(file)) {
-             
-            String linha;
-
-            while ((linha = leitura.readLine()) != null) {
-                String[] campos = linha.split(";");
-
-                String descricao = campos[0].trim();
-
-                Abordagem abordagem = new Abordagem(descricao);
-                abordagemService.incluir(abordagem);
-            }
+    public void executar() throws Exception {
+        long importadas = importacaoService.importar("Abordagem", "files/abordagem.txt",
+                registro -> new Abordagem(registro.texto(0)),
+                abordagemService::incluirLote, true);
 
-            for (Abordagem e : abordagemService.obterLista()) {
-                System.out.println("[ABORDAGEM] " + e);
-            }
-        }
+        // Exibe apenas as quantidades: listar a tabela leria e imprimiria todos os registros a cada linha nova
+        long rejeitadas = importacaoService.obterProgresso("Abordagem").getOrDefault("linhasRejeitadas", 0L);
+        System.out.println("[ABORDAGEM] " + importadas + " linhas importadas, " + rejeitadas + " ignoradas");
     }
 }
@@ -3,6 +3,7 @@ package br.edu.infnet.appMatheusAvelino;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principal que inicializa a aplicação Spring Boot.
@@ -14,9 +15,14 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
  * A anotação {@link EnableFeignClients} ativa o suporte ao Feign, permitindo que a aplicação use clientes Feign para
  * comunicação com serviços externos via HTTP.
  * </p>
+ * <p>
+ * A anotação {@link EnableScheduling} ativa as tarefas agendadas, como a atualização periódica dos contadores do
+ * painel.
+ * </p>
  */
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling
 public class AppMatheusAvelinoApplication {
 
     /**
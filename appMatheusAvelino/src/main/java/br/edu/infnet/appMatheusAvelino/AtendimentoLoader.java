@@ -1,29 +1,30 @@
 package br.edu.infnet.appMatheusAvelino;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
-import org.springframework.core.annotation.Order;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
 import br.edu.infnet.appMatheusAvelino.model.domain.Paciente;
 import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
 import br.edu.infnet.appMatheusAvelino.model.service.AtendimentoService;
+import br.edu.infnet.appMatheusAvelino.model.service.ImportacaoService;
 
 /**
  * Componente responsável por carregar atendimentos a partir de um arquivo de texto na inicialização da aplicação.
  * <p>
- * Implementa a interface {@link ApplicationRunner} para executar a lógica de carregamento de dados após a inicialização
- * da aplicação Spring Boot. Neste caso, a classe lê um arquivo com informações de atendimentos e os salva no banco de dados.
+ * Implementa a interface {@link Carga} e é executado pelo {@link CargaInicial} após a inicialização da aplicação
+ * Spring Boot. Neste caso, a classe lê um arquivo com informações de atendimentos e os salva no banco de dados.
+ * </p>
+ * <p>
+ * Não é executado com {@code app.carga.habilitada=false}; nesse caso a base começa sem atendimentos.
  * </p>
  */
 @Component
-@Order(4)
-public class AtendimentoLoader implements ApplicationRunner {
+@ConditionalOnProperty(name = "app.carga.habilitada", havingValue = "true", matchIfMissing = true)
+public class AtendimentoLoader implements Carga {
 
     /**
      * Serviço para manipular dados de {@link Atendimento}.
@@ -31,39 +32,53 @@ public class AtendimentoLoader implements ApplicationRunner {
     @Autowired
     private AtendimentoService atendimentoService;
 
+    /**
+     * Serviço de importação em lote dos arquivos de carga.
+     */
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getNome() {
+        return "Atendimento";
+    }
+
+    /**
+     * Depende das cargas de psicólogos e pacientes, referenciados pelo ID em cada atendimento.
+     */
+    @Override
+    public Set<Class<? extends Carga>> getDependencias() {
+        return Set.of(PsicologoLoader.class, PacienteLoader.class);
+    }
+
     /**
      * Executa a lógica de carregamento de dados após a inicialização da aplicação.
      * <p>
      * Lê um arquivo de texto contendo informações sobre atendimentos, cria instâncias de {@link Atendimento} e as salva
-     * no banco de dados. Também imprime informações sobre os atendimentos carregados e os separa por status.
+     * no banco de dados. Também imprime a quantidade de linhas importadas e ignoradas.
      * </p>
      * 
-     * @param args argumentos de inicialização da aplicação.
      * @throws Exception caso ocorra algum erro durante a leitura do arquivo ou a inclusão dos dados.
      */
     @Override
-    public void run(ApplicationArguments args) throws Exception {
+    public void executar() throws Exception {
 
-        // Abre o arquivo de texto contendo informações dos atendimentos
-        FileReader file = new FileReader("files/atendimento.txt");
-        BufferedReader leitura = new BufferedReader(file);
-        String linha;
-
-        // Lê cada linha do arquivo e processa os dados
-        while ((linha = leitura.readLine()) != null) {
-            // Divide a linha em campos usando o delimitador ";"
-            String[] campos = linha.split(";");
+        // Lê o arquivo e grava os atendimentos em lotes transacionais
+        long importadas = importacaoService.importar("Atendimento", "files/atendimento.txt", registro -> {
 
             // Cria instâncias de Psicologo e Paciente
             Psicologo psicologo = new Psicologo();
             Paciente paciente = new Paciente();
 
             // Obtém os dados dos campos e cria uma instância de Atendimento
-            Integer psicologoId = Integer.parseInt(campos[0].trim());
-            Integer pacienteId = Integer.parseInt(campos[1].trim());
-            String data = campos[2].trim();
-            String tipoAtendimento = campos[3].trim();
-            Boolean statusAtendimento = Boolean.valueOf(campos[4].trim());
+            int psicologoId = registro.inteiro(0);
+            int pacienteId = registro.inteiro(1);
+            String data = registro.texto(2);
+            String tipoAtendimento = registro.texto(3);
+            boolean statusAtendimento = registro.booleano(4);
 
             Atendimento atendimento = new Atendimento(data, tipoAtendimento);
             psicologo.setId(psicologoId);
@@ -72,27 +87,11 @@ public class AtendimentoLoader implements ApplicationRunner {
             atendimento.setPsicologo(psicologo);
             atendimento.setPaciente(paciente);
             atendimento.setStatusAtendimento(statusAtendimento);
+            return atendimento;
+        }, atendimentoService::incluirLote);
 
-            // Inclui o atendimento no banco de dados
-            atendimentoService.incluir(atendimento);
-        }
-
-        // Imprime todos os atendimentos no console
-        for (Atendimento a : atendimentoService.obterLista()) {
-            System.out.println("[Atendimentos]: " + a);
-        }
-
-        // Imprime atendimentos com status "efetuado"
-        for (Atendimento a : atendimentoService.obterPorStatusAtendimento(true)) {
-            System.err.println("[ATENDIMENTOS EFETUADO] " + a);
-        }
-
-        // Imprime atendimentos com status "em andamento"
-        for (Atendimento a : atendimentoService.obterPorStatusAtendimento(false)) {
-            System.err.println("[ATENDIMENTOS EM ANDAMENTO] " + a);
-        }
-
-        // Fecha o BufferedReader
-        leitura.close();
+        // Exibe apenas as quantidades: listar a tabela leria e imprimiria todos os registros a cada linha nova
+        long rejeitadas = importacaoService.obterProgresso("Atendimento").getOrDefault("linhasRejeitadas", 0L);
+        System.out.println("[ATENDIMENTO] " + importadas + " linhas importadas, " + rejeitadas + " ignoradas");
     }
 }
@@ -0,0 +1,37 @@
+package br.edu.infnet.appMatheusAvelino;
+
+import java.util.Set;
+
+/**
+ * Etapa da carga inicial, executada pelo {@link CargaInicial}.
+ * <p>
+ * Cada etapa declara as etapas das quais depende. O {@link CargaInicial} executa uma etapa assim que todas as suas
+ * dependências terminam, em paralelo com as demais etapas já liberadas, em vez de seguir uma ordem fixa.
+ * </p>
+ */
+public interface Carga {
+
+    /**
+     * Obtém o nome da etapa, exibido no progresso da carga. Para as etapas que importam um arquivo, é o mesmo nome
+     * informado ao {@code ImportacaoService}.
+     *
+     * @return o nome da etapa
+     */
+    String getNome();
+
+    /**
+     * Obtém as etapas que precisam terminar antes desta.
+     *
+     * @return as classes das etapas das quais esta depende; vazio por padrão
+     */
+    default Set<Class<? extends Carga>> getDependencias() {
+        return Set.of();
+    }
+
+    /**
+     * Executa a etapa.
+     *
+     * @throws Exception caso ocorra algum erro durante a leitura do arquivo ou a inclusão dos dados
+     */
+    void executar() throws Exception;
+}
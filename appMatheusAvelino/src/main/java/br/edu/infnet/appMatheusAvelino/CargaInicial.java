@@ -0,0 +1,311 @@
+package br.edu.infnet.appMatheusAvelino;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import br.edu.infnet.appMatheusAvelino.model.service.ImportacaoService;
+
+/**
+ * Componente responsável por executar as etapas da carga inicial ({@link Carga}) na inicialização da aplicação.
+ * <p>
+ * As etapas formam um grafo de dependências: cada etapa é executada assim que todas as etapas das quais depende
+ * terminam, e as etapas independentes entre si são executadas em paralelo, em até {@code app.carga.paralelismo}
+ * threads. Se uma etapa falhar, as etapas que dependem dela são canceladas.
+ * </p>
+ * <p>
+ * Com {@code app.carga.assincrona=true} a carga é executada em segundo plano: a aplicação passa a atender requisições
+ * imediatamente, com os dados aparecendo à medida que as etapas terminam. Enquanto a carga não termina, o indicador de
+ * saúde {@code cargaInicial} fica {@code OUT_OF_SERVICE}, o que também deixa o probe de prontidão
+ * ({@code /actuator/health/readiness}) fora do ar, e o progresso de cada etapa pode ser consultado em
+ * {@code /carga/progresso}. Com {@code app.carga.assincrona=false} (padrão) a inicialização aguarda o fim da carga e
+ * falha se alguma etapa falhar.
+ * </p>
+ */
+@Component
+public class CargaInicial implements ApplicationRunner, HealthIndicator {
+
+    /**
+     * Etapas da carga inicial; vazio quando os loaders estão desligados ({@code app.carga.habilitada=false}).
+     */
+    @Autowired(required = false)
+    private List<Carga> cargas = List.of();
+
+    /**
+     * Serviço de importação, consultado para o progresso de cada etapa.
+     */
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    /**
+     * Indica se a carga é executada em segundo plano, sem bloquear a inicialização.
+     */
+    @Value("${app.carga.assincrona:false}")
+    private boolean assincrona;
+
+    /**
+     * Quantidade máxima de etapas executadas ao mesmo tempo.
+     */
+    @Value("${app.carga.paralelismo:2}")
+    private int paralelismo;
+
+    /**
+     * Execução iniciada na inicialização da aplicação.
+     */
+    private volatile Execucao execucao;
+
+    /**
+     * Inicia a carga na inicialização da aplicação e, no modo síncrono, aguarda o seu término.
+     *
+     * @param args argumentos de inicialização da aplicação.
+     * @throws Exception a exceção lançada pela primeira etapa que falhou, no modo síncrono.
+     */
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        execucao = iniciar(cargas);
+
+        if (assincrona) {
+            System.out.println("[CARGA INICIAL] Executando " + cargas.size() + " etapas em segundo plano");
+            return;
+        }
+
+        try {
+            execucao.conclusao.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Inicia a execução das etapas informadas, respeitando as dependências entre elas.
+     *
+     * @param etapas as etapas a serem executadas
+     * @return a execução, com o seu progresso e a sua conclusão
+     * @throws IllegalStateException se houver uma dependência circular ou uma dependência que não está entre as etapas
+     */
+    public Execucao iniciar(Collection<? extends Carga> etapas) {
+        Map<Class<?>, Carga> porClasse = new LinkedHashMap<>();
+        for (Carga carga : etapas) {
+            porClasse.put(ClassUtils.getUserClass(carga), carga);
+        }
+
+        // Valida o grafo antes de iniciar qualquer etapa
+        List<Carga> ordem = new ArrayList<>();
+        Set<Class<?>> visitadas = new HashSet<>();
+        for (Carga carga : porClasse.values()) {
+            ordenar(carga, porClasse, visitadas, new HashSet<>(), ordem);
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, paralelismo), tarefa -> {
+            Thread thread = new Thread(tarefa, "carga-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Map<Class<?>, CompletableFuture<Void>> futuros = new HashMap<>();
+        Map<String, Etapa> progresso = new LinkedHashMap<>();
+        for (Carga carga : ordem) {
+            Etapa etapa = new Etapa(carga.getNome());
+            progresso.put(etapa.nome, etapa);
+
+            CompletableFuture<?>[] dependencias = carga.getDependencias().stream()
+                    .map(futuros::get)
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture<Void> futuro = CompletableFuture.allOf(dependencias)
+                    .thenRunAsync(() -> executar(carga, etapa), executor);
+            futuro.whenComplete((r, e) -> {
+                if (e != null && etapa.estado == Estado.PENDENTE) {
+                    etapa.estado = Estado.CANCELADA;
+                }
+            });
+            futuros.put(ClassUtils.getUserClass(carga), futuro);
+        }
+
+        long inicio = System.nanoTime();
+        CompletableFuture<Void> conclusao = CompletableFuture.allOf(futuros.values().toArray(CompletableFuture[]::new));
+        conclusao.whenComplete((r, e) -> {
+            executor.shutdown();
+            long millis = (System.nanoTime() - inicio) / 1_000_000;
+            if (e == null) {
+                System.out.println("[CARGA INICIAL] Concluída em " + millis + " ms");
+            } else {
+                Throwable causa = e.getCause() != null ? e.getCause() : e;
+                System.err.println("[ERROR] Carga inicial interrompida após " + millis + " ms: " + causa.getMessage());
+            }
+        });
+
+        return new Execucao(progresso, conclusao);
+    }
+
+    /**
+     * Adiciona a etapa à ordem de execução depois das suas dependências (ordenação topológica em profundidade).
+     */
+    private static void ordenar(Carga carga, Map<Class<?>, Carga> porClasse, Set<Class<?>> visitadas,
+            Set<Class<?>> caminho, List<Carga> ordem) {
+
+        Class<?> classe = ClassUtils.getUserClass(carga);
+        if (visitadas.contains(classe)) {
+            return;
+        }
+        if (!caminho.add(classe)) {
+            throw new IllegalStateException("Dependência circular na carga inicial envolvendo " + carga.getNome());
+        }
+
+        for (Class<? extends Carga> dependencia : carga.getDependencias()) {
+            Carga anterior = porClasse.get(dependencia);
+            if (anterior == null) {
+                throw new IllegalStateException("A carga " + carga.getNome() + " depende de "
+                        + dependencia.getSimpleName() + ", que não está habilitada");
+            }
+            ordenar(anterior, porClasse, visitadas, caminho, ordem);
+        }
+
+        caminho.remove(classe);
+        visitadas.add(classe);
+        ordem.add(carga);
+    }
+
+    private void executar(Carga carga, Etapa etapa) {
+        etapa.inicio = System.nanoTime();
+        etapa.estado = Estado.EXECUTANDO;
+        try {
+            carga.executar();
+            etapa.fim = System.nanoTime();
+            etapa.estado = Estado.CONCLUIDA;
+        } catch (Exception e) {
+            etapa.fim = System.nanoTime();
+            etapa.erro = e.getMessage();
+            etapa.estado = Estado.FALHOU;
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Obtém o progresso da carga iniciada na inicialização da aplicação.
+     *
+     * @return o estado, a duração e as linhas lidas e gravadas de cada etapa, e o percentual de etapas concluídas
+     */
+    public Map<String, Object> obterProgresso() {
+        Execucao atual = execucao;
+        return atual == null ? Map.of("concluida", false) : atual.obterProgresso();
+    }
+
+    /**
+     * Indica se a carga terminou com sucesso. Fica {@code OUT_OF_SERVICE} enquanto a carga não termina e
+     * {@code DOWN} se alguma etapa falhar.
+     */
+    @Override
+    public Health health() {
+        Execucao atual = execucao;
+        if (atual == null) {
+            return Health.outOfService().build();
+        }
+
+        CompletableFuture<Void> conclusao = atual.conclusao;
+        Health.Builder saude = !conclusao.isDone() ? Health.outOfService()
+                : conclusao.isCompletedExceptionally() ? Health.down() : Health.up();
+        return saude.withDetails(atual.obterProgresso()).build();
+    }
+
+    /**
+     * Estado de uma etapa da carga.
+     */
+    public enum Estado {
+        PENDENTE, EXECUTANDO, CONCLUIDA, FALHOU, CANCELADA
+    }
+
+    /**
+     * Uma execução da carga inicial: o progresso de cada etapa e a conclusão de todas elas.
+     */
+    public final class Execucao {
+
+        private final Map<String, Etapa> etapas;
+        private final CompletableFuture<Void> conclusao;
+
+        private Execucao(Map<String, Etapa> etapas, CompletableFuture<Void> conclusao) {
+            this.etapas = etapas;
+            this.conclusao = conclusao;
+        }
+
+        /**
+         * Obtém a conclusão da execução, que termina com a exceção da primeira etapa que falhar.
+         *
+         * @return o futuro concluído quando todas as etapas terminam
+         */
+        public CompletableFuture<Void> getConclusao() {
+            return conclusao;
+        }
+
+        /**
+         * Obtém o progresso de cada etapa.
+         *
+         * @return o estado, a duração e as linhas lidas e gravadas de cada etapa, e o percentual de etapas concluídas
+         */
+        public Map<String, Object> obterProgresso() {
+            Map<String, Object> detalhes = new LinkedHashMap<>();
+            long concluidas = 0;
+            for (Etapa etapa : etapas.values()) {
+                if (etapa.estado == Estado.CONCLUIDA) {
+                    concluidas++;
+                }
+
+                Map<String, Object> dados = new LinkedHashMap<>();
+                dados.put("estado", etapa.estado);
+                if (etapa.inicio != 0) {
+                    long fim = etapa.fim != 0 ? etapa.fim : System.nanoTime();
+                    dados.put("duracaoMs", (fim - etapa.inicio) / 1_000_000);
+                }
+                dados.putAll(importacaoService.obterProgresso(etapa.nome));
+                if (etapa.erro != null) {
+                    dados.put("erro", etapa.erro);
+                }
+                detalhes.put(etapa.nome, dados);
+            }
+
+            Map<String, Object> progresso = new LinkedHashMap<>();
+            progresso.put("concluida", conclusao.isDone() && !conclusao.isCompletedExceptionally());
+            progresso.put("percentual", etapas.isEmpty() ? 100 : concluidas * 100 / etapas.size());
+            progresso.put("etapas", detalhes);
+            return progresso;
+        }
+    }
+
+    /**
+     * Estado e tempos de uma etapa, atualizados pela thread que a executa e lidos pelas requisições de progresso.
+     */
+    private static final class Etapa {
+
+        private final String nome;
+        private volatile Estado estado = Estado.PENDENTE;
+        private volatile long inicio;
+        private volatile long fim;
+        private volatile String erro;
+
+        private Etapa(String nome) {
+            this.nome = nome;
+        }
+    }
+}
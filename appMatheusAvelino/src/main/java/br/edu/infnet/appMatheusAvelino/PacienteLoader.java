@@ -1,29 +1,30 @@
 package br.edu.infnet.appMatheusAvelino;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
-import org.springframework.core.annotation.Order;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Endereco;
 import br.edu.infnet.appMatheusAvelino.model.domain.Paciente;
 import br.edu.infnet.appMatheusAvelino.model.service.EnderecoService;
+import br.edu.infnet.appMatheusAvelino.model.service.ImportacaoService;
 import br.edu.infnet.appMatheusAvelino.model.service.PacienteService;
 
 /**
  * Componente responsável por carregar pacientes a partir de um arquivo de texto na inicialização da aplicação.
  * <p>
- * Implementa a interface {@link ApplicationRunner} para executar a lógica de carregamento de dados após a inicialização
- * da aplicação Spring Boot. Neste caso, a classe lê um arquivo com informações de pacientes e os salva no banco de dados.
+ * Implementa a interface {@link Carga} e é executado pelo {@link CargaInicial} após a inicialização da aplicação
+ * Spring Boot. Neste caso, a classe lê um arquivo com informações de pacientes e os salva no banco de dados.
+ * </p>
+ * <p>
+ * Não é executado com {@code app.carga.habilitada=false}.
  * </p>
  */
 @Component
-@Order(3)
-public class PacienteLoader implements ApplicationRunner {
+@ConditionalOnProperty(name = "app.carga.habilitada", havingValue = "true", matchIfMissing = true)
+public class PacienteLoader implements Carga {
 
     /**
      * Serviço para manipular dados de {@link Paciente}.
@@ -37,55 +38,66 @@ public class PacienteLoader implements ApplicationRunner {
     @Autowired
     private EnderecoService enderecoService;
 
+    /**
+     * Serviço de importação em lote dos arquivos de carga.
+     */
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getNome() {
+        return "Paciente";
+    }
+
+    /**
+     * Depende da carga de psicólogos: os dois compartilham a sequência de IDs de usuário, e o arquivo de atendimentos
+     * espera os pacientes numerados depois dos psicólogos.
+     */
+    @Override
+    public Set<Class<? extends Carga>> getDependencias() {
+        return Set.of(PsicologoLoader.class);
+    }
+
     /**
      * Executa a lógica de carregamento de dados após a inicialização da aplicação.
      * <p>
      * Lê um arquivo de texto contendo informações sobre pacientes, cria instâncias de {@link Paciente} e as salva
-     * no banco de dados. Também imprime informações sobre os pacientes carregados e busca um paciente específico
-     * pelo CPF.
+     * no banco de dados. Também imprime a quantidade de linhas importadas e ignoradas e busca um paciente
+     * específico pelo CPF.
      * </p>
      * 
-     * @param args argumentos de inicialização da aplicação.
      * @throws Exception caso ocorra algum erro durante a leitura do arquivo ou a inclusão dos dados.
      */
     @Override
-    public void run(ApplicationArguments args) throws Exception {
-
-        // Abre o arquivo de texto contendo informações dos pacientes
-        FileReader file = new FileReader("files/paciente.txt");
-        BufferedReader leitura = new BufferedReader(file);
-        String linha;
+    public void executar() throws Exception {
 
-        // Lê cada linha do arquivo e processa os dados
-        while ((linha = leitura.readLine()) != null) {
-
-            // Divide a linha em campos usando o delimitador ";"
-            String[] campos = linha.split(";");
+        // Lê o arquivo e grava os pacientes em lotes transacionais, na ordem do arquivo, pois
+        // o arquivo de atendimentos referencia os pacientes pelo ID
+        long importadas = importacaoService.importar("Paciente", "files/paciente.txt", registro -> {
 
             // Obtém o endereço pelo CEP
-            Endereco endereco = enderecoService.obterPorCep(campos[4].trim());
+            Endereco endereco = enderecoService.obterPorCep(registro.texto(4));
 
             // Cria uma instância de Paciente com os dados lidos
-            String nomeCompleto = campos[0].trim();
-            String email = campos[1].trim();
-            int idade = Integer.parseInt(campos[2].trim());
-            String cpf = campos[3].trim();
+            String nomeCompleto = registro.texto(0);
+            String email = registro.texto(1);
+            int idade = registro.inteiro(2);
+            String cpf = registro.texto(3);
 
             Paciente paciente = new Paciente(nomeCompleto, email, idade, cpf);
             paciente.setEndereco(endereco);
-            pacienteService.incluir(paciente);
-        }
+            return paciente;
+        }, pacienteService::incluirLote, true);
 
-        // Imprime todos os pacientes no console
-        for (Paciente p : pacienteService.obterLista()) {
-            System.out.println("[PACIENTE] " + p);
-        }
+        // Exibe apenas as quantidades: listar a tabela leria e imprimiria todos os registros a cada linha nova
+        long rejeitadas = importacaoService.obterProgresso("Paciente").getOrDefault("linhasRejeitadas", 0L);
+        System.out.println("[PACIENTE] " + importadas + " linhas importadas, " + rejeitadas + " ignoradas");
 
         // Busca e imprime um paciente específico pelo CPF
         Paciente p1 = pacienteService.obterPorCpf("12345678964");
         System.err.println("[PACIENTE POR CPF] " + p1);
-
-        // Fecha o BufferedReader
-        leitura.close();
     }
 }
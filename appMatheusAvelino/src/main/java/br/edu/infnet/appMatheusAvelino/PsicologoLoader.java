@@ -1,30 +1,31 @@
 package br.edu.infnet.appMatheusAvelino;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
-import org.springframework.core.annotation.Order;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Endereco;
 import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
 import br.edu.infnet.appMatheusAvelino.model.service.AbordagemService;
 import br.edu.infnet.appMatheusAvelino.model.service.EnderecoService;
+import br.edu.infnet.appMatheusAvelino.model.service.ImportacaoService;
 import br.edu.infnet.appMatheusAvelino.model.service.PsicologoService;
 
 /**
  * Componente responsável por carregar psicólogos a partir de um arquivo de texto na inicialização da aplicação.
  * <p>
- * Implementa a interface {@link ApplicationRunner} para executar a lógica de carregamento de dados após a inicialização
- * da aplicação Spring Boot. Neste caso, a classe lê um arquivo com informações de psicólogos e os salva no banco de dados.
+ * Implementa a interface {@link Carga} e é executado pelo {@link CargaInicial} após a inicialização da aplicação
+ * Spring Boot. Neste caso, a classe lê um arquivo com informações de psicólogos e os salva no banco de dados.
+ * </p>
+ * <p>
+ * Assim como os demais loaders, não é executado com {@code app.carga.habilitada=false}.
  * </p>
  */
 @Component
-@Order(2)
-public class PsicologoLoader implements ApplicationRunner {
+@ConditionalOnProperty(name = "app.carga.habilitada", havingValue = "true", matchIfMissing = true)
+public class PsicologoLoader implements Carga {
 
     /**
      * Serviço para manipular dados de {@link Psicologo}.
@@ -44,58 +45,68 @@ public class PsicologoLoader implements ApplicationRunner {
     @Autowired
     private EnderecoService enderecoService;
 
+    /**
+     * Serviço de importação em lote dos arquivos de carga.
+     */
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getNome() {
+        return "Psicologo";
+    }
+
+    /**
+     * Depende da carga de abordagens, pois cada psicólogo referencia a sua abordagem pelo ID.
+     */
+    @Override
+    public Set<Class<? extends Carga>> getDependencias() {
+        return Set.of(AbordagemLoader.class);
+    }
+
     /**
      * Executa a lógica de carregamento de dados após a inicialização da aplicação.
      * <p>
      * Lê um arquivo de texto contendo informações sobre psicólogos, cria instâncias de {@link Psicologo} e as salva
-     * no banco de dados. Também imprime informações sobre os psicólogos carregados e busca um psicólogo específico
-     * pelo CRP.
+     * no banco de dados. Também imprime a quantidade de linhas importadas e ignoradas e busca um psicólogo
+     * específico pelo CRP.
      * </p>
      * 
-     * @param args argumentos de inicialização da aplicação.
      * @throws Exception caso ocorra algum erro durante a leitura do arquivo ou a inclusão dos dados.
      */
     @Override
-    public void run(ApplicationArguments args) throws Exception {
-
-        // Abre o arquivo de texto contendo informações dos psicólogos
-        FileReader file = new FileReader("files/psicologo.txt");
-        BufferedReader leitura = new BufferedReader(file);
-        String linha;
+    public void executar() throws Exception {
 
-        // Lê cada linha do arquivo e processa os dados
-        while ((linha = leitura.readLine()) != null) {
-
-            // Divide a linha em campos usando o delimitador ";"
-            String[] campos = linha.split(";");
+        // Lê o arquivo e grava os psicólogos em lotes transacionais, na ordem do arquivo, pois
+        // o arquivo de atendimentos referencia os psicólogos pelo ID
+        long importadas = importacaoService.importar("Psicologo", "files/psicologo.txt", registro -> {
 
             // Obtém o endereço pelo CEP
-            Endereco endereco = enderecoService.obterPorCep(campos[5].trim());
+            Endereco endereco = enderecoService.obterPorCep(registro.texto(5));
 
             // Cria uma instância de Psicologo com os dados lidos
-            String nomeCompleto = campos[0].trim();
-            String email = campos[1].trim();
-            int idade = Integer.parseInt(campos[2].trim());
-            String CRP = campos[3].trim();
-            int idAbordagem = Integer.parseInt(campos[4].trim());
+            String nomeCompleto = registro.texto(0);
+            String email = registro.texto(1);
+            int idade = registro.inteiro(2);
+            String CRP = registro.texto(3);
+            int idAbordagem = registro.inteiro(4);
 
             Psicologo psicologo = new Psicologo(nomeCompleto, email, idade, CRP,
                     abordagemService.obterPorId(idAbordagem));
             psicologo.setEndereco(endereco);
-            psicologoService.incluir(psicologo);
-        }
+            return psicologo;
+        }, psicologoService::incluirLote, true);
 
-        // Imprime todos os psicólogos no console
-        for (Psicologo p : psicologoService.obterLista()) {
-            System.out.println("[PSICOLOGO] " + p);
-        }
+        // Exibe apenas as quantidades: listar a tabela leria e imprimiria todos os registros a cada linha nova
+        long rejeitadas = importacaoService.obterProgresso("Psicologo").getOrDefault("linhasRejeitadas", 0L);
+        System.out.println("[PSICOLOGO] " + importadas + " linhas importadas, " + rejeitadas + " ignoradas");
 
         // Busca e imprime um psicólogo específico pelo CRP
         String crp = "123456";
         Psicologo p1 = psicologoService.obterPorCrp(crp);
         System.err.println("[PSICOLOGO POR CRP ]" + p1);
-
-        // Fecha o BufferedReader
-        leitura.close();
     }
 }
@@ -1,8 +1,9 @@
 package br.edu.infnet.appMatheusAvelino;
 
+import java.util.Set;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Usuario;
@@ -11,13 +12,17 @@ import br.edu.infnet.appMatheusAvelino.model.service.UsuarioService;
 /**
  * Componente responsável por carregar e exibir informações de usuários na inicialização da aplicação.
  * <p>
- * Implementa a interface {@link ApplicationRunner} para executar um código adicional
- * após a inicialização da aplicação Spring Boot. Neste caso, é utilizado para obter e 
+ * Implementa a interface {@link Carga} para executar um código adicional
+ * após a inicialização da aplicação Spring Boot, pelo {@link CargaInicial}. Neste caso, é utilizado para obter e 
  * exibir usuários com 30 anos de idade.
  * </p>
+ * <p>
+ * Como depende dos dados gravados pelos outros loaders, também é desligado com {@code app.carga.habilitada=false}.
+ * </p>
  */
 @Component
-public class UsuarioLoader implements ApplicationRunner {
+@ConditionalOnProperty(name = "app.carga.habilitada", havingValue = "true", matchIfMissing = true)
+public class UsuarioLoader implements Carga {
 
     /**
      * Serviço para manipular dados de {@link Usuario}.
@@ -25,17 +30,32 @@ public class UsuarioLoader implements ApplicationRunner {
     @Autowired
     private UsuarioService usuarioService;
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getNome() {
+        return "Usuario";
+    }
+
+    /**
+     * Depende das cargas de psicólogos e pacientes; pode ser executado em paralelo com a carga de atendimentos.
+     */
+    @Override
+    public Set<Class<? extends Carga>> getDependencias() {
+        return Set.of(PsicologoLoader.class, PacienteLoader.class);
+    }
+
     /**
      * Executa a lógica de carregamento de dados após a inicialização da aplicação.
      * <p>
      * Obtém todos os usuários com 30 anos de idade e imprime suas informações no console.
      * </p>
      * 
-     * @param args argumentos de inicialização da aplicação.
      * @throws Exception caso ocorra algum erro durante a execução.
      */
     @Override
-    public void run(ApplicationArguments args) throws Exception {
+    public void executar() throws Exception {
         for (Usuario u : usuarioService.obterPorIdade(30)) {
             System.err.println("[USUARIOS COM 30 ANOS] " + u);
         }
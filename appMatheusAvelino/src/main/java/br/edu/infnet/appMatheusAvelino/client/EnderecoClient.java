@@ -9,10 +9,15 @@ import br.edu.infnet.appMatheusAvelino.model.domain.Endereco;
 /**
  * Cliente Feign para interagir com o serviço externo de busca de endereços via CEP.
  * <p>
- * Utiliza a API do ViaCEP para buscar informações de endereço com base no CEP fornecido.
+ * Utiliza a API do ViaCEP para buscar informações de endereço com base no CEP fornecido. A URL pode ser alterada
+ * pela propriedade {@code app.cep.url}, por exemplo para apontar para um servidor simulado nos testes.
+ * </p>
+ * <p>
+ * Com {@code app.cep.fonte=local}, a implementação principal passa a ser o {@link EnderecoLocalClient} e este cliente
+ * continua disponível pelo qualificador {@code viaCep}.
  * </p>
  */
-@FeignClient(url="https://viacep.com.br/ws", name="enderecoClient")
+@FeignClient(url="${app.cep.url:https://viacep.com.br/ws}", name="enderecoClient", qualifiers="viaCep", primary=false)
 public interface EnderecoClient {
 
     /**
@@ -0,0 +1,253 @@
+package br.edu.infnet.appMatheusAvelino.client;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Endereco;
+import br.edu.infnet.appMatheusAvelino.model.service.LeitorRegistros;
+import br.edu.infnet.appMatheusAvelino.model.service.Registro;
+
+/**
+ * Implementação de {@link EnderecoClient} baseada em uma base de CEPs local, para ambientes sem acesso ao ViaCEP.
+ * <p>
+ * Ativada com {@code app.cep.fonte=local}. O arquivo {@code app.cep.local.arquivo} (por padrão {@code files/cep.txt})
+ * tem uma linha por CEP no formato {@code cep;logradouro;complemento;bairro;localidade;uf} e é carregado na
+ * inicialização em um índice compacto: os CEPs ficam em um {@code int[]} ordenado, pesquisado por busca binária, e os
+ * demais campos em arrays paralelos. Bairros, localidades e UFs se repetem muito entre CEPs vizinhos, por isso cada
+ * valor distinto é guardado uma única vez.
+ * </p>
+ * <p>
+ * CEPs ausentes da base são consultados no ViaCEP, a menos que {@code app.cep.local.consultar-viacep=false}.
+ * </p>
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "app.cep.fonte", havingValue = "local")
+public class EnderecoLocalClient implements EnderecoClient {
+
+    /**
+     * Cliente do ViaCEP, usado para os CEPs ausentes da base local.
+     */
+    @Autowired
+    @Qualifier("viaCep")
+    private EnderecoClient viaCep;
+
+    @Value("${app.cep.local.arquivo:files/cep.txt}")
+    private String arquivo;
+
+    @Value("${app.cep.local.consultar-viacep:true}")
+    private boolean consultarViaCep;
+
+    /**
+     * Índice da base local, vazio até o carregamento.
+     */
+    private Indice indice = new Indice(0);
+
+    /**
+     * Carrega a base de CEPs. Se o arquivo não puder ser lido, a base fica vazia e todas as consultas são
+     * encaminhadas ao ViaCEP.
+     */
+    @PostConstruct
+    void carregar() {
+        Path caminho = Paths.get(arquivo);
+        long inicio = System.nanoTime();
+
+        try {
+            Indice novo = new Indice(1024);
+            Registro registro = new Registro();
+
+            try (LeitorRegistros leitor = new LeitorRegistros(caminho)) {
+                LeitorRegistros.Bloco bloco = new LeitorRegistros.Bloco(1024);
+                while (leitor.proximoBloco(bloco)) {
+                    bloco.paraCada(registro, novo::adicionar);
+                }
+            }
+
+            novo.ordenar();
+            indice = novo;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[ERROR] Falha ao carregar a base de CEPs " + caminho + ": " + e.getMessage());
+            return;
+        }
+
+        System.out.println("[CEP] Base local: " + indice.qtde + " CEPs carregados em "
+                + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Busca o endereço correspondente ao CEP na base local e, se não encontrado, no ViaCEP.
+     *
+     * @param cep o CEP do endereço a ser consultado, com ou sem hífen
+     * @return o objeto {@link Endereco} com as informações do endereço, ou {@code null} se o CEP não está na base
+     *         local e a consulta ao ViaCEP está desativada
+     */
+    @Override
+    public Endereco findByCep(String cep) {
+        int numero = converter(cep);
+        Endereco endereco = numero < 0 ? null : indice.buscar(numero);
+
+        if (endereco != null) {
+            return endereco;
+        }
+
+        return consultarViaCep ? viaCep.findByCep(cep) : null;
+    }
+
+    /**
+     * Converte o CEP para inteiro, ignorando o hífen.
+     *
+     * @return o CEP como inteiro, ou -1 se não tiver exatamente 8 dígitos
+     */
+    private static int converter(String cep) {
+        int numero = 0;
+        int digitos = 0;
+
+        for (int i = 0; i < cep.length(); i++) {
+            char c = cep.charAt(i);
+            if (c >= '0' && c <= '9') {
+                numero = numero * 10 + (c - '0');
+                digitos++;
+            } else if (c != '-') {
+                return -1;
+            }
+        }
+
+        return digitos == 8 ? numero : -1;
+    }
+
+    /**
+     * Obtém a quantidade de CEPs da base local.
+     *
+     * @return a quantidade de CEPs carregados
+     */
+    public int getQtdeCeps() {
+        return indice.qtde;
+    }
+
+    /**
+     * Base de CEPs em colunas: o CEP em um {@code int[]} e cada campo do endereço em um array paralelo.
+     */
+    private static final class Indice {
+
+        private int qtde;
+        private int[] ceps;
+        private String[] logradouros;
+        private String[] complementos;
+        private String[] bairros;
+        private String[] localidades;
+        private String[] ufs;
+
+        /**
+         * Valores distintos de complemento, bairro, localidade e UF, usados apenas durante o carregamento.
+         */
+        private Map<String, String> valores = new HashMap<>();
+
+        private Indice(int capacidade) {
+            ceps = new int[capacidade];
+            logradouros = new String[capacidade];
+            complementos = new String[capacidade];
+            bairros = new String[capacidade];
+            localidades = new String[capacidade];
+            ufs = new String[capacidade];
+        }
+
+        private void adicionar(Registro registro) {
+            if (qtde == ceps.length) {
+                int capacidade = 2 * ceps.length;
+                ceps = Arrays.copyOf(ceps, capacidade);
+                logradouros = Arrays.copyOf(logradouros, capacidade);
+                complementos = Arrays.copyOf(complementos, capacidade);
+                bairros = Arrays.copyOf(bairros, capacidade);
+                localidades = Arrays.copyOf(localidades, capacidade);
+                ufs = Arrays.copyOf(ufs, capacidade);
+            }
+
+            ceps[qtde] = converter(registro.texto(0));
+            logradouros[qtde] = registro.texto(1);
+            complementos[qtde] = unico(registro.texto(2));
+            bairros[qtde] = unico(registro.texto(3));
+            localidades[qtde] = unico(registro.texto(4));
+            ufs[qtde] = unico(registro.texto(5));
+            qtde++;
+        }
+
+        private String unico(String valor) {
+            String existente = valores.putIfAbsent(valor, valor);
+            return existente == null ? valor : existente;
+        }
+
+        /**
+         * Ordena as colunas pelo CEP e descarta a capacidade excedente. Cada CEP é ordenado junto com a sua posição
+         * original, nos 32 bits inferiores de um {@code long}, evitando ordenar objetos.
+         */
+        private void ordenar() {
+            long[] ordem = new long[qtde];
+            for (int i = 0; i < qtde; i++) {
+                if (ceps[i] < 0) {
+                    throw new IllegalArgumentException("CEP inválido na linha " + (i + 1));
+                }
+                ordem[i] = (long) ceps[i] << 32 | i;
+            }
+            Arrays.sort(ordem);
+
+            int[] cepsOrdenados = new int[qtde];
+            String[] logradourosOrdenados = new String[qtde];
+            String[] complementosOrdenados = new String[qtde];
+            String[] bairrosOrdenados = new String[qtde];
+            String[] localidadesOrdenadas = new String[qtde];
+            String[] ufsOrdenadas = new String[qtde];
+
+            for (int i = 0; i < qtde; i++) {
+                int origem = (int) ordem[i];
+                cepsOrdenados[i] = (int) (ordem[i] >>> 32);
+                logradourosOrdenados[i] = logradouros[origem];
+                complementosOrdenados[i] = complementos[origem];
+                bairrosOrdenados[i] = bairros[origem];
+                localidadesOrdenadas[i] = localidades[origem];
+                ufsOrdenadas[i] = ufs[origem];
+            }
+
+            ceps = cepsOrdenados;
+            logradouros = logradourosOrdenados;
+            complementos = complementosOrdenados;
+            bairros = bairrosOrdenados;
+            localidades = localidadesOrdenadas;
+            ufs = ufsOrdenadas;
+            valores = null;
+        }
+
+        /**
+         * Busca um CEP por busca binária.
+         *
+         * @return um novo {@link Endereco}, ou {@code null} se o CEP não está na base
+         */
+        private Endereco buscar(int cep) {
+            int posicao = Arrays.binarySearch(ceps, 0, qtde, cep);
+            if (posicao < 0) {
+                return null;
+            }
+
+            Endereco endereco = new Endereco();
+            endereco.setCep(String.format("%05d-%03d", cep / 1000, cep % 1000));
+            endereco.setLogradouro(logradouros[posicao]);
+            endereco.setComplemento(complementos[posicao]);
+            endereco.setBairro(bairros[posicao]);
+            endereco.setLocalidade(localidades[posicao]);
+            endereco.setUf(ufs[posicao]);
+            return endereco;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package br.edu.infnet.appMatheusAvelino.config;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Transaction;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados e as transações concluídas pelo Hibernate, para os contadores {@code app.db.*}.
+ * <p>
+ * É registrado na fábrica de sessões como {@link StatementInspector} e como interceptador, de modo que a contagem não
+ * depende das estatísticas do Hibernate ({@code app.cache.estatisticas}), desabilitadas por padrão. Uma única
+ * instância atende a todas as sessões, por isso os contadores são {@link LongAdder}.
+ * </p>
+ */
+public class ContadorBancoDeDados extends EmptyInterceptor implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LongAdder comandos = new LongAdder();
+    private final LongAdder transacoes = new LongAdder();
+
+    /**
+     * Conta o comando e o devolve sem alterações.
+     *
+     * @param sql o comando SQL a ser preparado
+     * @return o mesmo comando
+     */
+    @Override
+    public String inspect(String sql) {
+        comandos.increment();
+        return sql;
+    }
+
+    /**
+     * Conta a transação concluída, confirmada ou desfeita.
+     *
+     * @param transacao a transação concluída
+     */
+    @Override
+    public void afterTransactionCompletion(Transaction transacao) {
+        transacoes.increment();
+    }
+
+    /**
+     * Obtém a quantidade de comandos SQL preparados desde a inicialização.
+     *
+     * @return a quantidade de comandos
+     */
+    public long getComandos() {
+        return comandos.sum();
+    }
+
+    /**
+     * Obtém a quantidade de transações concluídas desde a inicialização.
+     *
+     * @return a quantidade de transações
+     */
+    public long getTransacoes() {
+        return transacoes.sum();
+    }
+}
@@ -0,0 +1,28 @@
+package br.edu.infnet.appMatheusAvelino.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+
+/**
+ * Configuração da serialização JSON das entidades JPA.
+ * <p>
+ * Registra o {@link Hibernate5Module}, que serializa como {@code null} as associações LAZY ainda não carregadas. Assim,
+ * as listagens devolvem apenas o que foi buscado na consulta, sem disparar uma consulta por entidade durante a
+ * serialização, e as consultas de detalhe devolvem as associações carregadas pelo seu entity graph.
+ * </p>
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Módulo do Jackson para entidades do Hibernate, adicionado automaticamente ao {@code ObjectMapper} do Spring Boot.
+     *
+     * @return o módulo configurado
+     */
+    @Bean
+    public Hibernate5Module hibernate5Module() {
+        return new Hibernate5Module();
+    }
+}
@@ -0,0 +1,90 @@
+package br.edu.infnet.appMatheusAvelino.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Aspecto que mede a latência de cada método público dos serviços, controladores e clientes (incluindo o cliente
+ * Feign de CEP).
+ * <p>
+ * Cada método tem um {@link Timer} {@code app.metodo} com as tags {@code camada}, {@code classe}, {@code metodo} e
+ * {@code excecao}, que publica a quantidade de chamadas (vazão), o tempo total, o máximo e os percentis configurados.
+ * Os percentis são calculados a partir de um histograma com janela deslizante, no estilo do HdrHistogram.
+ * </p>
+ * <p>
+ * O timer das chamadas bem-sucedidas é guardado por método, evitando montar as tags a cada chamada. Métodos que
+ * devolvem um {@code CompletableFuture} são medidos até o retorno, não até a conclusão do futuro. Chamadas internas
+ * de uma classe ({@code this.metodo()}) não passam pelo proxy e não são medidas.
+ * </p>
+ */
+@Aspect
+public class MetricasAspect {
+
+    private final MeterRegistry registro;
+    private final double[] percentis;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Cria o aspecto.
+     *
+     * @param registro o registro de métricas do Micrometer
+     * @param percentis os percentis publicados para cada método, entre 0 e 1
+     */
+    public MetricasAspect(MeterRegistry registro, double[] percentis) {
+        this.registro = registro;
+        this.percentis = percentis;
+    }
+
+    /**
+     * Mede a chamada e registra o tempo no timer do método, com a exceção lançada, se houver.
+     *
+     * @param chamada a chamada interceptada
+     * @return o retorno do método
+     * @throws Throwable a exceção lançada pelo método
+     */
+    @Around("execution(public * br.edu.infnet.appMatheusAvelino.model.service..*(..))"
+            + " || execution(public * br.edu.infnet.appMatheusAvelino.controller..*(..))"
+            + " || execution(public * br.edu.infnet.appMatheusAvelino.client..*(..))")
+    public Object medir(ProceedingJoinPoint chamada) throws Throwable {
+        long inicio = System.nanoTime();
+        Method metodo = ((MethodSignature) chamada.getSignature()).getMethod();
+        try {
+            Object retorno = chamada.proceed();
+            timers.computeIfAbsent(metodo, m -> timer(m, "none")).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return retorno;
+        } catch (Throwable e) {
+            timer(metodo, e.getClass().getSimpleName()).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(Method metodo, String excecao) {
+        Class<?> classe = metodo.getDeclaringClass();
+        return Timer.builder("app.metodo")
+                .description("Latência dos métodos dos serviços, controladores e clientes")
+                .tag("camada", camada(classe))
+                .tag("classe", classe.getSimpleName())
+                .tag("metodo", metodo.getName())
+                .tag("excecao", excecao)
+                .publishPercentiles(percentis)
+                .register(registro);
+    }
+
+    private static String camada(Class<?> classe) {
+        String pacote = classe.getPackageName();
+        if (pacote.endsWith(".controller")) {
+            return "controlador";
+        }
+        return pacote.endsWith(".client") ? "cliente" : "servico";
+    }
+}
@@ -0,0 +1,89 @@
+package br.edu.infnet.appMatheusAvelino.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Configuração das métricas da aplicação, publicadas em {@code /actuator/metrics}.
+ * <p>
+ * Registra o {@link MetricasAspect}, que mede cada método público dos serviços, controladores e clientes, e os
+ * contadores de comandos SQL e transações do {@link ContadorBancoDeDados}. Com
+ * {@code app.metricas.habilitado=false} nenhum desses beans é criado e os serviços não recebem proxy, de modo que a
+ * medição não tem custo algum.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.metricas.habilitado", havingValue = "true", matchIfMissing = true)
+public class MetricasConfig {
+
+    /**
+     * Aspecto que registra a latência de cada chamada.
+     *
+     * @param registro o registro de métricas do Micrometer
+     * @param percentis os percentis publicados para cada método, entre 0 e 1
+     * @return o aspecto configurado
+     */
+    @Bean
+    public MetricasAspect metricasAspect(MeterRegistry registro, @Value("${app.metricas.percentis:0.5,0.95,0.99}") double[] percentis) {
+        return new MetricasAspect(registro, percentis);
+    }
+
+    /**
+     * Contador de comandos SQL e transações do Hibernate.
+     *
+     * @return o contador, registrado na fábrica de sessões por {@link #contadorBancoDeDadosNoHibernate}
+     */
+    @Bean
+    public ContadorBancoDeDados contadorBancoDeDados() {
+        return new ContadorBancoDeDados();
+    }
+
+    /**
+     * Registra o contador na fábrica de sessões, como inspetor de comandos e interceptador de transações. O Hibernate
+     * aceita um único inspetor; se outro já estiver configurado, o contador é encadeado depois dele.
+     *
+     * @param contador o contador de comandos SQL e transações
+     * @return o customizador das propriedades do Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer contadorBancoDeDadosNoHibernate(ContadorBancoDeDados contador) {
+        return propriedades -> {
+            Object anterior = propriedades.get(AvailableSettings.STATEMENT_INSPECTOR);
+            if (anterior instanceof StatementInspector) {
+                StatementInspector inspetor = (StatementInspector) anterior;
+                propriedades.put(AvailableSettings.STATEMENT_INSPECTOR,
+                        (StatementInspector) sql -> contador.inspect(inspetor.inspect(sql)));
+            } else {
+                propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, contador);
+            }
+            propriedades.put(AvailableSettings.INTERCEPTOR, contador);
+        };
+    }
+
+    /**
+     * Contadores de comandos SQL e transações. Não dependem das estatísticas do Hibernate.
+     *
+     * @param contador o contador de comandos SQL e transações
+     * @return o binder que registra os contadores
+     */
+    @Bean
+    public MeterBinder metricasBancoDeDados(ContadorBancoDeDados contador) {
+        return registro -> {
+            FunctionCounter.builder("app.db.comandos", contador, ContadorBancoDeDados::getComandos)
+                    .description("Comandos SQL preparados pelo Hibernate")
+                    .register(registro);
+            FunctionCounter.builder("app.db.transacoes", contador, ContadorBancoDeDados::getTransacoes)
+                    .description("Transações concluídas pelo Hibernate")
+                    .register(registro);
+        };
+    }
+}
@@ -6,9 +6,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Abordagem;
+import br.edu.infnet.appMatheusAvelino.model.dto.Pagina;
 import br.edu.infnet.appMatheusAvelino.model.service.AbordagemService;
 
 /**
@@ -39,6 +41,23 @@ public class AbordagemController {
         return abordagemService.obterLista();
     }
 
+    /**
+     * Manipula uma requisição GET para obter uma página de abordagens ordenada pelo ID.
+     * <p>
+     * A próxima página é obtida repetindo a requisição com o {@code proximoCursor} da resposta, até que ele seja
+     * {@code null}.
+     * </p>
+     * 
+     * @param cursor o ID da última abordagem da página anterior, ausente na primeira página
+     * @param tamanho a quantidade de abordagens por página, limitada a {@link Pagina#TAMANHO_MAXIMO}
+     * @return a {@link Pagina} com as abordagens e o cursor da próxima página
+     */
+    @GetMapping(value = "abordagem/pagina")
+    public Pagina<Abordagem> obterPagina(@RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "" + Pagina.TAMANHO_PADRAO) int tamanho) {
+        return abordagemService.obterPagina(cursor, tamanho);
+    }
+
     /**
      * Manipula uma requisição GET para a URL "abordagem/{id}".
      * <p>
@@ -0,0 +1,50 @@
+package br.edu.infnet.appMatheusAvelino.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.infnet.appMatheusAvelino.model.dto.HorarioLivre;
+import br.edu.infnet.appMatheusAvelino.model.service.DisponibilidadeService;
+
+/**
+ * Controlador REST para consultas à agenda dos psicólogos.
+ * <p>
+ * Esta classe responde às solicitações HTTP e delega as operações para o serviço {@link DisponibilidadeService}.
+ * </p>
+ */
+@RestController
+public class AgendaController {
+
+    /**
+     * Instância do serviço `DisponibilidadeService`, injetada automaticamente pelo Spring.
+     */
+    @Autowired
+    private DisponibilidadeService disponibilidadeService;
+
+    /**
+     * Manipula uma requisição GET para obter os próximos horários livres entre os psicólogos de uma abordagem.
+     * <p>
+     * A busca é respondida pelos índices em memória do {@link DisponibilidadeService}, sem consultar o banco de dados.
+     * </p>
+     *
+     * @param abordagem o ID da abordagem
+     * @param aPartirDe o instante a partir do qual os horários são procurados, no formato {@code yyyy-MM-ddTHH:mm};
+     *        o instante atual se ausente
+     * @param qtde a quantidade de horários desejada, limitada a {@link DisponibilidadeService#QTDE_MAXIMA}
+     * @return os horários livres, com o ID do psicólogo, em ordem de data e hora
+     */
+    @GetMapping(value = "agenda/disponibilidade")
+    public List<HorarioLivre> obterDisponibilidade(@RequestParam Integer abordagem,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime aPartirDe,
+            @RequestParam(defaultValue = "10") int qtde) {
+        return disponibilidadeService.obterProximosHorarios(abordagem,
+                aPartirDe == null ? LocalDateTime.now() : aPartirDe, qtde);
+    }
+}
@@ -0,0 +1,70 @@
+package br.edu.infnet.appMatheusAvelino.controller;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.infnet.appMatheusAvelino.model.service.AnaliseService;
+import br.edu.infnet.appMatheusAvelino.model.service.AnaliseService.Dimensao;
+import br.edu.infnet.appMatheusAvelino.model.service.AnaliseService.Filtro;
+
+/**
+ * Controlador REST para as consultas analíticas sobre os atendimentos.
+ * <p>
+ * Esta classe responde às solicitações HTTP e delega as operações para o serviço {@link AnaliseService}, que responde
+ * a partir da cópia colunar dos atendimentos mantida em memória, sem consultar o banco de dados.
+ * </p>
+ */
+@RestController
+public class AnaliseController {
+
+    /**
+     * Instância do serviço `AnaliseService`, injetada automaticamente pelo Spring.
+     */
+    @Autowired
+    private AnaliseService analiseService;
+
+    /**
+     * Manipula uma requisição GET para contar os atendimentos agrupados por uma dimensão.
+     *
+     * @param agrupar a dimensão de agrupamento: psicologo (padrão), paciente, tipo, status ou mes
+     * @param psicologo o ID do psicólogo, para restringir aos seus atendimentos
+     * @param paciente o ID do paciente, para restringir aos seus atendimentos
+     * @param tipo o tipo de atendimento, para restringir aos desse tipo
+     * @param efetuado {@code true} para apenas os efetuados, {@code false} para apenas os em andamento
+     * @param inicio o início do período, inclusive, no formato ISO-8601
+     * @param fim o fim do período, exclusive, no formato ISO-8601
+     * @return por grupo, o total de atendimentos, os efetuados e a taxa de efetuados
+     */
+    @GetMapping(value = "analise/atendimentos")
+    public Map<String, Map<String, Object>> agrupar(@RequestParam(defaultValue = "psicologo") String agrupar,
+            @RequestParam(required = false) Integer psicologo, @RequestParam(required = false) Integer paciente,
+            @RequestParam(required = false) String tipo, @RequestParam(required = false) Boolean efetuado,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime fim) {
+
+        Filtro filtro = new Filtro().psicologo(psicologo).paciente(paciente).tipo(tipo).efetuado(efetuado)
+                .periodo(inicio, fim);
+        return analiseService.agrupar(Dimensao.valueOf(agrupar.toUpperCase(Locale.ROOT)), filtro);
+    }
+
+    /**
+     * Responde com o status 400 (Bad Request) quando a dimensão de agrupamento não existe.
+     *
+     * @param e a exceção com o motivo da rejeição
+     * @return a resposta com a mensagem do erro
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> tratarInvalido(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -2,12 +2,17 @@ package br.edu.infnet.appMatheusAvelino.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
+import org.springframework.data.domain.Slice;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import br.edu.infnet.appMatheusAvelino.model.dto.Pagina;
 import br.edu.infnet.appMatheusAvelino.model.service.AbordagemService;
 import br.edu.infnet.appMatheusAvelino.model.service.AtendimentoService;
 import br.edu.infnet.appMatheusAvelino.model.service.PacienteService;
+import br.edu.infnet.appMatheusAvelino.model.service.PainelService;
+import br.edu.infnet.appMatheusAvelino.model.service.PainelService.Contador;
 import br.edu.infnet.appMatheusAvelino.model.service.PsicologoService;
 import br.edu.infnet.appMatheusAvelino.model.service.UsuarioService;
 
@@ -50,11 +55,18 @@ public class AppController {
     @Autowired
     private AtendimentoService atendimentoService;
 
+    /**
+     * Serviço com as quantidades do painel mantidas em memória, injetado automaticamente.
+     */
+    @Autowired
+    private PainelService painelService;
+
     /**
      * Manipula uma requisição GET para a URL "/".
      * <p>
      * Adiciona ao modelo as quantidades de cada entidade (usuário, psicólogo, paciente, abordagem e atendimento)
-     * para serem exibidas na página inicial.
+     * para serem exibidas na página inicial. As quantidades são lidas dos contadores do {@link PainelService}, sem
+     * consultar o banco de dados.
      * </p>
      * 
      * @param model o modelo para adicionar atributos que serão utilizados na view
@@ -62,91 +74,110 @@ public class AppController {
      */
     @GetMapping(value = "/")
     public String telaHome(Model model) {
-        model.addAttribute("qtdeUsuario", usuarioService.obterQtde());
-        model.addAttribute("qtdePsicologo", psicologoService.obterQtde());
-        model.addAttribute("qtdePaciente", pacienteService.obterQtde());
-        model.addAttribute("qtdeAbordagem", abordagemService.obterQtde());
-        model.addAttribute("qtdeAtendimento", atendimentoService.obterQtde());
+        model.addAttribute("qtdeUsuario", painelService.obterQtdeUsuario());
+        model.addAttribute("qtdePsicologo", painelService.obterQtde(Contador.PSICOLOGO));
+        model.addAttribute("qtdePaciente", painelService.obterQtde(Contador.PACIENTE));
+        model.addAttribute("qtdeAbordagem", painelService.obterQtde(Contador.ABORDAGEM));
+        model.addAttribute("qtdeAtendimento", painelService.obterQtde(Contador.ATENDIMENTO));
         return "home";
     }
 	
     /**
      * Manipula uma requisição GET para a URL "/usuario/listagem".
      * <p>
-     * Prepara a listagem de usuários para ser exibida na página.
+     * Prepara uma página da listagem de usuários para ser exibida na página.
      * </p>
      * 
+     * @param pagina o número da página, começando em zero
      * @param model o modelo para adicionar atributos que serão utilizados na view
      * @return o nome da view que será renderizada, chamando o método {@link #telaHome(Model)}
      */
     @GetMapping(value = "/usuario/listagem")
-    public String listarUsuario(Model model) {
+    public String listarUsuario(@RequestParam(defaultValue = "0") int pagina, Model model) {
         model.addAttribute("titulo", "Listagem de usuarios");
-        model.addAttribute("listagem", usuarioService.obterLista("nomeCompleto"));
+        paginar(model, "/usuario/listagem", usuarioService.obterLista("nomeCompleto", pagina, Pagina.TAMANHO_PADRAO));
         return telaHome(model);
     }
 	
     /**
      * Manipula uma requisição GET para a URL "/psicologo/listagem".
      * <p>
-     * Prepara a listagem de psicólogos para ser exibida na página.
+     * Prepara uma página da listagem de psicólogos para ser exibida na página.
      * </p>
      * 
+     * @param pagina o número da página, começando em zero
      * @param model o modelo para adicionar atributos que serão utilizados na view
      * @return o nome da view que será renderizada, chamando o método {@link #telaHome(Model)}
      */
     @GetMapping(value = "/psicologo/listagem")
-    public String listarPsicologo(Model model) {
+    public String listarPsicologo(@RequestParam(defaultValue = "0") int pagina, Model model) {
         model.addAttribute("titulo", "Listagem de psicologos");
-        model.addAttribute("listagem", psicologoService.obterLista("idade"));
+        paginar(model, "/psicologo/listagem", psicologoService.obterLista("idade", pagina, Pagina.TAMANHO_PADRAO));
         return telaHome(model);
     }
 
     /**
      * Manipula uma requisição GET para a URL "/paciente/listagem".
      * <p>
-     * Prepara a listagem de pacientes para ser exibida na página.
+     * Prepara uma página da listagem de pacientes para ser exibida na página.
      * </p>
      * 
+     * @param pagina o número da página, começando em zero
      * @param model o modelo para adicionar atributos que serão utilizados na view
      * @return o nome da view que será renderizada, chamando o método {@link #telaHome(Model)}
      */
     @GetMapping(value = "/paciente/listagem")
-    public String listarPaciente(Model model) {
+    public String listarPaciente(@RequestParam(defaultValue = "0") int pagina, Model model) {
         model.addAttribute("titulo", "Listagem de pacientes");
-        model.addAttribute("listagem", pacienteService.obterLista("idade"));
+        paginar(model, "/paciente/listagem", pacienteService.obterLista("idade", pagina, Pagina.TAMANHO_PADRAO));
         return telaHome(model);
     }
 
     /**
      * Manipula uma requisição GET para a URL "/abordagem/listagem".
      * <p>
-     * Prepara a listagem de abordagens para ser exibida na página.
+     * Prepara uma página da listagem de abordagens para ser exibida na página.
      * </p>
      * 
+     * @param pagina o número da página, começando em zero
      * @param model o modelo para adicionar atributos que serão utilizados na view
      * @return o nome da view que será renderizada, chamando o método {@link #telaHome(Model)}
      */
     @GetMapping(value = "/abordagem/listagem")
-    public String listarAbordagem(Model model) {
+    public String listarAbordagem(@RequestParam(defaultValue = "0") int pagina, Model model) {
         model.addAttribute("titulo", "Listagem de abordagens");
-        model.addAttribute("listagem", abordagemService.obterLista("descricao"));
+        paginar(model, "/abordagem/listagem", abordagemService.obterLista("descricao", pagina, Pagina.TAMANHO_PADRAO));
         return telaHome(model);
     }
 
     /**
      * Manipula uma requisição GET para a URL "/atendimento/listagem".
      * <p>
-     * Prepara a listagem de atendimentos para ser exibida na página.
+     * Prepara uma página da listagem de atendimentos para ser exibida na página.
      * </p>
      * 
+     * @param pagina o número da página, começando em zero
      * @param model o modelo para adicionar atributos que serão utilizados na view
      * @return o nome da view que será renderizada, chamando o método {@link #telaHome(Model)}
      */
     @GetMapping(value = "/atendimento/listagem")
-    public String listarAtendimento(Model model) {
+    public String listarAtendimento(@RequestParam(defaultValue = "0") int pagina, Model model) {
         model.addAttribute("titulo", "Listagem de atendimentos");
-        model.addAttribute("listagem", atendimentoService.obterLista("statusAtendimento"));
+        paginar(model, "/atendimento/listagem", atendimentoService.obterLista("statusAtendimento", pagina, Pagina.TAMANHO_PADRAO));
         return telaHome(model);
     }
+
+    /**
+     * Adiciona ao modelo os registros de uma página da listagem e os dados para a navegação entre as páginas.
+     *
+     * @param model o modelo para adicionar atributos que serão utilizados na view
+     * @param url a URL da listagem, usada nos links de página anterior e próxima
+     * @param pagina a página obtida do serviço
+     */
+    private void paginar(Model model, String url, Slice<?> pagina) {
+        model.addAttribute("listagem", pagina.getContent());
+        model.addAttribute("url", url);
+        model.addAttribute("pagina", pagina.getNumber());
+        model.addAttribute("temProxima", pagina.hasNext());
+    }
 }
@@ -1,15 +1,35 @@
 package br.edu.infnet.appMatheusAvelino.controller;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
+import br.edu.infnet.appMatheusAvelino.model.dto.Pagina;
+import br.edu.infnet.appMatheusAvelino.model.service.AtendimentoInvalidoException;
 import br.edu.infnet.appMatheusAvelino.model.service.AtendimentoService;
+import br.edu.infnet.appMatheusAvelino.model.service.ChaveIdempotenciaReutilizadaException;
+import br.edu.infnet.appMatheusAvelino.model.service.VersaoService;
+import br.edu.infnet.appMatheusAvelino.model.service.VersaoService.Tabela;
+import br.edu.infnet.appMatheusAvelino.model.service.ConflitoAgendaException;
 
 /**
  * Controlador REST para gerenciar as operações relacionadas à entidade Atendimento.
@@ -26,40 +46,170 @@ public class AtendimentoController {
     @Autowired
     private AtendimentoService atendimentoService;
 
+    /**
+     * Serviço das versões das tabelas, que determinam o ETag das consultas.
+     */
+    @Autowired
+    private VersaoService versaoService;
+
+    /**
+     * Tabelas exibidas pelas consultas de atendimentos, que não serializam o psicólogo nem o paciente.
+     */
+    private static final Tabela[] TABELAS = { Tabela.ATENDIMENTO };
+
+    /**
+     * Tipo de conteúdo da exportação: JSON delimitado por quebras de linha.
+     */
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     /**
      * Manipula uma requisição GET para listar todos os atendimentos.
      * 
+     * @param requisicao a requisição, cujo cabeçalho If-None-Match é comparado com o ETag
      * @return uma lista de todos os objetos {@link Atendimento} disponíveis
      */
     @GetMapping(value = "atendimento/listar")
-    public Iterable<Atendimento> obterLista() {
+    public Iterable<Atendimento> obterLista(WebRequest requisicao) {
+        if (versaoService.naoModificado(requisicao, TABELAS)) {
+            return null;
+        }
         return atendimentoService.obterLista();
     }
+
+    /**
+     * Manipula uma requisição GET para exportar todos os atendimentos em NDJSON (um objeto JSON por linha).
+     * <p>
+     * Ao contrário de "atendimento/listar", os atendimentos não são carregados em uma lista: são lidos do banco de
+     * dados e escritos na resposta à medida que ela é enviada, fora da thread da requisição.
+     * </p>
+     * 
+     * @return a resposta com o corpo escrito em fluxo por {@link AtendimentoService#exportar(java.io.OutputStream)}
+     */
+    @GetMapping(value = "atendimento/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(atendimentoService::exportar);
+    }
+
+    /**
+     * Manipula uma requisição GET para obter uma página de atendimentos ordenada pelo ID.
+     * <p>
+     * A próxima página é obtida repetindo a requisição com o {@code proximoCursor} da resposta, até que ele seja
+     * {@code null}.
+     * </p>
+     * 
+     * @param cursor o ID do último atendimento da página anterior, ausente na primeira página
+     * @param tamanho a quantidade de atendimentos por página, limitada a {@link Pagina#TAMANHO_MAXIMO}
+     * @param requisicao a requisição, cujo cabeçalho If-None-Match é comparado com o ETag
+     * @return a {@link Pagina} com os atendimentos e o cursor da próxima página
+     */
+    @GetMapping(value = "atendimento/pagina")
+    public Pagina<Atendimento> obterPagina(@RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "" + Pagina.TAMANHO_PADRAO) int tamanho, WebRequest requisicao) {
+        if (versaoService.naoModificado(requisicao, TABELAS)) {
+            return null;
+        }
+        return atendimentoService.obterPagina(cursor, tamanho);
+    }
 	
+    /**
+     * Manipula uma requisição GET para obter a agenda semanal de um psicólogo.
+     * 
+     * @param idPsicologo o identificador do psicólogo
+     * @param data um dia qualquer da semana desejada, no formato {@code yyyy-MM-dd}
+     * @return os atendimentos do psicólogo de segunda-feira a domingo, ordenados pela data e hora
+     */
+    @GetMapping(value = "atendimento/agenda/{idPsicologo}")
+    public List<Atendimento> obterAgendaSemanal(@PathVariable Integer idPsicologo,
+            @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate data) {
+        return atendimentoService.obterAgendaSemanal(idPsicologo, data);
+    }
+
+    /**
+     * Manipula uma requisição GET para obter os atendimentos de um período.
+     * 
+     * @param inicio o início do período, inclusive, no formato {@code yyyy-MM-ddTHH:mm}
+     * @param fim o fim do período, exclusive, no formato {@code yyyy-MM-ddTHH:mm}
+     * @return os atendimentos do período, ordenados pela data e hora
+     */
+    @GetMapping(value = "atendimento/periodo")
+    public List<Atendimento> obterPorPeriodo(@RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime fim) {
+        return atendimentoService.obterPorPeriodo(inicio, fim);
+    }
+
     /**
      * Manipula uma requisição GET para obter um atendimento específico pelo ID.
      * 
      * @param id o identificador do atendimento
+     * @param requisicao a requisição, cujo cabeçalho If-None-Match é comparado com o ETag
      * @return o objeto {@link Atendimento} correspondente ao ID fornecido
      */
     @GetMapping(value = "atendimento/{id}")
-    public Atendimento obterPorId(@PathVariable Integer id) {
+    public Atendimento obterPorId(@PathVariable Integer id, WebRequest requisicao) {
+        if (versaoService.naoModificado(requisicao, TABELAS)) {
+            return null;
+        }
         return atendimentoService.obterPorId(id);
     }
 
     /**
      * Manipula uma requisição POST para incluir um novo atendimento.
      * <p>
-     * O corpo da requisição deve conter um objeto {@link Atendimento} em formato JSON.
+     * O corpo da requisição deve conter um objeto {@link Atendimento} em formato JSON. O cabeçalho opcional
+     * {@code Idempotency-Key} permite repetir a requisição com segurança: as repetições com a mesma chave recebem o
+     * atendimento já incluído, sem incluí-lo novamente.
+     * </p>
+     * <p>
+     * Se o horário estiver ocupado na agenda do psicólogo, a resposta tem o status 409 (Conflict); se o psicólogo ou a
+     * data não forem informados corretamente, 400 (Bad Request); se a chave de idempotência já tiver sido usada com
+     * outro atendimento, 422 (Unprocessable Entity).
      * </p>
      * 
      * @param atendimento o objeto {@link Atendimento} a ser incluído
+     * @param chaveIdempotencia a chave de idempotência da requisição, opcional
      * @return uma mensagem de sucesso após a inclusão do atendimento
      */
     @PostMapping(value = "atendimento/incluir")
-    public String incluir(@RequestBody Atendimento atendimento) {
-        atendimentoService.incluir(atendimento);
-        return "Inclusão:" + atendimento + ", efetuada com sucesso";
+    public String incluir(@RequestBody Atendimento atendimento,
+            @RequestHeader(value = "Idempotency-Key", required = false) String chaveIdempotencia) {
+        Atendimento agendado = atendimentoService.agendar(atendimento, chaveIdempotencia);
+        return "Inclusão:" + agendado + ", efetuada com sucesso";
+    }
+
+    /**
+     * Responde com o status 409 (Conflict) quando o atendimento não pode ser agendado.
+     * 
+     * @param e a exceção com o motivo do conflito
+     * @return a resposta com a mensagem do conflito
+     */
+    @ExceptionHandler(ConflitoAgendaException.class)
+    public ResponseEntity<String> tratarConflito(ConflitoAgendaException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    /**
+     * Responde com o status 400 (Bad Request) quando o atendimento informado é inválido.
+     * 
+     * @param e a exceção com o motivo da rejeição
+     * @return a resposta com a mensagem do erro
+     */
+    @ExceptionHandler(AtendimentoInvalidoException.class)
+    public ResponseEntity<String> tratarInvalido(AtendimentoInvalidoException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * Responde com o status 422 (Unprocessable Entity) quando a chave de idempotência já foi usada com outro
+     * atendimento.
+     * 
+     * @param e a exceção com o motivo da rejeição
+     * @return a resposta com a mensagem do erro
+     */
+    @ExceptionHandler(ChaveIdempotenciaReutilizadaException.class)
+    public ResponseEntity<String> tratarChaveReutilizada(ChaveIdempotenciaReutilizadaException e) {
+        return ResponseEntity.unprocessableEntity().body(e.getMessage());
     }
 	
     /**
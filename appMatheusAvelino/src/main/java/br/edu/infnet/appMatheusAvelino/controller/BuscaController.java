@@ -0,0 +1,44 @@
+package br.edu.infnet.appMatheusAvelino.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.infnet.appMatheusAvelino.model.dto.ResultadoBusca;
+import br.edu.infnet.appMatheusAvelino.model.service.BuscaService;
+
+/**
+ * Controlador REST para a busca textual de psicólogos e pacientes.
+ * <p>
+ * Esta classe responde às solicitações HTTP e delega as operações para o serviço {@link BuscaService}.
+ * </p>
+ */
+@RestController
+public class BuscaController {
+
+    /**
+     * Instância do serviço `BuscaService`, injetada automaticamente pelo Spring.
+     */
+    @Autowired
+    private BuscaService buscaService;
+
+    /**
+     * Manipula uma requisição GET para buscar psicólogos e pacientes por parte do nome, e-mail, CRP/CPF ou endereço.
+     * <p>
+     * A busca é respondida pelo índice em memória do {@link BuscaService}, sem consultar o banco de dados.
+     * </p>
+     *
+     * @param q os termos da busca; cada termo é comparado com o início das palavras, sem diferenciar acentos
+     * @param tipo "psicologo" ou "paciente" para restringir a busca; ambos se ausente
+     * @param qtde a quantidade de resultados desejada, limitada a {@link BuscaService#QTDE_MAXIMA}
+     * @return os usuários encontrados, do mais para o menos relevante
+     */
+    @GetMapping(value = "busca")
+    public List<ResultadoBusca> buscar(@RequestParam String q, @RequestParam(required = false) String tipo,
+            @RequestParam(defaultValue = "10") int qtde) {
+        return buscaService.buscar(q, tipo, qtde);
+    }
+}
@@ -0,0 +1,36 @@
+package br.edu.infnet.appMatheusAvelino.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.infnet.appMatheusAvelino.model.service.CacheEntidadesService;
+
+/**
+ * Controlador REST para as estatísticas do cache de segundo nível.
+ * <p>
+ * Esta classe responde às solicitações HTTP e delega as operações para o serviço {@link CacheEntidadesService}.
+ * </p>
+ */
+@RestController
+public class CacheController {
+
+    /**
+     * Instância do serviço `CacheEntidadesService`, injetada automaticamente pelo Spring.
+     */
+    @Autowired
+    private CacheEntidadesService cacheEntidadesService;
+
+    /**
+     * Manipula uma requisição GET para obter as estatísticas do cache de abordagens, endereços e consultas.
+     *
+     * @return se as estatísticas do Hibernate estão habilitadas e, nesse caso, os acertos, faltas e gravações de cada
+     *         região do cache
+     */
+    @GetMapping(value = "cache/entidades")
+    public Map<String, Object> obterEstatisticas() {
+        return cacheEntidadesService.obterEstatisticas();
+    }
+}
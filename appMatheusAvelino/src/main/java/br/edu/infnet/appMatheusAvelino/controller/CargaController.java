@@ -0,0 +1,35 @@
+package br.edu.infnet.appMatheusAvelino.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.infnet.appMatheusAvelino.CargaInicial;
+
+/**
+ * Controlador REST para o acompanhamento da carga inicial.
+ * <p>
+ * Esta classe responde às solicitações HTTP e delega as operações para o componente {@link CargaInicial}.
+ * </p>
+ */
+@RestController
+public class CargaController {
+
+    /**
+     * Instância do componente `CargaInicial`, injetada automaticamente pelo Spring.
+     */
+    @Autowired
+    private CargaInicial cargaInicial;
+
+    /**
+     * Manipula uma requisição GET para obter o progresso da carga inicial.
+     *
+     * @return o estado, a duração e as linhas lidas e gravadas de cada etapa da carga
+     */
+    @GetMapping(value = "carga/progresso")
+    public Map<String, Object> obterProgresso() {
+        return cargaInicial.obterProgresso();
+    }
+}
@@ -0,0 +1,48 @@
+package br.edu.infnet.appMatheusAvelino.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Endereco;
+import br.edu.infnet.appMatheusAvelino.model.service.EnderecoService;
+
+/**
+ * Controlador REST para consultas de endereço por CEP.
+ * <p>
+ * Esta classe responde às solicitações HTTP e delega as operações para o serviço {@link EnderecoService}.
+ * </p>
+ */
+@RestController
+public class EnderecoController {
+
+    /**
+     * Instância do serviço `EnderecoService`, injetada automaticamente pelo Spring.
+     */
+    @Autowired
+    private EnderecoService enderecoService;
+
+    /**
+     * Manipula uma requisição GET para obter o endereço de um CEP.
+     *
+     * @param cep o CEP a ser consultado
+     * @return o objeto {@link Endereco} correspondente ao CEP, ou vazio se o CEP for desconhecido
+     */
+    @GetMapping(value = "endereco/{cep}")
+    public Endereco obterPorCep(@PathVariable String cep) {
+        return enderecoService.obterPorCep(cep);
+    }
+
+    /**
+     * Manipula uma requisição GET para obter as estatísticas do cache de CEP.
+     *
+     * @return as estatísticas de acertos, faltas e despejos do cache
+     */
+    @GetMapping(value = "endereco/cache")
+    public Map<String, Number> obterEstatisticasCache() {
+        return enderecoService.obterEstatisticasCache();
+    }
+}
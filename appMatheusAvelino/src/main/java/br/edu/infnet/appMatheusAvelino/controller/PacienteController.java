@@ -1,15 +1,23 @@
 package br.edu.infnet.appMatheusAvelino.controller;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Paciente;
+import br.edu.infnet.appMatheusAvelino.model.dto.Pagina;
+import br.edu.infnet.appMatheusAvelino.model.dto.ResumoPaciente;
 import br.edu.infnet.appMatheusAvelino.model.service.PacienteService;
+import br.edu.infnet.appMatheusAvelino.model.service.VersaoService;
+import br.edu.infnet.appMatheusAvelino.model.service.VersaoService.Tabela;
 
 /**
  * Controlador REST para gerenciar as operações relacionadas à entidade Paciente.
@@ -26,24 +34,68 @@ public class PacienteController {
     @Autowired
     private PacienteService pacienteService;
 
+    /**
+     * Serviço das versões das tabelas, que determinam o ETag das consultas.
+     */
+    @Autowired
+    private VersaoService versaoService;
+
+    /**
+     * Tabelas exibidas pelas consultas de pacientes: o resumo traz a quantidade de atendimentos.
+     */
+    private static final Tabela[] TABELAS = { Tabela.PACIENTE, Tabela.ATENDIMENTO };
+
     /**
      * Manipula uma requisição GET para listar todos os pacientes.
+     * <p>
+     * Responde com o resumo de cada paciente ({@link ResumoPaciente}), lido diretamente pela consulta, em vez de
+     * serializar a entidade com o endereço e os atendimentos.
+     * </p>
      * 
-     * @return uma lista de todos os objetos {@link Paciente} disponíveis
+     * @param requisicao a requisição, cujo cabeçalho If-None-Match é comparado com o ETag
+     * @return o resumo de todos os pacientes, ordenados pelo ID
      */
     @GetMapping(value = "paciente/listar")
-    public Iterable<Paciente> obterLista() {
-        return pacienteService.obterLista();
+    public List<ResumoPaciente> obterLista(WebRequest requisicao) {
+        if (versaoService.naoModificado(requisicao, TABELAS)) {
+            return null;
+        }
+        return pacienteService.obterResumos();
+    }
+
+    /**
+     * Manipula uma requisição GET para obter uma página de pacientes ordenada pelo ID.
+     * <p>
+     * A próxima página é obtida repetindo a requisição com o {@code proximoCursor} da resposta, até que ele seja
+     * {@code null}.
+     * </p>
+     * 
+     * @param cursor o ID do último paciente da página anterior, ausente na primeira página
+     * @param tamanho a quantidade de pacientes por página, limitada a {@link Pagina#TAMANHO_MAXIMO}
+     * @param requisicao a requisição, cujo cabeçalho If-None-Match é comparado com o ETag
+     * @return a {@link Pagina} com o resumo dos pacientes e o cursor da próxima página
+     */
+    @GetMapping(value = "paciente/pagina")
+    public Pagina<ResumoPaciente> obterPagina(@RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "" + Pagina.TAMANHO_PADRAO) int tamanho, WebRequest requisicao) {
+        if (versaoService.naoModificado(requisicao, TABELAS)) {
+            return null;
+        }
+        return pacienteService.obterPagina(cursor, tamanho);
     }
 
     /**
      * Manipula uma requisição GET para obter um paciente específico pelo ID.
      * 
      * @param id o identificador do paciente
+     * @param requisicao a requisição, cujo cabeçalho If-None-Match é comparado com o ETag
      * @return o objeto {@link Paciente} correspondente ao ID fornecido
      */
     @GetMapping(value = "paciente/{id}")
-    public Paciente obterPorId(@PathVariable Integer id) {
+    public Paciente obterPorId(@PathVariable Integer id, WebRequest requisicao) {
+        if (versaoService.naoModificado(requisicao, TABELAS)) {
+            return null;
+        }
         return pacienteService.obterPorId(id);
     }
 
@@ -1,15 +1,23 @@
 package br.edu.infnet.appMatheusAvelino.controller;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
+import br.edu.infnet.appMatheusAvelino.model.dto.Pagina;
+import br.edu.infnet.appMatheusAvelino.model.dto.ResumoPsicologo;
 import br.edu.infnet.appMatheusAvelino.model.service.PsicologoService;
+import br.edu.infnet.appMatheusAvelino.model.service.VersaoService;
+import br.edu.infnet.appMatheusAvelino.model.service.VersaoService.Tabela;
 
 /**
  * Controlador REST para gerenciar as operações relacionadas à entidade Psicologo.
@@ -26,24 +34,68 @@ public class PsicologoController {
     @Autowired
     private PsicologoService psicologoService;
 
+    /**
+     * Serviço das versões das tabelas, que determinam o ETag das consultas.
+     */
+    @Autowired
+    private VersaoService versaoService;
+
+    /**
+     * Tabelas exibidas pelas consultas de psicólogos: o resumo traz a abordagem e a quantidade de atendimentos.
+     */
+    private static final Tabela[] TABELAS = { Tabela.PSICOLOGO, Tabela.ABORDAGEM, Tabela.ATENDIMENTO };
+
     /**
      * Manipula uma requisição GET para listar todos os psicólogos.
+     * <p>
+     * Responde com o resumo de cada psicólogo ({@link ResumoPsicologo}), lido diretamente pela consulta, em vez de
+     * serializar a entidade com o endereço e os atendimentos.
+     * </p>
      * 
-     * @return uma lista de todos os objetos {@link Psicologo} disponíveis
+     * @param requisicao a requisição, cujo cabeçalho If-None-Match é comparado com o ETag
+     * @return o resumo de todos os psicólogos, ordenados pelo ID
      */
     @GetMapping(value = "psicologo/listar")
-    public Iterable<Psicologo> obterLista() {
-        return psicologoService.obterLista();
+    public List<ResumoPsicologo> obterLista(WebRequest requisicao) {
+        if (versaoService.naoModificado(requisicao, TABELAS)) {
+            return null;
+        }
+        return psicologoService.obterResumos();
+    }
+
+    /**
+     * Manipula uma requisição GET para obter uma página de psicólogos ordenada pelo ID.
+     * <p>
+     * A próxima página é obtida repetindo a requisição com o {@code proximoCursor} da resposta, até que ele seja
+     * {@code null}.
+     * </p>
+     * 
+     * @param cursor o ID do último psicólogo da página anterior, ausente na primeira página
+     * @param tamanho a quantidade de psicólogos por página, limitada a {@link Pagina#TAMANHO_MAXIMO}
+     * @param requisicao a requisição, cujo cabeçalho If-None-Match é comparado com o ETag
+     * @return a {@link Pagina} com o resumo dos psicólogos e o cursor da próxima página
+     */
+    @GetMapping(value = "psicologo/pagina")
+    public Pagina<ResumoPsicologo> obterPagina(@RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "" + Pagina.TAMANHO_PADRAO) int tamanho, WebRequest requisicao) {
+        if (versaoService.naoModificado(requisicao, TABELAS)) {
+            return null;
+        }
+        return psicologoService.obterPagina(cursor, tamanho);
     }
     
     /**
      * Manipula uma requisição GET para obter um psicólogo específico pelo ID.
      * 
      * @param id o identificador do psicólogo
+     * @param requisicao a requisição, cujo cabeçalho If-None-Match é comparado com o ETag
      * @return o objeto {@link Psicologo} correspondente ao ID fornecido
      */
     @GetMapping(value = "psicologo/{id}")
-    public Psicologo obterPorId(@PathVariable Integer id) {
+    public Psicologo obterPorId(@PathVariable Integer id, WebRequest requisicao) {
+        if (versaoService.naoModificado(requisicao, TABELAS)) {
+            return null;
+        }
         return psicologoService.obterPorId(id);
     }
 
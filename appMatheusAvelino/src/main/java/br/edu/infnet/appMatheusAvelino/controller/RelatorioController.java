@@ -0,0 +1,79 @@
+package br.edu.infnet.appMatheusAvelino.controller;
+
+import java.time.YearMonth;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.infnet.appMatheusAvelino.model.service.RelatorioService;
+
+/**
+ * Controlador REST para os relatórios mensais de atendimentos.
+ * <p>
+ * Esta classe responde às solicitações HTTP e delega as operações para o serviço {@link RelatorioService}. Os
+ * relatórios são lidos dos contadores mantidos em memória pelo serviço, sem consultar o banco de dados. O mês, quando
+ * informado, segue o formato {@code yyyy-MM}.
+ * </p>
+ */
+@RestController
+public class RelatorioController {
+
+    /**
+     * Instância do serviço `RelatorioService`, injetada automaticamente pelo Spring.
+     */
+    @Autowired
+    private RelatorioService relatorioService;
+
+    /**
+     * Manipula uma requisição GET para obter o relatório de todos os atendimentos.
+     *
+     * @param mes o mês desejado; todos os meses com atendimentos se ausente
+     * @return por mês, o total de atendimentos, os efetuados, os em andamento e a mesma divisão por tipo
+     */
+    @GetMapping(value = "relatorio")
+    public Map<String, Object> obterGeral(@RequestParam(required = false) YearMonth mes) {
+        return relatorioService.obterGeral(mes);
+    }
+
+    /**
+     * Manipula uma requisição GET para obter o relatório dos atendimentos de um psicólogo.
+     *
+     * @param id o ID do psicólogo
+     * @param mes o mês desejado; todos os meses com atendimentos se ausente
+     * @return por mês, o total de atendimentos, os efetuados, os em andamento e a mesma divisão por tipo
+     */
+    @GetMapping(value = "relatorio/psicologo/{id}")
+    public Map<String, Object> obterPorPsicologo(@PathVariable Integer id,
+            @RequestParam(required = false) YearMonth mes) {
+        return relatorioService.obterPorPsicologo(id, mes);
+    }
+
+    /**
+     * Manipula uma requisição GET para obter o relatório dos atendimentos de um paciente.
+     *
+     * @param id o ID do paciente
+     * @param mes o mês desejado; todos os meses com atendimentos se ausente
+     * @return por mês, o total de atendimentos, os efetuados, os em andamento e a mesma divisão por tipo
+     */
+    @GetMapping(value = "relatorio/paciente/{id}")
+    public Map<String, Object> obterPorPaciente(@PathVariable Integer id,
+            @RequestParam(required = false) YearMonth mes) {
+        return relatorioService.obterPorPaciente(id, mes);
+    }
+
+    /**
+     * Manipula uma requisição POST para recalcular os relatórios a partir dos atendimentos gravados, por exemplo após
+     * alterações feitas diretamente no banco de dados.
+     *
+     * @return a quantidade de atendimentos contados
+     */
+    @PostMapping(value = "relatorio/recalcular")
+    public Map<String, Long> recalcular() {
+        return Map.of("atendimentos", relatorioService.recalcular());
+    }
+}
@@ -8,13 +8,27 @@ import javax.persistence.Table;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * Representa uma abordagem no sistema.
  * <p>
  * Esta classe é mapeada para a tabela "TAbordagem" no banco de dados.
  * </p>
+ * <p>
+ * As abordagens referenciadas por uma listagem de usuários são carregadas em grupos de até 50 por consulta, em vez de
+ * uma consulta por abordagem.
+ * </p>
+ * <p>
+ * Como as abordagens quase não mudam, elas ficam no cache de segundo nível (região "abordagem"). O Hibernate atualiza
+ * ou remove a entrada do cache quando a abordagem é alterada ou excluída.
+ * </p>
  */
 @Entity
+@BatchSize(size = 50)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "abordagem")
 @Table(name = "TAbordagem")
 public class Abordagem {
 
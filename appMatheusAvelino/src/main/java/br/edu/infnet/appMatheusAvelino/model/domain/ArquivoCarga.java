@@ -0,0 +1,146 @@
+package br.edu.infnet.appMatheusAvelino.model.domain;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Representa a impressão digital de um arquivo de carga já importado.
+ * <p>
+ * Esta classe é mapeada para a tabela "TArquivoCarga" no banco de dados.
+ * </p>
+ * <p>
+ * Guarda até onde o arquivo foi importado (em bytes e em linhas) e o checksum CRC32C desse trecho. Com o banco mantido
+ * entre reinicializações ({@code app.carga.incremental=true}), a importação compara o arquivo com esses dados para
+ * continuar de onde parou em vez de importar o arquivo novamente.
+ * </p>
+ */
+@Entity
+@Table(name = "TArquivoCarga")
+public class ArquivoCarga {
+
+    /**
+     * Caminho do arquivo, como informado na importação.
+     */
+    @Id
+    private String arquivo;
+
+    /**
+     * Quantidade de bytes do início do arquivo já importados.
+     */
+    private long tamanho;
+
+    /**
+     * Quantidade de linhas já importadas.
+     */
+    private long linhas;
+
+    /**
+     * Checksum CRC32C dos bytes já importados.
+     */
+    private long checksum;
+
+    /**
+     * Construtor padrão da classe.
+     */
+    public ArquivoCarga() {
+    }
+
+    /**
+     * Construtor da classe com todos os dados da impressão digital.
+     *
+     * @param arquivo o caminho do arquivo
+     * @param tamanho a quantidade de bytes importados
+     * @param linhas a quantidade de linhas importadas
+     * @param checksum o checksum dos bytes importados
+     */
+    public ArquivoCarga(String arquivo, long tamanho, long linhas, long checksum) {
+        this.arquivo = arquivo;
+        this.tamanho = tamanho;
+        this.linhas = linhas;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Obtém o caminho do arquivo.
+     *
+     * @return o caminho do arquivo
+     */
+    public String getArquivo() {
+        return arquivo;
+    }
+
+    /**
+     * Define o caminho do arquivo.
+     *
+     * @param arquivo o caminho do arquivo
+     */
+    public void setArquivo(String arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    /**
+     * Obtém a quantidade de bytes importados.
+     *
+     * @return a quantidade de bytes
+     */
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Define a quantidade de bytes importados.
+     *
+     * @param tamanho a quantidade de bytes
+     */
+    public void setTamanho(long tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Obtém a quantidade de linhas importadas.
+     *
+     * @return a quantidade de linhas
+     */
+    public long getLinhas() {
+        return linhas;
+    }
+
+    /**
+     * Define a quantidade de linhas importadas.
+     *
+     * @param linhas a quantidade de linhas
+     */
+    public void setLinhas(long linhas) {
+        this.linhas = linhas;
+    }
+
+    /**
+     * Obtém o checksum dos bytes importados.
+     *
+     * @return o checksum
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Define o checksum dos bytes importados.
+     *
+     * @param checksum o checksum
+     */
+    public void setChecksum(long checksum) {
+        this.checksum = checksum;
+    }
+
+    /**
+     * Representa uma string contendo as informações da impressão digital.
+     *
+     * @return uma string com os detalhes da impressão digital
+     */
+    @Override
+    public String toString() {
+        return "ArquivoCarga{" + "Arquivo: " + arquivo + ", Bytes: " + tamanho + ", Linhas: " + linhas
+                + ", Checksum: " + Long.toHexString(checksum) + "}";
+    }
+}
@@ -1,60 +1,104 @@
 package br.edu.infnet.appMatheusAvelino.model.domain;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PrePersist;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
  * Representa um atendimento no sistema.
  * <p>
  * Esta classe é mapeada para a tabela "TAtendimento" no banco de dados.
  * </p>
+ * <p>
+ * A restrição única {@code UK_ATENDIMENTO_PSICOLOGO_DATAHORA} impede, no banco de dados, dois atendimentos do mesmo
+ * psicólogo no mesmo horário. O seu índice também atende às consultas da agenda de um psicólogo em um período, que se
+ * tornam uma leitura de um intervalo contíguo do índice, assim como as buscas pelos atendimentos de um psicólogo.
+ * </p>
+ * <p>
+ * Os índices {@code IX_ATENDIMENTO_PACIENTE}, {@code IX_ATENDIMENTO_STATUS} e {@code IX_ATENDIMENTO_DATAHORA} atendem
+ * às buscas por paciente, por status e por período. Os planos de todas as consultas dos repositórios são verificados
+ * pelos testes de {@code PlanosConsultaTests}.
+ * </p>
+ * <p>
+ * O atributo {@link #versao} habilita o controle de concorrência otimista: a alteração de um atendimento que foi
+ * alterado por outra requisição depois de lido é rejeitada.
+ * </p>
  */
 @Entity
-@Table(name = "TAtendimento")
+@Table(name = "TAtendimento", uniqueConstraints = @UniqueConstraint(name = Atendimento.RESTRICAO_HORARIO,
+        columnNames = { "idPsicologo", "dataHora" }), indexes = {
+                @Index(name = "IX_ATENDIMENTO_PACIENTE", columnList = "idPaciente"),
+                @Index(name = "IX_ATENDIMENTO_STATUS", columnList = "statusAtendimento"),
+                @Index(name = "IX_ATENDIMENTO_DATAHORA", columnList = "dataHora") })
 public class Atendimento {
 
+    /**
+     * Nome da restrição única de psicólogo e horário.
+     */
+    public static final String RESTRICAO_HORARIO = "UK_ATENDIMENTO_PSICOLOGO_DATAHORA";
+
+    /**
+     * Formato do texto de {@link #atendimentoDate}, por exemplo "30/09/2024 - 16:00".
+     */
+    public static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy - HH:mm");
+
     /**
      * Identificador único do atendimento.
      * <p>
-     * A geração do valor do ID será feita automaticamente pelo banco de dados.
+     * Gerado a partir da sequência {@code SQ_ATENDIMENTO}, com valores reservados em blocos de 50 (otimizador pooled).
+     * Diferente de IDENTITY, o ID é conhecido antes do INSERT.
      * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "atendimentoSeq")
+    @SequenceGenerator(name = "atendimentoSeq", sequenceName = "SQ_ATENDIMENTO", allocationSize = 50)
     private Integer id;
 
     /**
      * Psicólogo responsável pelo atendimento.
      * <p>
-     * O psicólogo não pode ser nulo, indicando que cada atendimento deve ter um psicólogo associado.
+     * O psicólogo não pode ser nulo, indicando que cada atendimento deve ter um psicólogo associado. É carregado sob
+     * demanda (LAZY), pois as listagens de atendimentos usam apenas o seu ID.
      * </p>
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "idPsicologo")
     @NotNull(message = "O psicólogo não pode ser nulo.")
-    @JsonBackReference
+    @JsonBackReference("psicologo")
     private Psicologo psicologo;
 
     /**
      * Paciente que recebe o atendimento.
      * <p>
-     * O paciente não pode ser nulo, indicando que cada atendimento deve ter um paciente associado.
+     * O paciente não pode ser nulo, indicando que cada atendimento deve ter um paciente associado. É carregado sob
+     * demanda (LAZY), pois as listagens de atendimentos usam apenas o seu ID.
      * </p>
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "idPaciente")
     @NotNull(message = "O paciente não pode ser nulo.")
-    @JsonBackReference
+    @JsonBackReference("paciente")
     private Paciente paciente;
 
     /**
@@ -76,6 +120,16 @@ public class Atendimento {
     @NotBlank(message = "A data de atendimento não pode ser vazia.")
     private String atendimentoDate;
 
+    /**
+     * Data e hora do atendimento, obtidas de {@link #atendimentoDate}.
+     * <p>
+     * Mantida sincronizada com o texto da data, permite ordenar e filtrar os atendimentos por período no banco de
+     * dados. Fica nula se o texto não estiver no formato {@link #FORMATO_DATA}.
+     * </p>
+     */
+    @Column(name = "dataHora")
+    private LocalDateTime dataHora;
+
     /**
      * Status do atendimento.
      * <p>
@@ -84,6 +138,12 @@ public class Atendimento {
      */
     private boolean statusAtendimento;
 
+    /**
+     * Versão do atendimento, incrementada a cada alteração.
+     */
+    @Version
+    private int versao;
+
     /**
      * Construtor padrão da classe.
      */
@@ -98,7 +158,7 @@ public class Atendimento {
      * @param tipoAtendimento o tipo de atendimento
      */
     public Atendimento(String data, String tipoAtendimento) {
-        this.atendimentoDate = data;
+        setAtendimentoDate(data);
         this.tipoAtendimento = tipoAtendimento;
         this.statusAtendimento = false;
     }
@@ -149,12 +209,60 @@ public class Atendimento {
     }
 
     /**
-     * Define a data em que o atendimento foi realizado.
+     * Define a data em que o atendimento foi realizado, atualizando também a {@link #getDataHora() data e hora}.
      * 
-     * @param atendimentoDate a data do atendimento
+     * @param atendimentoDate a data do atendimento, no formato {@link #FORMATO_DATA}
      */
     public void setAtendimentoDate(String atendimentoDate) {
         this.atendimentoDate = atendimentoDate;
+        this.dataHora = converterData(atendimentoDate);
+    }
+
+    /**
+     * Obtém a data e a hora do atendimento.
+     * 
+     * @return a data e a hora do atendimento, ou {@code null} se a data informada não está no formato esperado
+     */
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    /**
+     * Define a data e a hora do atendimento, atualizando também o texto da {@link #getAtendimentoDate() data}.
+     * 
+     * @param dataHora a data e a hora do atendimento
+     */
+    public void setDataHora(LocalDateTime dataHora) {
+        this.dataHora = dataHora;
+        this.atendimentoDate = dataHora == null ? null : dataHora.format(FORMATO_DATA);
+    }
+
+    /**
+     * Preenche a data e a hora a partir do texto da data antes da inclusão, caso ainda não tenham sido preenchidas,
+     * por exemplo quando o atendimento foi desserializado com o campo da data preenchido diretamente.
+     */
+    @PrePersist
+    void sincronizarDataHora() {
+        if (dataHora == null) {
+            dataHora = converterData(atendimentoDate);
+        }
+    }
+
+    /**
+     * Converte o texto da data para data e hora.
+     * 
+     * @param texto o texto no formato {@link #FORMATO_DATA}
+     * @return a data e a hora, ou {@code null} se o texto for nulo ou estiver em outro formato
+     */
+    public static LocalDateTime converterData(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(texto.trim(), FORMATO_DATA);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
     }
 
     /**
@@ -193,6 +301,22 @@ public class Atendimento {
         this.psicologo = psicologo;
     }
 
+    /**
+     * Define o psicólogo responsável pelo atendimento pelo ID.
+     * <p>
+     * Usado na inclusão por JSON, com a propriedade {@code "idPsicologo"}, pois o atributo {@link #psicologo} é uma
+     * referência de volta ({@link JsonBackReference}) e não é desserializado.
+     * </p>
+     * 
+     * @param idPsicologo o ID do psicólogo do atendimento
+     */
+    @JsonProperty(value = "idPsicologo", access = JsonProperty.Access.WRITE_ONLY)
+    public void setIdPsicologo(Integer idPsicologo) {
+        Psicologo referencia = new Psicologo();
+        referencia.setId(idPsicologo);
+        this.psicologo = referencia;
+    }
+
     /**
      * Obtém o paciente que recebe o atendimento.
      * 
@@ -211,6 +335,37 @@ public class Atendimento {
         this.paciente = paciente;
     }
 
+    /**
+     * Define o paciente que recebe o atendimento pelo ID, usado na inclusão por JSON com a propriedade
+     * {@code "idPaciente"}.
+     * 
+     * @param idPaciente o ID do paciente do atendimento
+     */
+    @JsonProperty(value = "idPaciente", access = JsonProperty.Access.WRITE_ONLY)
+    public void setIdPaciente(Integer idPaciente) {
+        Paciente referencia = new Paciente();
+        referencia.setId(idPaciente);
+        this.paciente = referencia;
+    }
+
+    /**
+     * Obtém o contador {@code @Version} do atendimento, usado no bloqueio otimista e na verificação de idempotência.
+     * 
+     * @return a versão do atendimento
+     */
+    public int getVersao() {
+        return versao;
+    }
+
+    /**
+     * Define a versão do atendimento lida pelo cliente, verificada na alteração.
+     * 
+     * @param versao a versão do atendimento
+     */
+    public void setVersao(int versao) {
+        this.versao = versao;
+    }
+
     /**
      * Representa uma string contendo as informações do atendimento.
      * 
@@ -4,27 +4,38 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.Size;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * Representa um endereço no sistema.
  * <p>
  * Esta classe é mapeada para a tabela "TEndereco" no banco de dados.
  * </p>
+ * <p>
+ * Os endereços ficam no cache de segundo nível (região "endereco"), o que evita uma consulta ao carregar o endereço
+ * de um usuário pelo ID. A entrada é atualizada ou removida pelo Hibernate junto com o endereço.
+ * </p>
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "endereco")
 @Table(name = "TEndereco")
 public class Endereco {
 
     /**
      * Identificador único do endereço.
      * <p>
-     * A geração do valor do ID será feita automaticamente pelo banco de dados.
+     * Gerado a partir da sequência {@code SQ_ENDERECO}. Como o endereço é persistido em cascata junto com o
+     * usuário, usar IDENTITY aqui impediria o agrupamento dos INSERTs em lotes JDBC.
      * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enderecoSeq")
+    @SequenceGenerator(name = "enderecoSeq", sequenceName = "SQ_ENDERECO", allocationSize = 50)
     private Integer id;
 
     /**
@@ -81,6 +92,30 @@ public class Endereco {
     @Size(max = 2, message = "O tipo de UF deve ter no máximo 2 caracteres.")
     private String uf;
 
+    /**
+     * Construtor padrão da classe.
+     */
+    public Endereco() {
+    }
+
+    /**
+     * Construtor de cópia. Copia todos os campos, exceto o ID.
+     * <p>
+     * Como cada usuário possui o seu próprio endereço, um endereço obtido de um cache deve ser copiado antes de ser
+     * associado a um novo usuário.
+     * </p>
+     * 
+     * @param outro o endereço a ser copiado
+     */
+    public Endereco(Endereco outro) {
+        this.cep = outro.cep;
+        this.logradouro = outro.logradouro;
+        this.complemento = outro.complemento;
+        this.bairro = outro.bairro;
+        this.localidade = outro.localidade;
+        this.uf = outro.uf;
+    }
+
     /**
      * Obtém o identificador único do endereço.
      * 
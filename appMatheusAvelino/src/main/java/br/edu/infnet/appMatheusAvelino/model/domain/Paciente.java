@@ -11,6 +11,8 @@ import javax.persistence.JoinColumn;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 
+import org.hibernate.Hibernate;
+
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 /**
@@ -37,13 +39,13 @@ public class Paciente extends Usuario {
      * Relacionamento um-para-muitos com a entidade {@link Atendimento}.
      * Um paciente pode ter muitos atendimentos.
      * <p>
-     * Os atendimentos são carregados de forma EAGER (imediata) e, ao remover um paciente, todos os atendimentos associados são removidos.
+     * Os atendimentos são carregados sob demanda (LAZY), apenas na consulta de detalhe do paciente, e, ao remover um paciente, todos os atendimentos associados são removidos.
      * Se um atendimento ficar órfão (sem paciente associado), será removido automaticamente.
      * </p>
      */
-    @OneToMany(fetch = FetchType.EAGER, cascade = CascadeType.REMOVE, orphanRemoval = true)
+    @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.REMOVE, orphanRemoval = true)
     @JoinColumn(name = "idPaciente")
-    @JsonManagedReference
+    @JsonManagedReference("paciente")
     private List<Atendimento> atendimento = new ArrayList<>();
 
     /**
@@ -108,6 +110,7 @@ public class Paciente extends Usuario {
      */
     @Override
     public String toString() {
-        return "Paciente{ " + super.toString() + ", CPF: " + cpf + ", [" + atendimento + "] }";
+        return "Paciente{ " + super.toString() + ", CPF: " + cpf + ", ["
+                + (Hibernate.isInitialized(atendimento) ? atendimento : "...") + "] }";
     }
 }
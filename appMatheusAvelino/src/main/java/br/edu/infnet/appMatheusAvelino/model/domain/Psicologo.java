@@ -12,6 +12,8 @@ import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 
+import org.hibernate.Hibernate;
+
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 /**
@@ -50,13 +52,14 @@ public class Psicologo extends Usuario {
 
     /**
      * Relacionamento um-para-muitos com a entidade {@code Atendimento}.
-     * Um psicólogo pode ter muitos atendimentos, e esses atendimentos são carregados de forma imediata (EAGER).
+     * Um psicólogo pode ter muitos atendimentos, e esses atendimentos são carregados sob demanda (LAZY): as listagens
+     * não os carregam e a consulta de detalhe os busca na mesma consulta do psicólogo.
      * {@code CascadeType.REMOVE} indica que ao remover um psicólogo, todos os seus atendimentos associados serão removidos.
      * {@code orphanRemoval=true} assegura que qualquer atendimento sem psicólogo associado seja removido automaticamente.
      */
-    @OneToMany(fetch = FetchType.EAGER, cascade = CascadeType.REMOVE, orphanRemoval = true)
+    @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.REMOVE, orphanRemoval = true)
     @JoinColumn(name = "idPsicologo")
-    @JsonManagedReference
+    @JsonManagedReference("psicologo")
     private List<Atendimento> atendimentos = new ArrayList<>();
 
     /**
@@ -124,6 +127,7 @@ public class Psicologo extends Usuario {
      */
     @Override
     public String toString() {
-        return "Psicologo{" + super.toString() + ", CRP: " + crp + ", [" + abordagem + "], [ " + atendimentos + "] }";
+        return "Psicologo{" + super.toString() + ", CRP: " + crp + ", [" + abordagem + "], [ "
+                + (Hibernate.isInitialized(atendimentos) ? atendimentos : "...") + "] }";
     }
 }
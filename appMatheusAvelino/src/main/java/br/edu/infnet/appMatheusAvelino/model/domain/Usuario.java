@@ -5,10 +5,12 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Inheritance;
 import javax.persistence.InheritanceType;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
@@ -21,20 +23,22 @@ import javax.validation.constraints.NotBlank;
  * </p>
  * <p>
  * A classe define os campos básicos de um usuário, como nome completo, e-mail e idade, além de um relacionamento
- * um-para-um com a entidade {@link Endereco}.
+ * um-para-um com a entidade {@link Endereco}. A idade é indexada ({@code IX_USUARIO_IDADE}) para a busca por idade.
  * </p>
  */
 @Entity
-@Table(name = "TUsuario")
+@Table(name = "TUsuario", indexes = @Index(name = "IX_USUARIO_IDADE", columnList = "idade"))
 @Inheritance(strategy = InheritanceType.JOINED)
 public abstract class Usuario {
 
     /**
      * Identificador único do usuário. 
-     * Gerado automaticamente pelo banco de dados.
+     * Gerado a partir da sequência {@code SQ_USUARIO}, compartilhada por toda a hierarquia. O Hibernate reserva
+     * blocos de 50 valores por acesso à sequência, permitindo que os INSERTs sejam agrupados em lotes JDBC.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarioSeq")
+    @SequenceGenerator(name = "usuarioSeq", sequenceName = "SQ_USUARIO", allocationSize = 50)
     private Integer id;
 
     /**
@@ -0,0 +1,41 @@
+package br.edu.infnet.appMatheusAvelino.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Horário livre na agenda de um psicólogo, retornado pela busca de disponibilidade.
+ */
+public class HorarioLivre {
+
+    private final Integer idPsicologo;
+    private final LocalDateTime dataHora;
+
+    /**
+     * Cria o horário livre.
+     *
+     * @param idPsicologo o ID do psicólogo
+     * @param dataHora o início do horário
+     */
+    public HorarioLivre(Integer idPsicologo, LocalDateTime dataHora) {
+        this.idPsicologo = idPsicologo;
+        this.dataHora = dataHora;
+    }
+
+    /**
+     * Obtém o ID do psicólogo com o horário livre.
+     *
+     * @return o ID do psicólogo
+     */
+    public Integer getIdPsicologo() {
+        return idPsicologo;
+    }
+
+    /**
+     * Obtém o início do horário livre.
+     *
+     * @return a data e a hora de início
+     */
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+}
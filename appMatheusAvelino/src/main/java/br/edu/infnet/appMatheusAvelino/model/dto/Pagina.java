@@ -0,0 +1,100 @@
+package br.edu.infnet.appMatheusAvelino.model.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset).
+ * <p>
+ * Os registros são ordenados pelo ID e o cursor é o ID do último registro da página. A próxima página é obtida com
+ * {@code id > cursor}, que usa o índice da chave primária em vez de descartar as linhas anteriores, como faria um
+ * {@code OFFSET}. Por isso o cursor continua válido mesmo que registros sejam incluídos ou excluídos entre as
+ * requisições.
+ * </p>
+ *
+ * @param <T> o tipo dos registros da página
+ */
+public class Pagina<T> {
+
+    /**
+     * Quantidade de registros por página quando o cliente não informa o tamanho.
+     */
+    public static final int TAMANHO_PADRAO = 50;
+
+    /**
+     * Quantidade máxima de registros por página.
+     */
+    public static final int TAMANHO_MAXIMO = 500;
+
+    private final List<T> itens;
+    private final Integer proximoCursor;
+
+    private Pagina(List<T> itens, Integer proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    /**
+     * Cria a página a partir do resultado de uma consulta {@code findByIdGreaterThan}.
+     *
+     * @param <T> o tipo dos registros
+     * @param fatia o resultado da consulta, ordenado pelo ID
+     * @param id função que obtém o ID de um registro
+     * @return a página, com o cursor da próxima página se houver mais registros
+     */
+    public static <T> Pagina<T> de(Slice<T> fatia, Function<T, Integer> id) {
+        List<T> itens = fatia.getContent();
+        Integer proximoCursor = fatia.hasNext() ? id.apply(itens.get(itens.size() - 1)) : null;
+        return new Pagina<>(itens, proximoCursor);
+    }
+
+    /**
+     * Cria a requisição de uma página ordenada pelo ID, limitando o tamanho a {@link #TAMANHO_MAXIMO}.
+     *
+     * @param tamanho a quantidade de registros pedida
+     * @return a requisição da primeira página com o tamanho ajustado
+     */
+    public static Pageable porId(int tamanho) {
+        return PageRequest.of(0, limitar(tamanho), Sort.by("id"));
+    }
+
+    /**
+     * Cria a requisição de uma página numerada, ordenada pelo campo informado e desempatada pelo ID para que a
+     * ordem entre as páginas seja estável.
+     *
+     * @param numero o número da página, começando em zero
+     * @param tamanho a quantidade de registros pedida
+     * @param ordem a ordenação principal
+     * @return a requisição da página com o tamanho ajustado
+     */
+    public static Pageable numerada(int numero, int tamanho, Sort ordem) {
+        return PageRequest.of(Math.max(0, numero), limitar(tamanho), ordem.and(Sort.by("id")));
+    }
+
+    private static int limitar(int tamanho) {
+        return Math.min(Math.max(1, tamanho), TAMANHO_MAXIMO);
+    }
+
+    /**
+     * Obtém os registros da página.
+     *
+     * @return os registros, ordenados pelo ID
+     */
+    public List<T> getItens() {
+        return itens;
+    }
+
+    /**
+     * Obtém o cursor da próxima página.
+     *
+     * @return o ID do último registro desta página, ou {@code null} se esta é a última página
+     */
+    public Integer getProximoCursor() {
+        return proximoCursor;
+    }
+}
@@ -0,0 +1,113 @@
+package br.edu.infnet.appMatheusAvelino.model.dto;
+
+/**
+ * Psicólogo ou paciente encontrado pela busca textual, com a pontuação usada na ordenação dos resultados.
+ */
+public class ResultadoBusca {
+
+    private final Integer id;
+    private final String tipo;
+    private final String nomeCompleto;
+    private final String email;
+    private final String documento;
+    private final String localidade;
+    private final String uf;
+    private final int pontuacao;
+
+    /**
+     * Cria o resultado.
+     *
+     * @param id o ID do usuário
+     * @param tipo "psicologo" ou "paciente"
+     * @param nomeCompleto o nome completo
+     * @param email o e-mail
+     * @param documento o CRP do psicólogo ou o CPF do paciente
+     * @param localidade a cidade do endereço
+     * @param uf a UF do endereço
+     * @param pontuacao a pontuação do resultado; quanto maior, mais relevante
+     */
+    public ResultadoBusca(Integer id, String tipo, String nomeCompleto, String email, String documento,
+            String localidade, String uf, int pontuacao) {
+        this.id = id;
+        this.tipo = tipo;
+        this.nomeCompleto = nomeCompleto;
+        this.email = email;
+        this.documento = documento;
+        this.localidade = localidade;
+        this.uf = uf;
+        this.pontuacao = pontuacao;
+    }
+
+    /**
+     * Obtém o ID do usuário.
+     *
+     * @return o ID
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Obtém o tipo do usuário.
+     *
+     * @return "psicologo" ou "paciente"
+     */
+    public String getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Obtém o nome completo do usuário.
+     *
+     * @return o nome completo
+     */
+    public String getNomeCompleto() {
+        return nomeCompleto;
+    }
+
+    /**
+     * Obtém o e-mail do usuário.
+     *
+     * @return o e-mail
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Obtém o documento do usuário.
+     *
+     * @return o CRP do psicólogo ou o CPF do paciente
+     */
+    public String getDocumento() {
+        return documento;
+    }
+
+    /**
+     * Obtém a cidade do endereço do usuário.
+     *
+     * @return a cidade, ou {@code null} se o usuário não tem endereço
+     */
+    public String getLocalidade() {
+        return localidade;
+    }
+
+    /**
+     * Obtém a UF do endereço do usuário.
+     *
+     * @return a UF, ou {@code null} se o usuário não tem endereço
+     */
+    public String getUf() {
+        return uf;
+    }
+
+    /**
+     * Obtém a pontuação do resultado.
+     *
+     * @return a soma, para cada termo da busca, do peso do campo encontrado, dobrado quando o termo é uma palavra
+     *         inteira
+     */
+    public int getPontuacao() {
+        return pontuacao;
+    }
+}
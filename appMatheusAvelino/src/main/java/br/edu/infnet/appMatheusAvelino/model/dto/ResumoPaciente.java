@@ -0,0 +1,76 @@
+package br.edu.infnet.appMatheusAvelino.model.dto;
+
+/**
+ * Resumo de um paciente usado nas listagens REST, montado diretamente pela consulta, com as colunas exibidas e a
+ * quantidade de atendimentos, sem o endereço nem os atendimentos.
+ */
+public class ResumoPaciente {
+
+    private final Integer id;
+    private final String nomeCompleto;
+    private final String email;
+    private final String cpf;
+    private final long qtdeAtendimentos;
+
+    /**
+     * Cria o resumo. Chamado pela expressão {@code select new} da consulta.
+     *
+     * @param id o ID do paciente
+     * @param nomeCompleto o nome completo
+     * @param email o e-mail
+     * @param cpf o CPF
+     * @param qtdeAtendimentos a quantidade de atendimentos do paciente
+     */
+    public ResumoPaciente(Integer id, String nomeCompleto, String email, String cpf, long qtdeAtendimentos) {
+        this.id = id;
+        this.nomeCompleto = nomeCompleto;
+        this.email = email;
+        this.cpf = cpf;
+        this.qtdeAtendimentos = qtdeAtendimentos;
+    }
+
+    /**
+     * Obtém o ID do paciente.
+     *
+     * @return o ID do paciente
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Obtém o nome completo.
+     *
+     * @return o nome completo
+     */
+    public String getNomeCompleto() {
+        return nomeCompleto;
+    }
+
+    /**
+     * Obtém o e-mail.
+     *
+     * @return o e-mail
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Obtém o CPF.
+     *
+     * @return o CPF
+     */
+    public String getCpf() {
+        return cpf;
+    }
+
+    /**
+     * Obtém a quantidade de atendimentos do paciente.
+     *
+     * @return a quantidade de atendimentos do paciente
+     */
+    public long getQtdeAtendimentos() {
+        return qtdeAtendimentos;
+    }
+}
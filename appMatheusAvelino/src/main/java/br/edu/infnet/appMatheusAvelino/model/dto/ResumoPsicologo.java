@@ -0,0 +1,92 @@
+package br.edu.infnet.appMatheusAvelino.model.dto;
+
+/**
+ * Resumo de um psicólogo usado nas listagens REST, montado diretamente pela consulta.
+ * <p>
+ * Ao contrário da entidade {@code Psicologo}, o resumo não carrega o endereço nem os atendimentos: traz apenas as
+ * colunas exibidas, a descrição da abordagem e a quantidade de atendimentos, calculada pelo banco de dados.
+ * </p>
+ */
+public class ResumoPsicologo {
+
+    private final Integer id;
+    private final String nomeCompleto;
+    private final String email;
+    private final String crp;
+    private final String abordagem;
+    private final long qtdeAtendimentos;
+
+    /**
+     * Cria o resumo. Chamado pela expressão {@code select new} da consulta.
+     *
+     * @param id o ID do psicólogo
+     * @param nomeCompleto o nome completo
+     * @param email o e-mail
+     * @param crp o CRP
+     * @param abordagem a descrição da abordagem, ou {@code null} se o psicólogo não tiver abordagem
+     * @param qtdeAtendimentos a quantidade de atendimentos do psicólogo
+     */
+    public ResumoPsicologo(Integer id, String nomeCompleto, String email, String crp, String abordagem,
+            long qtdeAtendimentos) {
+        this.id = id;
+        this.nomeCompleto = nomeCompleto;
+        this.email = email;
+        this.crp = crp;
+        this.abordagem = abordagem;
+        this.qtdeAtendimentos = qtdeAtendimentos;
+    }
+
+    /**
+     * Obtém o ID do psicólogo.
+     *
+     * @return o ID do psicólogo
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Obtém o nome completo.
+     *
+     * @return o nome completo
+     */
+    public String getNomeCompleto() {
+        return nomeCompleto;
+    }
+
+    /**
+     * Obtém o e-mail.
+     *
+     * @return o e-mail
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Obtém o CRP.
+     *
+     * @return o CRP
+     */
+    public String getCrp() {
+        return crp;
+    }
+
+    /**
+     * Obtém a descrição da abordagem do psicólogo.
+     *
+     * @return a descrição, ou {@code null} se o psicólogo não tiver abordagem
+     */
+    public String getAbordagem() {
+        return abordagem;
+    }
+
+    /**
+     * Obtém a quantidade de atendimentos do psicólogo.
+     *
+     * @return a quantidade de atendimentos do psicólogo
+     */
+    public long getQtdeAtendimentos() {
+        return qtdeAtendimentos;
+    }
+}
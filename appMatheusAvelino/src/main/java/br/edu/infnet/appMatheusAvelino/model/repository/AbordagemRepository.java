@@ -2,7 +2,12 @@ package br.edu.infnet.appMatheusAvelino.model.repository;
 
 import java.util.Collection;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -22,11 +27,44 @@ import br.edu.infnet.appMatheusAvelino.model.domain.Abordagem;
 @Repository
 public interface AbordagemRepository extends CrudRepository<Abordagem, Integer> {
 
+    /**
+     * Encontra todas as abordagens.
+     * <p>
+     * O resultado fica no cache de consultas do Hibernate, que o descarta quando a tabela de abordagens é alterada.
+     * </p>
+     *
+     * @return todas as abordagens
+     */
+    @Override
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
+    Iterable<Abordagem> findAll();
+
     /**
      * Encontra todas as abordagens e as ordena de acordo com o parâmetro de ordenação fornecido.
+     * <p>
+     * O resultado fica no cache de consultas do Hibernate, uma entrada por critério de ordenação.
+     * </p>
      *
      * @param orderBy o critério de ordenação a ser aplicado
      * @return uma coleção de abordagens ordenadas conforme o critério especificado
      */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     Collection<Abordagem> findAll(Sort orderBy);
+
+    /**
+     * Encontra as abordagens com ID maior que o cursor, para a paginação por cursor (keyset).
+     *
+     * @param id o ID da última abordagem da página anterior
+     * @param pagina o tamanho da página, ordenada pelo ID
+     * @return as abordagens da página, sem contar o total de registros
+     */
+    Slice<Abordagem> findByIdGreaterThan(Integer id, Pageable pagina);
+
+    /**
+     * Encontra uma página de abordagens, sem contar o total de registros.
+     *
+     * @param pagina o número, o tamanho e a ordenação da página
+     * @return as abordagens da página
+     */
+    Slice<Abordagem> findAllBy(Pageable pagina);
 }
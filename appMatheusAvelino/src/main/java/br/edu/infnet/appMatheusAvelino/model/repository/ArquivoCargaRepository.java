@@ -0,0 +1,21 @@
+package br.edu.infnet.appMatheusAvelino.model.repository;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.ArquivoCarga;
+
+/**
+ * Interface para o repositório de {@link ArquivoCarga}.
+ * <p>
+ * Esta interface é responsável pelas operações de persistência para a entidade {@link ArquivoCarga}, identificada
+ * pelo caminho do arquivo. Ela estende {@link CrudRepository}, fornecendo métodos para realizar operações CRUD
+ * básicas.
+ * </p>
+ * 
+ * @see CrudRepository
+ * @see ArquivoCarga
+ */
+@Repository
+public interface ArquivoCargaRepository extends CrudRepository<ArquivoCarga, String> {
+}
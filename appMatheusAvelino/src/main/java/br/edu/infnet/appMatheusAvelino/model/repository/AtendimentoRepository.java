@@ -1,8 +1,20 @@
 package br.edu.infnet.appMatheusAvelino.model.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -22,6 +34,11 @@ import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
 @Repository
 public interface AtendimentoRepository extends CrudRepository<Atendimento, Integer> {
 
+    /**
+     * Quantidade de linhas buscadas do banco de dados a cada ida ao servidor durante a leitura em fluxo.
+     */
+    int TAMANHO_FETCH = 500;
+
     /**
      * Encontra atendimentos com base no status do atendimento.
      *
@@ -33,19 +50,64 @@ public interface AtendimentoRepository extends CrudRepository<Atendimento, Integ
     /**
      * Encontra atendimentos relacionados a um psicólogo específico.
      *
+     * <p>A consulta compara a chave estrangeira {@code idPsicologo} diretamente, o que permite usar um índice dessa
+     * coluna. A consulta derivada do nome do método faria uma junção com {@code TPsicologo} e filtraria pelo ID da
+     * tabela juntada, o que leva o H2 a varrer toda a tabela de atendimentos.</p>
+     *
      * @param id o ID do psicólogo cujos atendimentos devem ser encontrados
      * @return uma coleção de atendimentos relacionados ao psicólogo com o ID especificado
      */
+    @Query("select a from Atendimento a where a.psicologo.id = ?1")
     Collection<Atendimento> findByPsicologoId(Integer id);
 
     /**
      * Encontra atendimentos relacionados a um paciente específico.
      *
+     * <p>Assim como {@link #findByPsicologoId(Integer)}, compara a chave estrangeira {@code idPaciente} diretamente,
+     * o que permite usar o índice {@code IX_ATENDIMENTO_PACIENTE}.</p>
+     *
      * @param id o ID do paciente cujos atendimentos devem ser encontrados
      * @return uma coleção de atendimentos relacionados ao paciente com o ID especificado
      */
+    @Query("select a from Atendimento a where a.paciente.id = ?1")
     Collection<Atendimento> findByPacienteId(Integer id);
 
+    /**
+     * Encontra os IDs dos atendimentos de um psicólogo, sem carregar os atendimentos.
+     *
+     * @param id o ID do psicólogo
+     * @return os IDs dos atendimentos do psicólogo
+     */
+    @Query("select a.id from Atendimento a where a.psicologo.id = ?1")
+    List<Integer> findIdByPsicologoId(Integer id);
+
+    /**
+     * Encontra os IDs dos atendimentos de um paciente, sem carregar os atendimentos.
+     *
+     * @param id o ID do paciente
+     * @return os IDs dos atendimentos do paciente
+     */
+    @Query("select a.id from Atendimento a where a.paciente.id = ?1")
+    List<Integer> findIdByPacienteId(Integer id);
+
+    /**
+     * Encontra o horário de todos os atendimentos com data e hora, sem carregar os atendimentos.
+     *
+     * @return para cada atendimento, um vetor com o ID do atendimento, o ID do psicólogo e a data e hora
+     */
+    @Query("select a.id, a.psicologo.id, a.dataHora from Atendimento a where a.dataHora is not null")
+    List<Object[]> findHorarios();
+
+    /**
+     * Encontra as dimensões dos relatórios de todos os atendimentos com data e hora, sem carregar os atendimentos.
+     *
+     * @return para cada atendimento, um vetor com o ID do atendimento, o ID do psicólogo, o ID do paciente, a data e
+     *         hora, o tipo e o status
+     */
+    @Query("select a.id, a.psicologo.id, a.paciente.id, a.dataHora, a.tipoAtendimento, a.statusAtendimento "
+            + "from Atendimento a where a.dataHora is not null")
+    List<Object[]> findDimensoesRelatorio();
+
     /**
      * Encontra todos os atendimentos e os ordena de acordo com o parâmetro de ordenação fornecido.
      *
@@ -53,4 +115,72 @@ public interface AtendimentoRepository extends CrudRepository<Atendimento, Integ
      * @return uma coleção de atendimentos ordenados conforme o critério especificado
      */
     Collection<Atendimento> findAll(Sort orderBy);
+
+    /**
+     * Encontra os atendimentos com ID maior que o cursor, para a paginação por cursor (keyset).
+     *
+     * @param id o ID do último atendimento da página anterior
+     * @param pagina o tamanho da página, ordenada pelo ID
+     * @return os atendimentos da página, sem contar o total de registros
+     */
+    Slice<Atendimento> findByIdGreaterThan(Integer id, Pageable pagina);
+
+    /**
+     * Encontra uma página de atendimentos, sem contar o total de registros.
+     *
+     * @param pagina o número, o tamanho e a ordenação da página
+     * @return os atendimentos da página
+     */
+    Slice<Atendimento> findAllBy(Pageable pagina);
+
+    /**
+     * Lê todos os atendimentos em fluxo, ordenados pelo ID.
+     * <p>
+     * Os registros são lidos pelo cursor do JDBC em grupos de {@link #TAMANHO_FETCH} linhas, sem carregar o
+     * resultado inteiro em memória, e não são verificados pelo Hibernate ao final da transação (somente leitura). O
+     * {@link Stream} deve ser consumido e fechado dentro de uma transação.
+     * </p>
+     *
+     * @return um fluxo com todos os atendimentos
+     */
+    @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "" + TAMANHO_FETCH),
+            @QueryHint(name = HINT_READONLY, value = "true") })
+    Stream<Atendimento> streamAllByOrderById();
+
+    /**
+     * Encontra os atendimentos de um psicólogo no período {@code [inicio, fim)}, ordenados pela data e hora.
+     * <p>
+     * Filtra pela chave estrangeira {@code idPsicologo}, sem junção com a tabela de psicólogos, de modo que a consulta
+     * é atendida por uma leitura de intervalo do índice {@code UK_ATENDIMENTO_PSICOLOGO_DATAHORA}, já na ordem do
+     * resultado.
+     * </p>
+     *
+     * @param id o ID do psicólogo
+     * @param inicio o início do período, inclusive
+     * @param fim o fim do período, exclusive
+     * @return os atendimentos do psicólogo no período
+     */
+    @Query("select a from Atendimento a where a.psicologo.id = ?1 and a.dataHora >= ?2 and a.dataHora < ?3"
+            + " order by a.dataHora")
+    List<Atendimento> findAgenda(Integer id, LocalDateTime inicio, LocalDateTime fim);
+
+    /**
+     * Encontra os atendimentos de todos os psicólogos no período {@code [inicio, fim)}, ordenados pela data e hora.
+     *
+     * @param inicio o início do período, inclusive
+     * @param fim o fim do período, exclusive
+     * @return os atendimentos do período
+     */
+    List<Atendimento> findByDataHoraGreaterThanEqualAndDataHoraLessThanOrderByDataHora(LocalDateTime inicio,
+            LocalDateTime fim);
+
+    /**
+     * Encontra os atendimentos sem data e hora preenchidas, com ID maior que o cursor, para a migração da data em
+     * texto.
+     *
+     * @param id o ID do último atendimento processado
+     * @param pagina o tamanho do lote, ordenado pelo ID
+     * @return os atendimentos do lote
+     */
+    Slice<Atendimento> findByDataHoraIsNullAndIdGreaterThan(Integer id, Pageable pagina);
 }
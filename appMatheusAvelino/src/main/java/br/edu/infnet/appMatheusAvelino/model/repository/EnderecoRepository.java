@@ -0,0 +1,20 @@
+package br.edu.infnet.appMatheusAvelino.model.repository;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Endereco;
+
+/**
+ * Interface para o repositório de {@link Endereco}.
+ * <p>
+ * Esta interface é responsável pelas operações de persistência para a entidade {@link Endereco}.
+ * Ela estende {@link CrudRepository}, fornecendo métodos para realizar operações CRUD básicas.
+ * </p>
+ * 
+ * @see CrudRepository
+ * @see Endereco
+ */
+@Repository
+public interface EnderecoRepository extends CrudRepository<Endereco, Integer> {
+}
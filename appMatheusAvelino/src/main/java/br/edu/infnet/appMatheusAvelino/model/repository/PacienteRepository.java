@@ -1,12 +1,19 @@
 package br.edu.infnet.appMatheusAvelino.model.repository;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Paciente;
+import br.edu.infnet.appMatheusAvelino.model.dto.ResumoPaciente;
 
 /**
  * Interface para o repositório de {@link Paciente}.
@@ -22,19 +29,95 @@ import br.edu.infnet.appMatheusAvelino.model.domain.Paciente;
 @Repository
 public interface PacienteRepository extends CrudRepository<Paciente, Integer> {
 
+    /**
+     * Seleção do resumo de um paciente ({@link ResumoPaciente}), com a quantidade de atendimentos contada por uma
+     * subconsulta que usa o índice de {@code idPaciente}.
+     */
+    String SELECAO_RESUMO = "select new br.edu.infnet.appMatheusAvelino.model.dto.ResumoPaciente(p.id, "
+            + "p.nomeCompleto, p.email, p.cpf, "
+            + "(select count(at) from Atendimento at where at.paciente.id = p.id)) "
+            + "from Paciente p";
+
     /**
      * Encontra um paciente pelo CPF.
      *
      * @param cpf o CPF do paciente a ser encontrado
      * @return o paciente com o CPF especificado, ou {@code null} se nenhum paciente for encontrado
      */
+    @EntityGraph(attributePaths = "endereco")
     Paciente findByCpf(String cpf);
 
+    /**
+     * Encontra todos os pacientes, com o endereço carregado na mesma consulta.
+     *
+     * @return todos os pacientes, sem os atendimentos
+     */
+    @Override
+    @EntityGraph(attributePaths = "endereco")
+    Iterable<Paciente> findAll();
+
     /**
      * Encontra todos os pacientes e os ordena de acordo com o parâmetro de ordenação fornecido.
      *
      * @param orderby o critério de ordenação a ser aplicado
      * @return uma coleção de pacientes ordenados conforme o critério especificado
      */
+    @EntityGraph(attributePaths = "endereco")
     Collection<Paciente> findAll(Sort orderby);
+
+    /**
+     * Encontra um paciente pelo ID, carregando endereço e atendimentos em uma única consulta.
+     *
+     * @param id o ID do paciente
+     * @return o paciente com os seus atendimentos, ou vazio se não encontrado
+     */
+    @EntityGraph(attributePaths = { "endereco", "atendimento" })
+    Optional<Paciente> findDetalheById(Integer id);
+
+    /**
+     * Encontra os pacientes com ID maior que o cursor, para a paginação por cursor (keyset).
+     *
+     * @param id o ID do último paciente da página anterior
+     * @param pagina o tamanho da página, ordenada pelo ID
+     * @return os pacientes da página, sem contar o total de registros
+     */
+    @EntityGraph(attributePaths = "endereco")
+    Slice<Paciente> findByIdGreaterThan(Integer id, Pageable pagina);
+
+    /**
+     * Encontra uma página de pacientes, sem contar o total de registros.
+     *
+     * @param pagina o número, o tamanho e a ordenação da página
+     * @return os pacientes da página
+     */
+    @EntityGraph(attributePaths = "endereco")
+    Slice<Paciente> findAllBy(Pageable pagina);
+
+    /**
+     * Obtém os campos de cada paciente indexados pela busca textual: ID, nome completo, e-mail, CPF e CEP,
+     * logradouro, bairro, localidade e UF do endereço.
+     *
+     * @return os campos de todos os pacientes, sem carregar as entidades
+     */
+    @Query("select p.id, p.nomeCompleto, p.email, p.cpf, e.cep, e.logradouro, e.bairro, e.localidade, e.uf "
+            + "from Paciente p left join p.endereco e")
+    List<Object[]> findCamposBusca();
+
+    /**
+     * Obtém o resumo de todos os pacientes, ordenados pelo ID, selecionando apenas as colunas do resumo.
+     *
+     * @return os resumos, sem carregar as entidades
+     */
+    @Query(SELECAO_RESUMO + " order by p.id")
+    List<ResumoPaciente> findResumos();
+
+    /**
+     * Obtém o resumo dos pacientes com ID maior que o cursor, para a paginação por cursor (keyset).
+     *
+     * @param id o ID do último paciente da página anterior
+     * @param pagina o tamanho da página, ordenada pelo ID
+     * @return os resumos da página, sem contar o total de registros
+     */
+    @Query(SELECAO_RESUMO + " where p.id > ?1")
+    Slice<ResumoPaciente> findResumosByIdGreaterThan(Integer id, Pageable pagina);
 }
@@ -1,12 +1,19 @@
 package br.edu.infnet.appMatheusAvelino.model.repository;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
+import br.edu.infnet.appMatheusAvelino.model.dto.ResumoPsicologo;
 
 /**
  * Interface para o repositório de {@link Psicologo}.
@@ -22,19 +29,103 @@ import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
 @Repository
 public interface PsicologoRepository extends CrudRepository<Psicologo, Integer> {
 
+    /**
+     * Seleção do resumo de um psicólogo ({@link ResumoPsicologo}), com a quantidade de atendimentos contada por uma
+     * subconsulta que usa o índice de {@code idPsicologo}.
+     */
+    String SELECAO_RESUMO = "select new br.edu.infnet.appMatheusAvelino.model.dto.ResumoPsicologo(p.id, "
+            + "p.nomeCompleto, p.email, p.crp, a.descricao, "
+            + "(select count(at) from Atendimento at where at.psicologo.id = p.id)) "
+            + "from Psicologo p left join p.abordagem a";
+
     /**
      * Encontra um psicólogo pelo CRP (Cadastro de Registro Profissional).
      *
      * @param crp o CRP do psicólogo a ser encontrado
      * @return o psicólogo com o CRP especificado, ou {@code null} se nenhum psicólogo for encontrado
      */
+    @EntityGraph(attributePaths = { "endereco", "abordagem" })
     Psicologo findByCrp(String crp);
 
+    /**
+     * Encontra todos os psicólogos, com endereço e abordagem carregados na mesma consulta.
+     *
+     * @return todos os psicólogos, sem os atendimentos
+     */
+    @Override
+    @EntityGraph(attributePaths = { "endereco", "abordagem" })
+    Iterable<Psicologo> findAll();
+
     /**
      * Encontra todos os psicólogos e os ordena de acordo com o parâmetro de ordenação fornecido.
      *
      * @param orderby o critério de ordenação a ser aplicado
      * @return uma coleção de psicólogos ordenados conforme o critério especificado
      */
+    @EntityGraph(attributePaths = { "endereco", "abordagem" })
     Collection<Psicologo> findAll(Sort orderby);
+
+    /**
+     * Encontra um psicólogo pelo ID, carregando endereço, abordagem e atendimentos em uma única consulta.
+     *
+     * @param id o ID do psicólogo
+     * @return o psicólogo com os seus atendimentos, ou vazio se não encontrado
+     */
+    @EntityGraph(attributePaths = { "endereco", "abordagem", "atendimentos" })
+    Optional<Psicologo> findDetalheById(Integer id);
+
+    /**
+     * Encontra os psicólogos com ID maior que o cursor, para a paginação por cursor (keyset).
+     *
+     * @param id o ID do último psicólogo da página anterior
+     * @param pagina o tamanho da página, ordenada pelo ID
+     * @return os psicólogos da página, sem contar o total de registros
+     */
+    @EntityGraph(attributePaths = { "endereco", "abordagem" })
+    Slice<Psicologo> findByIdGreaterThan(Integer id, Pageable pagina);
+
+    /**
+     * Encontra uma página de psicólogos, sem contar o total de registros.
+     *
+     * @param pagina o número, o tamanho e a ordenação da página
+     * @return os psicólogos da página
+     */
+    @EntityGraph(attributePaths = { "endereco", "abordagem" })
+    Slice<Psicologo> findAllBy(Pageable pagina);
+
+    /**
+     * Encontra a abordagem de todos os psicólogos, sem carregar os psicólogos.
+     *
+     * @return para cada psicólogo, um vetor com o ID do psicólogo e o ID da sua abordagem
+     */
+    @Query("select p.id, p.abordagem.id from Psicologo p")
+    List<Object[]> findAbordagens();
+
+    /**
+     * Obtém os campos de cada psicólogo indexados pela busca textual: ID, nome completo, e-mail, CRP e CEP,
+     * logradouro, bairro, localidade e UF do endereço.
+     *
+     * @return os campos de todos os psicólogos, sem carregar as entidades
+     */
+    @Query("select p.id, p.nomeCompleto, p.email, p.crp, e.cep, e.logradouro, e.bairro, e.localidade, e.uf "
+            + "from Psicologo p left join p.endereco e")
+    List<Object[]> findCamposBusca();
+
+    /**
+     * Obtém o resumo de todos os psicólogos, ordenados pelo ID, selecionando apenas as colunas do resumo.
+     *
+     * @return os resumos, sem carregar as entidades
+     */
+    @Query(SELECAO_RESUMO + " order by p.id")
+    List<ResumoPsicologo> findResumos();
+
+    /**
+     * Obtém o resumo dos psicólogos com ID maior que o cursor, para a paginação por cursor (keyset).
+     *
+     * @param id o ID do último psicólogo da página anterior
+     * @param pagina o tamanho da página, ordenada pelo ID
+     * @return os resumos da página, sem contar o total de registros
+     */
+    @Query(SELECAO_RESUMO + " where p.id > ?1")
+    Slice<ResumoPsicologo> findResumosByIdGreaterThan(Integer id, Pageable pagina);
 }
@@ -2,7 +2,11 @@ package br.edu.infnet.appMatheusAvelino.model.repository;
 
 import java.util.Collection;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -15,6 +19,11 @@ import br.edu.infnet.appMatheusAvelino.model.domain.Usuario;
  * Ela estende {@link CrudRepository}, fornecendo métodos para realizar operações CRUD básicas,
  * além de métodos personalizados para consultas específicas.
  * </p>
+ * <p>
+ * As consultas carregam o endereço na mesma consulta com um entity graph do tipo LOAD, que mantém o carregamento
+ * padrão dos atributos das subclasses (como a abordagem do {@code Psicologo}). Com o tipo FETCH, esses atributos
+ * seriam devolvidos como proxies não inicializados.
+ * </p>
  * 
  * @see CrudRepository
  * @see Usuario
@@ -28,13 +37,43 @@ public interface UsuarioRepository extends CrudRepository<Usuario, Integer> {
      * @param idade a idade dos usuários a serem encontrados
      * @return uma coleção de usuários com a idade especificada
      */
+    @EntityGraph(attributePaths = "endereco", type = EntityGraphType.LOAD)
     Collection<Usuario> findByIdade(int idade);
 
+    /**
+     * Encontra todos os usuários, com o endereço carregado na mesma consulta.
+     *
+     * @return todos os usuários, sem os atendimentos
+     */
+    @Override
+    @EntityGraph(attributePaths = "endereco", type = EntityGraphType.LOAD)
+    Iterable<Usuario> findAll();
+
     /**
      * Encontra todos os usuários e os ordena de acordo com o parâmetro de ordenação fornecido.
      *
      * @param orderby o critério de ordenação a ser aplicado
      * @return uma coleção de usuários ordenados conforme o critério especificado
      */
+    @EntityGraph(attributePaths = "endereco", type = EntityGraphType.LOAD)
     Collection<Usuario> findAll(Sort orderby);
+
+    /**
+     * Encontra os usuários com ID maior que o cursor, para a paginação por cursor (keyset).
+     *
+     * @param id o ID do último usuário da página anterior
+     * @param pagina o tamanho da página, ordenada pelo ID
+     * @return os usuários da página, sem contar o total de registros
+     */
+    @EntityGraph(attributePaths = "endereco", type = EntityGraphType.LOAD)
+    Slice<Usuario> findByIdGreaterThan(Integer id, Pageable pagina);
+
+    /**
+     * Encontra uma página de usuários, sem contar o total de registros.
+     *
+     * @param pagina o número, o tamanho e a ordenação da página
+     * @return os usuários da página
+     */
+    @EntityGraph(attributePaths = "endereco", type = EntityGraphType.LOAD)
+    Slice<Usuario> findAllBy(Pageable pagina);
 }
@@ -1,11 +1,15 @@
 package br.edu.infnet.appMatheusAvelino.model.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Abordagem;
+import br.edu.infnet.appMatheusAvelino.model.dto.Pagina;
 import br.edu.infnet.appMatheusAvelino.model.repository.AbordagemRepository;
+import br.edu.infnet.appMatheusAvelino.model.service.PainelService.Contador;
+import br.edu.infnet.appMatheusAvelino.model.service.VersaoService.Tabela;
 
 /**
  * Serviço responsável pela gestão de abordagens no sistema.
@@ -25,6 +29,18 @@ public class AbordagemService {
 	@Autowired
 	private AbordagemRepository abordagemRepository;
 
+	/**
+	 * Serviço do painel, atualizado a cada inclusão e exclusão.
+	 */
+	@Autowired
+	private PainelService painelService;
+
+	/**
+	 * Serviço das versões das tabelas, usadas nos ETags das respostas.
+	 */
+	@Autowired
+	private VersaoService versaoService;
+
 	/**
 	 * Inclui uma nova abordagem na base de dados.
 	 * 
@@ -34,12 +50,39 @@ public class AbordagemService {
 	 */
 	public void incluir(Abordagem abordagem) {
 		try {
+			boolean novo = abordagem.getId() == null;
 			abordagemRepository.save(abordagem);
+			versaoService.registrarAlteracao(Tabela.ABORDAGEM);
+			if (novo) {
+				painelService.somar(Contador.ABORDAGEM, 1);
+			}
 		} catch (Exception e) {
 			System.err.println("[ERROR] " + e.getMessage());
 		}
 	}
 
+	/**
+	 * Inclui um lote de abordagens na base de dados.
+	 * 
+	 * <p>Usado pela importação em lote. Deve ser chamado dentro de uma transação aberta pelo chamador, permitindo
+	 * que os INSERTs sejam agrupados em lotes JDBC. Ao contrário de {@link #incluir(Abordagem)}, os erros são propagados
+	 * para que a transação do lote seja desfeita.</p>
+	 * 
+	 * @param abordagens As abordagens a serem incluídas. Não deve ser nulo.
+	 */
+	public void incluirLote(Iterable<Abordagem> abordagens) {
+		long novos = 0;
+		for (Abordagem abordagem : abordagens) {
+			if (abordagem.getId() == null) {
+				novos++;
+			}
+		}
+
+		abordagemRepository.saveAll(abordagens);
+		painelService.somar(Contador.ABORDAGEM, novos);
+		versaoService.registrarAlteracao(Tabela.ABORDAGEM);
+	}
+
 	/**
 	 * Obtém a lista completa de abordagens.
 	 * 
@@ -63,6 +106,33 @@ public class AbordagemService {
 		return abordagemRepository.findAll(Sort.by(Sort.Direction.ASC, orderBy));
 	}
 
+	/**
+	 * Obtém uma página de abordagens pelo cursor.
+	 * 
+	 * <p>A página é ordenada pelo ID e começa após a abordagem informada no cursor, sem percorrer os registros
+	 * anteriores.</p>
+	 * 
+	 * @param cursor O ID da última abordagem da página anterior, ou null para a primeira página.
+	 * @param tamanho A quantidade de abordagens da página, limitada a {@link Pagina#TAMANHO_MAXIMO}.
+	 * @return A {@link Pagina} com as abordagens e o cursor da próxima página.
+	 */
+	public Pagina<Abordagem> obterPagina(Integer cursor, int tamanho) {
+		return Pagina.de(abordagemRepository.findByIdGreaterThan(cursor == null ? 0 : cursor, Pagina.porId(tamanho)),
+				Abordagem::getId);
+	}
+
+	/**
+	 * Obtém uma página numerada de abordagens, ordenada pelo campo especificado.
+	 * 
+	 * @param orderBy O nome do campo pelo qual as abordagens devem ser ordenadas.
+	 * @param pagina O número da página, começando em zero.
+	 * @param tamanho A quantidade de abordagens da página, limitada a {@link Pagina#TAMANHO_MAXIMO}.
+	 * @return As abordagens da página, sem a contagem do total de registros.
+	 */
+	public Slice<Abordagem> obterLista(String orderBy, int pagina, int tamanho) {
+		return abordagemRepository.findAllBy(Pagina.numerada(pagina, tamanho, Sort.by(Sort.Direction.ASC, orderBy)));
+	}
+
 	/**
 	 * Obtém uma abordagem pelo ID.
 	 * 
@@ -85,6 +155,8 @@ public class AbordagemService {
 	 */
 	public void excluir(Integer id) {
 		abordagemRepository.deleteById(id);
+		painelService.somar(Contador.ABORDAGEM, -1);
+		versaoService.registrarAlteracao(Tabela.ABORDAGEM);
 	}
 
 	/**
@@ -0,0 +1,382 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
+import br.edu.infnet.appMatheusAvelino.model.repository.AtendimentoRepository;
+
+/**
+ * Serviço responsável pela agenda dos psicólogos, que impede que um psicólogo tenha dois atendimentos no mesmo
+ * horário.
+ *
+ * <p>Cada psicólogo tem em memória um índice dos seus atendimentos ordenado pelo horário de início. Como todos os
+ * atendimentos duram {@code app.agenda.duracao-minutos} minutos, um horário está ocupado se existe um atendimento
+ * que começa menos de uma duração antes ou depois dele, o que é verificado com uma busca de intervalo no índice, em
+ * O(log n), sem consultar o banco de dados.</p>
+ *
+ * <p>As agendas são protegidas por {@code app.agenda.listras} travas (lock striping): cada psicólogo é associado a
+ * uma trava pelo seu ID, de modo que agendamentos de psicólogos diferentes raramente disputam a mesma trava. As
+ * consultas não usam as travas.</p>
+ *
+ * <p>O índice é carregado do banco de dados na inicialização, antes da execução dos loaders, e mantido pelo
+ * {@link AtendimentoService}, pelo {@link PsicologoService} e pelo {@link PacienteService} a cada inclusão e exclusão.
+ * Dentro de uma transação, uma reserva é desfeita se a transação for desfeita e uma liberação só é aplicada após o
+ * commit.</p>
+ *
+ * <p>Cada alteração em uma agenda publica, ainda sob a trava do psicólogo, um evento {@link AlteracaoAgenda}, usado
+ * pelo {@link DisponibilidadeService} para manter o índice de horários livres.</p>
+ */
+@Service
+public class AgendaService {
+
+    @Autowired
+    private AtendimentoRepository atendimentoRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Value("${app.agenda.duracao-minutos:50}")
+    private int duracaoMinutos;
+
+    @Value("${app.agenda.listras:64}")
+    private int qtdeListras;
+
+    /**
+     * Duração de um atendimento.
+     */
+    private Duration duracao;
+
+    /**
+     * Travas que serializam as alterações nas agendas. O psicólogo de ID {@code id} usa a trava
+     * {@code id mod listras}.
+     */
+    private ReentrantLock[] listras;
+
+    /**
+     * Agenda de cada psicólogo: o horário de início de cada atendimento e o ID do atendimento.
+     */
+    private final Map<Integer, NavigableMap<LocalDateTime, Integer>> agendas = new ConcurrentHashMap<>();
+
+    /**
+     * Reserva de cada atendimento, usada para liberar o horário a partir do ID do atendimento.
+     */
+    private final Map<Integer, Reserva> reservas = new ConcurrentHashMap<>();
+
+    /**
+     * Cria as travas com as configurações da aplicação.
+     */
+    @PostConstruct
+    void iniciar() {
+        duracao = Duration.ofMinutes(duracaoMinutos);
+        listras = new ReentrantLock[qtdeListras];
+        for (int i = 0; i < qtdeListras; i++) {
+            listras[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Recarrega as agendas de todos os psicólogos a partir dos atendimentos gravados.
+     *
+     * <p>Atendimentos sem data e hora são ignorados. Se o banco de dados já tiver atendimentos sobrepostos de um mesmo
+     * psicólogo, apenas o primeiro é indexado e a quantidade de conflitos é exibida. A carga não publica eventos
+     * {@link AlteracaoAgenda}.</p>
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(1)
+    public void recarregar() {
+        agendas.clear();
+        reservas.clear();
+
+        int conflitos = 0;
+        for (Object[] horario : atendimentoRepository.findHorarios()) {
+            Reserva reserva = new Reserva((Integer) horario[1], (LocalDateTime) horario[2]);
+            if (obterConflito(reserva.idPsicologo, reserva.inicio, null) == null) {
+                indexar((Integer) horario[0], reserva);
+            } else {
+                conflitos++;
+            }
+        }
+
+        if (conflitos > 0) {
+            System.err.println("[AGENDA] " + conflitos + " atendimentos em horários já ocupados");
+        }
+    }
+
+    /**
+     * Obtém a duração de um atendimento.
+     *
+     * @return a duração de um atendimento
+     */
+    public Duration getDuracao() {
+        return duracao;
+    }
+
+    /**
+     * Obtém os horários de início dos atendimentos de um psicólogo.
+     *
+     * @param idPsicologo o ID do psicólogo
+     * @return uma visão somente leitura dos horários, em ordem crescente
+     */
+    public NavigableSet<LocalDateTime> obterHorarios(Integer idPsicologo) {
+        NavigableMap<LocalDateTime, Integer> agenda = agendas.get(idPsicologo);
+        return agenda == null ? Collections.emptyNavigableSet()
+                : Collections.unmodifiableNavigableSet(agenda.navigableKeySet());
+    }
+
+    /**
+     * Verifica se o horário de um psicólogo está ocupado.
+     *
+     * @param idPsicologo o ID do psicólogo
+     * @param inicio o horário de início do atendimento pretendido
+     * @return {@code true} se o psicólogo tem algum atendimento que se sobrepõe ao horário
+     */
+    public boolean isOcupado(Integer idPsicologo, LocalDateTime inicio) {
+        return obterConflito(idPsicologo, inicio, null) != null;
+    }
+
+    /**
+     * Obtém o primeiro horário livre de um psicólogo a partir de um instante.
+     *
+     * <p>Cada atendimento que ocupa o horário candidato faz a busca avançar para o fim desse atendimento, de modo que a
+     * busca custa O(k log n) para k atendimentos consecutivos.</p>
+     *
+     * @param idPsicologo o ID do psicólogo
+     * @param aPartirDe o instante a partir do qual o horário é procurado
+     * @return o primeiro horário livre, igual ou posterior a {@code aPartirDe}
+     */
+    public LocalDateTime obterProximoHorarioLivre(Integer idPsicologo, LocalDateTime aPartirDe) {
+        LocalDateTime candidato = aPartirDe;
+        Map.Entry<LocalDateTime, Integer> conflito;
+
+        while ((conflito = obterConflito(idPsicologo, candidato, null)) != null) {
+            candidato = conflito.getKey().plus(duracao);
+        }
+
+        return candidato;
+    }
+
+    /**
+     * Executa uma operação sob a trava de um psicólogo, de forma serializada com as alterações da agenda dele.
+     *
+     * @param idPsicologo o ID do psicólogo
+     * @param operacao a operação a ser executada
+     */
+    public void sincronizar(Integer idPsicologo, Runnable operacao) {
+        ReentrantLock trava = obterTrava(idPsicologo);
+        trava.lock();
+        try {
+            operacao.run();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Agenda um atendimento: verifica o horário e, se estiver livre, grava o atendimento e reserva o horário, tudo sob
+     * a trava do psicólogo.
+     *
+     * <p>Atendimentos sem psicólogo ou sem data e hora são gravados sem verificação. Ao alterar um atendimento já
+     * agendado, o horário anterior é liberado.</p>
+     *
+     * @param atendimento o atendimento a ser agendado
+     * @param gravacao a gravação do atendimento, que deve preencher o ID de um atendimento novo
+     * @return {@code true} se o atendimento foi gravado, ou {@code false} se o horário está ocupado
+     */
+    public boolean agendar(Atendimento atendimento, Runnable gravacao) {
+        Integer idPsicologo = atendimento.getPsicologo() == null ? null : atendimento.getPsicologo().getId();
+        LocalDateTime inicio = atendimento.getDataHora();
+
+        if (idPsicologo == null || inicio == null) {
+            gravacao.run();
+            return true;
+        }
+
+        Reserva reserva = new Reserva(idPsicologo, inicio);
+        Reserva anterior;
+        ReentrantLock trava = obterTrava(idPsicologo);
+        trava.lock();
+        try {
+            if (obterConflito(idPsicologo, inicio, atendimento.getId()) != null) {
+                return false;
+            }
+
+            gravacao.run();
+
+            anterior = indexar(atendimento.getId(), reserva);
+            publicar(reserva);
+            desfazerSeReverter(atendimento.getId(), reserva, anterior);
+        } finally {
+            trava.unlock();
+        }
+
+        // O horário anterior é liberado fora da trava, pois pode pertencer a outro psicólogo e outra trava
+        if (anterior != null && !anterior.equals(reserva)) {
+            liberar(atendimento.getId(), anterior);
+        }
+        return true;
+    }
+
+    /**
+     * Libera os horários de atendimentos excluídos. Se houver uma transação em andamento, a liberação é aplicada apenas
+     * após o commit.
+     *
+     * @param idsAtendimento os IDs dos atendimentos excluídos
+     */
+    public void liberar(Collection<Integer> idsAtendimento) {
+        if (idsAtendimento.isEmpty()) {
+            return;
+        }
+
+        AposCommit.executar(() -> idsAtendimento.forEach(this::liberar));
+    }
+
+    private void liberar(Integer idAtendimento) {
+        Reserva reserva = reservas.get(idAtendimento);
+        if (reserva != null) {
+            liberar(idAtendimento, reserva);
+        }
+    }
+
+    /**
+     * Remove a reserva de um atendimento sob a trava do psicólogo da reserva.
+     */
+    private void liberar(Integer idAtendimento, Reserva reserva) {
+        ReentrantLock trava = obterTrava(reserva.idPsicologo);
+        trava.lock();
+        try {
+            desindexar(idAtendimento, reserva);
+            publicar(reserva);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Procura um atendimento do psicólogo que se sobreponha a um atendimento iniciado em {@code inicio}, isto é, que
+     * comece no intervalo aberto {@code (inicio - duracao, inicio + duracao)}.
+     *
+     * @param ignorar o ID de um atendimento a ser desconsiderado, normalmente o próprio atendimento sendo alterado
+     * @return o horário e o ID do atendimento conflitante, ou {@code null} se o horário está livre
+     */
+    private Map.Entry<LocalDateTime, Integer> obterConflito(Integer idPsicologo, LocalDateTime inicio,
+            Integer ignorar) {
+        NavigableMap<LocalDateTime, Integer> agenda = agendas.get(idPsicologo);
+        if (agenda == null) {
+            return null;
+        }
+
+        for (Map.Entry<LocalDateTime, Integer> entrada : agenda
+                .subMap(inicio.minus(duracao), false, inicio.plus(duracao), false).entrySet()) {
+            if (!entrada.getValue().equals(ignorar)) {
+                return entrada;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Registra a reserva de um atendimento.
+     *
+     * @return a reserva anterior do atendimento, ou {@code null} se ele ainda não estava na agenda
+     */
+    private Reserva indexar(Integer idAtendimento, Reserva reserva) {
+        agendas.computeIfAbsent(reserva.idPsicologo, id -> new ConcurrentSkipListMap<>())
+                .put(reserva.inicio, idAtendimento);
+        return reservas.put(idAtendimento, reserva);
+    }
+
+    private void desindexar(Integer idAtendimento, Reserva reserva) {
+        NavigableMap<LocalDateTime, Integer> agenda = agendas.get(reserva.idPsicologo);
+        if (agenda != null) {
+            agenda.remove(reserva.inicio, idAtendimento);
+        }
+        reservas.remove(idAtendimento, reserva);
+    }
+
+    /**
+     * Desfaz a reserva, restaurando a anterior, caso a transação em andamento seja desfeita.
+     */
+    private void desfazerSeReverter(Integer idAtendimento, Reserva reserva, Reserva anterior) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+
+                liberar(idAtendimento, reserva);
+                if (anterior != null) {
+                    ReentrantLock trava = obterTrava(anterior.idPsicologo);
+                    trava.lock();
+                    try {
+                        indexar(idAtendimento, anterior);
+                        publicar(anterior);
+                    } finally {
+                        trava.unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    private void publicar(Reserva reserva) {
+        eventos.publishEvent(new AlteracaoAgenda(reserva.idPsicologo, reserva.inicio, reserva.inicio.plus(duracao)));
+    }
+
+    private ReentrantLock obterTrava(Integer idPsicologo) {
+        return listras[Math.floorMod(idPsicologo.hashCode(), listras.length)];
+    }
+
+    /**
+     * Horário reservado na agenda de um psicólogo.
+     */
+    private static final class Reserva {
+
+        private final Integer idPsicologo;
+        private final LocalDateTime inicio;
+
+        private Reserva(Integer idPsicologo, LocalDateTime inicio) {
+            this.idPsicologo = idPsicologo;
+            this.inicio = inicio;
+        }
+
+        @Override
+        public boolean equals(Object outro) {
+            if (!(outro instanceof Reserva)) {
+                return false;
+            }
+            Reserva reserva = (Reserva) outro;
+            return idPsicologo.equals(reserva.idPsicologo) && inicio.equals(reserva.inicio);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * idPsicologo.hashCode() + inicio.hashCode();
+        }
+    }
+}
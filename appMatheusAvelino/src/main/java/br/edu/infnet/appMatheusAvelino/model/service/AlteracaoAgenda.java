@@ -0,0 +1,56 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado pelo {@link AgendaService} quando um horário da agenda de um psicólogo é reservado ou liberado.
+ *
+ * <p>É publicado de forma síncrona, sob a trava do psicólogo, de modo que os eventos de um mesmo psicólogo são
+ * tratados um de cada vez e na ordem das alterações.</p>
+ */
+public class AlteracaoAgenda {
+
+    private final Integer idPsicologo;
+    private final LocalDateTime inicio;
+    private final LocalDateTime fim;
+
+    /**
+     * Cria o evento.
+     *
+     * @param idPsicologo o ID do psicólogo
+     * @param inicio o início do horário alterado
+     * @param fim o fim do horário alterado
+     */
+    public AlteracaoAgenda(Integer idPsicologo, LocalDateTime inicio, LocalDateTime fim) {
+        this.idPsicologo = idPsicologo;
+        this.inicio = inicio;
+        this.fim = fim;
+    }
+
+    /**
+     * Obtém o ID do psicólogo cuja agenda foi alterada.
+     *
+     * @return o ID do psicólogo
+     */
+    public Integer getIdPsicologo() {
+        return idPsicologo;
+    }
+
+    /**
+     * Obtém o início do horário reservado ou liberado.
+     *
+     * @return o início do horário
+     */
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    /**
+     * Obtém o fim do horário reservado ou liberado.
+     *
+     * @return o fim do horário, exclusive
+     */
+    public LocalDateTime getFim() {
+        return fim;
+    }
+}
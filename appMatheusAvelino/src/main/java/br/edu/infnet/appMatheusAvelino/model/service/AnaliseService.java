@@ -0,0 +1,565 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço responsável pelas consultas analíticas sobre os atendimentos: contagens agrupadas por psicólogo, paciente,
+ * tipo, status ou mês, com filtros opcionais.
+ *
+ * <p>As consultas não vão ao banco de dados. O serviço mantém em memória uma cópia colunar da tabela
+ * {@code TAtendimento}: um vetor de inteiros para o psicólogo e outro para o paciente, um vetor de {@code long} com a
+ * data e hora em segundos, um {@link BitSet} com os atendimentos efetuados e o tipo codificado por dicionário (cada
+ * tipo distinto vira um inteiro). Cada consulta percorre os vetores em paralelo, dividindo as linhas em faixas no
+ * {@link ForkJoinPool} comum e somando as contagens parciais de cada faixa.</p>
+ *
+ * <p>A cópia é imutável e substituída por inteiro a cada atualização, de modo que as consultas nunca veem uma cópia
+ * pela metade. Ela é:</p>
+ * <ul>
+ * <li>montada na inicialização com uma única leitura sequencial da tabela, em blocos de
+ * {@code app.analise.tamanho-fetch} linhas;</li>
+ * <li>atualizada de forma incremental: os serviços informam, após o commit, os atendimentos incluídos, alterados e
+ * excluídos, e a atualização relê apenas esses atendimentos e os com ID acima do maior já copiado. A atualização é
+ * feita antes da próxima consulta e a cada {@code app.analise.intervalo-atualizacao} (ISO-8601), o que também traz
+ * os atendimentos incluídos fora dos serviços.</li>
+ * </ul>
+ */
+@Service
+public class AnaliseService {
+
+    /**
+     * Dimensões pelas quais os atendimentos podem ser agrupados.
+     */
+    public enum Dimensao {
+        PSICOLOGO, PACIENTE, TIPO, STATUS, MES
+    }
+
+    private static final String CONSULTA = "select id, id_psicologo, id_paciente, data_hora, tipo_atendimento,"
+            + " status_atendimento from tatendimento";
+
+    /**
+     * Quantidade máxima de IDs relidos por consulta na atualização incremental.
+     */
+    private static final int TAMANHO_RELEITURA = 500;
+
+    /**
+     * Valor das colunas de psicólogo e paciente para atendimentos sem psicólogo ou sem paciente.
+     */
+    private static final int SEM_ID = 0;
+
+    /**
+     * Valor da coluna de data e hora para atendimentos sem data e hora.
+     */
+    private static final long SEM_DATA = Long.MIN_VALUE;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Quantidade de linhas trazidas do banco de dados a cada ida na leitura da tabela.
+     */
+    @Value("${app.analise.tamanho-fetch:1000}")
+    private int tamanhoFetch;
+
+    /**
+     * Quantidade de linhas abaixo da qual uma faixa é percorrida sem ser dividida.
+     */
+    @Value("${app.analise.limiar-divisao:16384}")
+    private int limiarDivisao;
+
+    /**
+     * Cópia colunar atual; substituída, nunca alterada.
+     */
+    private volatile Colunas colunas = Colunas.VAZIA;
+
+    /**
+     * IDs dos atendimentos incluídos, alterados ou excluídos desde a última atualização.
+     */
+    private final Set<Integer> pendentes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Monta a cópia colunar a partir de todos os atendimentos gravados.
+     *
+     * @return a quantidade de atendimentos copiados
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(5)
+    public synchronized int recriar() {
+        pendentes.clear();
+        Construtor construtor = new Construtor(Colunas.VAZIA.tipos);
+        ler(CONSULTA + " order by id", construtor);
+        colunas = construtor.montar();
+        return colunas.tamanho;
+    }
+
+    /**
+     * Aplica à cópia colunar os atendimentos pendentes e os incluídos com ID acima do maior já copiado.
+     */
+    @Scheduled(initialDelayString = "${app.analise.intervalo-atualizacao:PT1M}",
+            fixedDelayString = "${app.analise.intervalo-atualizacao:PT1M}")
+    public synchronized void atualizar() {
+        List<Integer> ids = new ArrayList<>(pendentes);
+        pendentes.removeAll(ids);
+        try {
+            Colunas atual = colunas;
+            Collections.sort(ids);
+
+            // Os pendentes acima do maior ID copiado vêm na leitura dos novos
+            int maiorId = atual.tamanho == 0 ? 0 : atual.ids[atual.tamanho - 1];
+            List<Integer> releitura = ids.stream().filter(id -> id <= maiorId).collect(Collectors.toList());
+
+            Construtor alterados = new Construtor(atual.tipos);
+            for (int i = 0; i < releitura.size(); i += TAMANHO_RELEITURA) {
+                List<Integer> bloco = releitura.subList(i, Math.min(i + TAMANHO_RELEITURA, releitura.size()));
+                String marcadores = String.join(",", Collections.nCopies(bloco.size(), "?"));
+                ler(CONSULTA + " where id in (" + marcadores + ") order by id", alterados, bloco.toArray());
+            }
+            ler(CONSULTA + " where id > ? order by id", alterados, maiorId);
+
+            if (alterados.tamanho == 0 && releitura.isEmpty()) {
+                return;
+            }
+            colunas = atual.mesclar(alterados, releitura);
+        } catch (Exception e) {
+            // Os pendentes voltam para a próxima atualização; a leitura dos novos não os alcança
+            pendentes.addAll(ids);
+            System.err.println("[ERROR] " + e.getMessage());
+        }
+    }
+
+    /**
+     * Marca atendimentos incluídos, alterados ou excluídos para a próxima atualização. Se houver uma transação em
+     * andamento, a marcação é feita apenas após o commit, para que a atualização leia os dados já gravados.
+     *
+     * @param ids os IDs dos atendimentos
+     */
+    public void invalidar(Collection<Integer> ids) {
+        AposCommit.executar(() -> pendentes.addAll(ids));
+    }
+
+    /**
+     * Conta os atendimentos que atendem ao filtro, agrupados pela dimensão informada.
+     *
+     * @param dimensao a dimensão de agrupamento
+     * @param filtro os filtros a aplicar; os não informados não restringem a consulta
+     * @return por grupo, em ordem crescente, o total de atendimentos, os efetuados e a taxa de efetuados
+     */
+    public Map<String, Map<String, Object>> agrupar(Dimensao dimensao, Filtro filtro) {
+        Colunas atual = obterColunas();
+        Map<Long, long[]> grupos = ForkJoinPool.commonPool()
+                .invoke(new Agrupamento(atual, dimensao, filtro.resolver(atual), 0, atual.tamanho, limiarDivisao));
+
+        Map<String, Map<String, Object>> resultado = new LinkedHashMap<>();
+        for (Map.Entry<Long, long[]> grupo : new TreeMap<>(grupos).entrySet()) {
+            long total = grupo.getValue()[0];
+            long efetuados = grupo.getValue()[1];
+            Map<String, Object> contagem = new LinkedHashMap<>();
+            contagem.put("total", total);
+            contagem.put("efetuados", efetuados);
+            contagem.put("taxaEfetuados", total == 0 ? 0.0 : (double) efetuados / total);
+            resultado.put(rotular(dimensao, grupo.getKey(), atual), contagem);
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtém a quantidade de atendimentos na cópia colunar.
+     *
+     * @return a quantidade de linhas copiadas
+     */
+    public int obterQtde() {
+        return obterColunas().tamanho;
+    }
+
+    /**
+     * Obtém a cópia colunar, aplicando antes os atendimentos pendentes, se houver.
+     */
+    private Colunas obterColunas() {
+        if (!pendentes.isEmpty()) {
+            atualizar();
+        }
+        return colunas;
+    }
+
+    private void ler(String sql, Construtor construtor, Object... parametros) {
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement comando = conexao.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            comando.setFetchSize(tamanhoFetch);
+            for (int i = 0; i < parametros.length; i++) {
+                comando.setObject(i + 1, parametros[i]);
+            }
+            return comando;
+        }, construtor::adicionar);
+    }
+
+    private static String rotular(Dimensao dimensao, long chave, Colunas colunas) {
+        switch (dimensao) {
+        case TIPO:
+            return colunas.tipos[(int) chave];
+        case STATUS:
+            return chave == 1 ? "efetuado" : "emAndamento";
+        case MES:
+            return chave == SEM_DATA ? "semData" : String.format("%04d-%02d", chave / 12, chave % 12 + 1);
+        default:
+            return chave == SEM_ID ? "nenhum" : String.valueOf(chave);
+        }
+    }
+
+    /**
+     * Filtros de uma consulta analítica. Os campos nulos não restringem a consulta.
+     */
+    public static final class Filtro {
+
+        private Integer idPsicologo;
+        private Integer idPaciente;
+        private String tipo;
+        private Boolean efetuado;
+        private LocalDateTime inicio;
+        private LocalDateTime fim;
+
+        public Filtro psicologo(Integer idPsicologo) {
+            this.idPsicologo = idPsicologo;
+            return this;
+        }
+
+        public Filtro paciente(Integer idPaciente) {
+            this.idPaciente = idPaciente;
+            return this;
+        }
+
+        public Filtro tipo(String tipo) {
+            this.tipo = tipo;
+            return this;
+        }
+
+        public Filtro efetuado(Boolean efetuado) {
+            this.efetuado = efetuado;
+            return this;
+        }
+
+        /**
+         * Restringe aos atendimentos com data e hora no período {@code [inicio, fim)}.
+         */
+        public Filtro periodo(LocalDateTime inicio, LocalDateTime fim) {
+            this.inicio = inicio;
+            this.fim = fim;
+            return this;
+        }
+
+        /**
+         * Traduz o filtro para os valores das colunas: o tipo para o seu código no dicionário e o período para
+         * segundos.
+         */
+        private Predicado resolver(Colunas colunas) {
+            int codigoTipo = -1;
+            if (tipo != null) {
+                codigoTipo = Arrays.asList(colunas.tipos).indexOf(tipo);
+                if (codigoTipo < 0) {
+                    return Predicado.NENHUM;
+                }
+            }
+            return new Predicado(idPsicologo, idPaciente, codigoTipo, efetuado,
+                    inicio == null ? SEM_DATA + 1 : segundos(inicio), fim == null ? Long.MAX_VALUE : segundos(fim),
+                    inicio != null || fim != null);
+        }
+    }
+
+    /**
+     * Filtro já traduzido para os valores das colunas, avaliado linha a linha sem alocação.
+     */
+    private static final class Predicado {
+
+        private static final Predicado NENHUM = new Predicado(null, null, -1, null, 0, 0, true);
+
+        private final boolean porPsicologo;
+        private final int idPsicologo;
+        private final boolean porPaciente;
+        private final int idPaciente;
+        private final int codigoTipo;
+        private final int efetuado;
+        private final long inicio;
+        private final long fim;
+        private final boolean porPeriodo;
+
+        private Predicado(Integer idPsicologo, Integer idPaciente, int codigoTipo, Boolean efetuado, long inicio,
+                long fim, boolean porPeriodo) {
+            this.porPsicologo = idPsicologo != null;
+            this.idPsicologo = porPsicologo ? idPsicologo : SEM_ID;
+            this.porPaciente = idPaciente != null;
+            this.idPaciente = porPaciente ? idPaciente : SEM_ID;
+            this.codigoTipo = codigoTipo;
+            this.efetuado = efetuado == null ? -1 : efetuado ? 1 : 0;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.porPeriodo = porPeriodo;
+        }
+
+        private boolean aceita(Colunas colunas, int linha) {
+            if (porPsicologo && colunas.psicologos[linha] != idPsicologo) {
+                return false;
+            }
+            if (porPaciente && colunas.pacientes[linha] != idPaciente) {
+                return false;
+            }
+            if (codigoTipo >= 0 && colunas.codigosTipo[linha] != codigoTipo) {
+                return false;
+            }
+            if (efetuado >= 0 && colunas.efetuados.get(linha) != (efetuado == 1)) {
+                return false;
+            }
+            if (porPeriodo) {
+                long dataHora = colunas.datas[linha];
+                return dataHora != SEM_DATA && dataHora >= inicio && dataHora < fim;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Contagem de uma faixa de linhas da cópia colunar. Faixas maiores que o limiar são divididas ao meio e contadas
+     * em paralelo; cada grupo tem dois contadores: o índice 0 conta o total e o índice 1 os efetuados.
+     */
+    private static final class Agrupamento extends RecursiveTask<Map<Long, long[]>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Colunas colunas;
+        private final Dimensao dimensao;
+        private final transient Predicado predicado;
+        private final int inicio;
+        private final int fim;
+        private final int limiar;
+
+        private Agrupamento(Colunas colunas, Dimensao dimensao, Predicado predicado, int inicio, int fim, int limiar) {
+            this.colunas = colunas;
+            this.dimensao = dimensao;
+            this.predicado = predicado;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.limiar = limiar;
+        }
+
+        @Override
+        protected Map<Long, long[]> compute() {
+            if (fim - inicio > limiar) {
+                int meio = (inicio + fim) >>> 1;
+                Agrupamento esquerda = new Agrupamento(colunas, dimensao, predicado, inicio, meio, limiar);
+                esquerda.fork();
+                Map<Long, long[]> direita = new Agrupamento(colunas, dimensao, predicado, meio, fim, limiar).compute();
+                Map<Long, long[]> grupos = esquerda.join();
+                direita.forEach((chave, contagem) -> grupos.merge(chave, contagem, (a, b) -> {
+                    a[0] += b[0];
+                    a[1] += b[1];
+                    return a;
+                }));
+                return grupos;
+            }
+
+            Map<Long, long[]> grupos = new HashMap<>();
+            for (int linha = inicio; linha < fim; linha++) {
+                if (predicado.aceita(colunas, linha)) {
+                    long[] contagem = grupos.computeIfAbsent(chave(linha), c -> new long[2]);
+                    contagem[0]++;
+                    if (colunas.efetuados.get(linha)) {
+                        contagem[1]++;
+                    }
+                }
+            }
+            return grupos;
+        }
+
+        private long chave(int linha) {
+            switch (dimensao) {
+            case PSICOLOGO:
+                return colunas.psicologos[linha];
+            case PACIENTE:
+                return colunas.pacientes[linha];
+            case TIPO:
+                return colunas.codigosTipo[linha];
+            case STATUS:
+                return colunas.efetuados.get(linha) ? 1 : 0;
+            default:
+                long dataHora = colunas.datas[linha];
+                if (dataHora == SEM_DATA) {
+                    return SEM_DATA;
+                }
+                LocalDate dia = LocalDate.ofEpochDay(Math.floorDiv(dataHora, 86_400L));
+                return dia.getYear() * 12L + dia.getMonthValue() - 1;
+            }
+        }
+    }
+
+    private static long segundos(LocalDateTime dataHora) {
+        return dataHora.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Cópia colunar imutável dos atendimentos, com as linhas em ordem crescente de ID.
+     */
+    private static final class Colunas {
+
+        private static final Colunas VAZIA = new Construtor(new String[0]).montar();
+
+        private final int tamanho;
+        private final int[] ids;
+        private final int[] psicologos;
+        private final int[] pacientes;
+        private final long[] datas;
+        private final int[] codigosTipo;
+        private final BitSet efetuados;
+
+        /**
+         * Dicionário dos tipos de atendimento: o código de cada tipo é a sua posição.
+         */
+        private final String[] tipos;
+
+        private Colunas(Construtor construtor) {
+            this.tamanho = construtor.tamanho;
+            this.ids = Arrays.copyOf(construtor.ids, tamanho);
+            this.psicologos = Arrays.copyOf(construtor.psicologos, tamanho);
+            this.pacientes = Arrays.copyOf(construtor.pacientes, tamanho);
+            this.datas = Arrays.copyOf(construtor.datas, tamanho);
+            this.codigosTipo = Arrays.copyOf(construtor.codigosTipo, tamanho);
+            this.efetuados = (BitSet) construtor.efetuados.clone();
+            this.tipos = construtor.tipos.toArray(new String[0]);
+        }
+
+        /**
+         * Monta uma nova cópia com as linhas relidas no lugar das anteriores. As linhas relidas precisam estar em
+         * ordem de ID e usar um dicionário que estende o desta cópia; os IDs relidos que não voltaram do banco de
+         * dados foram excluídos.
+         */
+        private Colunas mesclar(Construtor alterados, Collection<Integer> relidos) {
+            Set<Integer> excluidos = new HashSet<>(relidos);
+            for (int j = 0; j < alterados.tamanho; j++) {
+                excluidos.remove(alterados.ids[j]);
+            }
+
+            Construtor saida = new Construtor(alterados.tipos.toArray(new String[0]));
+            int i = 0;
+            int j = 0;
+            while (i < tamanho || j < alterados.tamanho) {
+                if (j == alterados.tamanho || i < tamanho && ids[i] < alterados.ids[j]) {
+                    if (!excluidos.contains(ids[i])) {
+                        saida.copiar(this, i);
+                    }
+                    i++;
+                } else {
+                    if (i < tamanho && ids[i] == alterados.ids[j]) {
+                        i++;
+                    }
+                    saida.copiar(alterados, j);
+                    j++;
+                }
+            }
+            return saida.montar();
+        }
+    }
+
+    /**
+     * Acumula linhas em vetores que crescem conforme a necessidade, para montar uma {@link Colunas}.
+     */
+    private static final class Construtor {
+
+        private int tamanho;
+        private int[] ids = new int[64];
+        private int[] psicologos = new int[64];
+        private int[] pacientes = new int[64];
+        private long[] datas = new long[64];
+        private int[] codigosTipo = new int[64];
+        private final BitSet efetuados = new BitSet();
+        private final List<String> tipos;
+        private final Map<String, Integer> codigos = new HashMap<>();
+
+        private Construtor(String[] dicionario) {
+            this.tipos = new ArrayList<>(Arrays.asList(dicionario));
+            for (int i = 0; i < dicionario.length; i++) {
+                codigos.put(dicionario[i], i);
+            }
+        }
+
+        private void adicionar(ResultSet linha) throws SQLException {
+            int posicao = reservar();
+            ids[posicao] = linha.getInt(1);
+            psicologos[posicao] = linha.getInt(2);
+            pacientes[posicao] = linha.getInt(3);
+            Timestamp dataHora = linha.getTimestamp(4);
+            datas[posicao] = dataHora == null ? SEM_DATA : segundos(dataHora.toLocalDateTime());
+            String tipo = linha.getString(5);
+            codigosTipo[posicao] = codigos.computeIfAbsent(tipo == null ? "" : tipo, t -> {
+                tipos.add(t);
+                return tipos.size() - 1;
+            });
+            efetuados.set(posicao, linha.getBoolean(6));
+        }
+
+        /**
+         * Copia uma linha de outra cópia, cujo dicionário precisa ser um prefixo deste.
+         */
+        private void copiar(Colunas origem, int linha) {
+            int posicao = reservar();
+            ids[posicao] = origem.ids[linha];
+            psicologos[posicao] = origem.psicologos[linha];
+            pacientes[posicao] = origem.pacientes[linha];
+            datas[posicao] = origem.datas[linha];
+            codigosTipo[posicao] = origem.codigosTipo[linha];
+            efetuados.set(posicao, origem.efetuados.get(linha));
+        }
+
+        private void copiar(Construtor origem, int linha) {
+            int posicao = reservar();
+            ids[posicao] = origem.ids[linha];
+            psicologos[posicao] = origem.psicologos[linha];
+            pacientes[posicao] = origem.pacientes[linha];
+            datas[posicao] = origem.datas[linha];
+            codigosTipo[posicao] = origem.codigosTipo[linha];
+            efetuados.set(posicao, origem.efetuados.get(linha));
+        }
+
+        private int reservar() {
+            if (tamanho == ids.length) {
+                int capacidade = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacidade);
+                psicologos = Arrays.copyOf(psicologos, capacidade);
+                pacientes = Arrays.copyOf(pacientes, capacidade);
+                datas = Arrays.copyOf(datas, capacidade);
+                codigosTipo = Arrays.copyOf(codigosTipo, capacidade);
+            }
+            return tamanho++;
+        }
+
+        private Colunas montar() {
+            return new Colunas(this);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia as atualizações dos índices e contadores mantidos em memória pelos serviços até o commit da transação em
+ * andamento, de modo que uma transação desfeita não os altere.
+ */
+final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    /**
+     * Executa a operação após o commit da transação em andamento ou, se não houver transação, imediatamente.
+     *
+     * @param operacao a operação a ser executada
+     */
+    static void executar(Runnable operacao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    operacao.run();
+                }
+            });
+        } else {
+            operacao.run();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+/**
+ * Exceção lançada quando um atendimento não pode ser agendado porque os seus dados são inválidos: o psicólogo ou a
+ * data não foram informados, ou o banco de dados rejeitou o atendimento.
+ */
+public class AtendimentoInvalidoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Cria a exceção com a mensagem informada.
+     *
+     * @param mensagem o motivo da rejeição
+     */
+    public AtendimentoInvalidoException(String mensagem) {
+        super(mensagem);
+    }
+
+    /**
+     * Cria a exceção com a mensagem e a causa informadas.
+     *
+     * @param mensagem o motivo da rejeição
+     * @param causa a exceção do banco de dados que revelou o problema
+     */
+    public AtendimentoInvalidoException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
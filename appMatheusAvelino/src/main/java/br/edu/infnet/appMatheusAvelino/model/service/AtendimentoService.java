@@ -1,13 +1,48 @@
 package br.edu.infnet.appMatheusAvelino.model.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
+import br.edu.infnet.appMatheusAvelino.model.dto.Pagina;
 import br.edu.infnet.appMatheusAvelino.model.repository.AtendimentoRepository;
+import br.edu.infnet.appMatheusAvelino.model.service.PainelService.Contador;
+import br.edu.infnet.appMatheusAvelino.model.service.VersaoService.Tabela;
 
 /**
  * Serviço responsável pela gestão dos atendimentos no sistema.
@@ -29,19 +64,208 @@ public class AtendimentoService {
     @Autowired
     private AtendimentoRepository atendimentoRepository;
 
+    /**
+     * Serviço do painel, atualizado a cada inclusão e exclusão.
+     */
+    @Autowired
+    private PainelService painelService;
+
+    /**
+     * Serviço da agenda, que impede atendimentos sobrepostos de um mesmo psicólogo.
+     */
+    @Autowired
+    private AgendaService agendaService;
+
+    /**
+     * Serviço dos relatórios, cujos contadores são atualizados a cada inclusão, alteração e exclusão.
+     */
+    @Autowired
+    private RelatorioService relatorioService;
+
+    /**
+     * Serviço das consultas analíticas, cuja cópia dos atendimentos é atualizada a cada inclusão, alteração e exclusão.
+     */
+    @Autowired
+    private AnaliseService analiseService;
+
+    /**
+     * Serviço das versões das tabelas, usadas nos ETags das respostas.
+     */
+    @Autowired
+    private VersaoService versaoService;
+
+    @Value("${app.agenda.idempotencia.tamanho-maximo:10000}")
+    private int tamanhoMaximoIdempotencia;
+
+    @Value("${app.agenda.idempotencia.ttl:24h}")
+    private Duration ttlIdempotencia;
+
+    /**
+     * Atendimentos agendados por chave de idempotência.
+     */
+    private CacheIdempotencia<Atendimento> idempotencia;
+
+    /**
+     * Cria o registro de chaves de idempotência com as configurações da aplicação.
+     */
+    @PostConstruct
+    void iniciar() {
+        idempotencia = new CacheIdempotencia<>(tamanhoMaximoIdempotencia, ttlIdempotencia);
+    }
+
+    /**
+     * Gerenciador de transações usado para abrir a transação somente leitura da exportação.
+     */
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Contexto de persistência limpo periodicamente durante a exportação.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Serializador JSON da aplicação, o mesmo usado pelos endpoints REST.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Inclui um novo atendimento no banco de dados.
+     * 
+     * <p>O atendimento só é gravado se o horário estiver livre na agenda do psicólogo (veja {@link AgendaService}).</p>
      *
      * @param atendimento O atendimento a ser incluído. Não deve ser nulo.
      */
     public void incluir(Atendimento atendimento) {
         try {
-            atendimentoRepository.save(atendimento);
+            boolean novo = atendimento.getId() == null;
+            if (!agendaService.agendar(atendimento, () -> atendimentoRepository.save(atendimento))) {
+                System.err.println("[ERROR] Horário indisponível: " + atendimento.getAtendimentoDate());
+                return;
+            }
+            relatorioService.registrar(atendimento);
+            analiseService.invalidar(List.of(atendimento.getId()));
+            versaoService.registrarAlteracao(Tabela.ATENDIMENTO);
+            if (novo) {
+                painelService.somar(Contador.ATENDIMENTO, 1);
+            }
         } catch (Exception e) {
             System.err.println("[Error] " + e.getMessage());
         }
     }
 
+    /**
+     * Agenda um novo atendimento, ou altera um atendimento existente, informando o motivo caso não seja possível.
+     * 
+     * <p>Ao contrário de {@link #incluir(Atendimento)}, os erros não são ignorados. O horário é verificado e reservado
+     * na agenda do psicólogo sob a trava dele (veja {@link AgendaService}); a restrição única de psicólogo e horário e
+     * a versão do atendimento garantem a consistência também no banco de dados.</p>
+     * 
+     * <p>Se uma chave de idempotência for informada, as repetições da requisição com a mesma chave, por exemplo após
+     * uma falha de rede, recebem o atendimento agendado pela primeira, sem agendá-lo novamente. A chave só pode ser
+     * repetida com o mesmo atendimento: o mesmo ID, psicólogo, paciente, data e tipo.</p>
+     *
+     * @param atendimento O atendimento a ser agendado, com o psicólogo e a data. Não deve ser nulo.
+     * @param chaveIdempotencia A chave de idempotência informada pelo cliente, ou null.
+     * @return O atendimento agendado.
+     * @throws AtendimentoInvalidoException se o psicólogo ou a data não forem informados, ou a data estiver em um
+     *         formato inválido.
+     * @throws ConflitoAgendaException se o horário estiver ocupado ou o atendimento tiver sido alterado por outra
+     *         requisição.
+     * @throws ChaveIdempotenciaReutilizadaException se a chave já tiver sido usada com outro atendimento.
+     */
+    public Atendimento agendar(Atendimento atendimento, String chaveIdempotencia) {
+        if (chaveIdempotencia == null || chaveIdempotencia.isBlank()) {
+            return agendar(atendimento);
+        }
+        return idempotencia.executar(chaveIdempotencia, impressao(atendimento), () -> agendar(atendimento));
+    }
+
+    /**
+     * Dados que identificam a requisição de agendamento, para que uma chave de idempotência não seja reaproveitada com
+     * outro atendimento.
+     */
+    private static List<Object> impressao(Atendimento atendimento) {
+        return Arrays.asList(atendimento.getId(),
+                atendimento.getPsicologo() == null ? null : atendimento.getPsicologo().getId(),
+                atendimento.getPaciente() == null ? null : atendimento.getPaciente().getId(),
+                atendimento.getDataHora(), atendimento.getTipoAtendimento(), atendimento.getVersao());
+    }
+
+    private Atendimento agendar(Atendimento atendimento) {
+        if (atendimento.getPsicologo() == null || atendimento.getPsicologo().getId() == null) {
+            throw new AtendimentoInvalidoException("O psicólogo do atendimento deve ser informado.");
+        }
+        if (atendimento.getDataHora() == null) {
+            throw new AtendimentoInvalidoException("A data do atendimento deve estar no formato dd/MM/yyyy - HH:mm.");
+        }
+
+        boolean novo = atendimento.getId() == null;
+        AtomicReference<Atendimento> gravado = new AtomicReference<>();
+        try {
+            if (!agendaService.agendar(atendimento, () -> gravado.set(atendimentoRepository.save(atendimento)))) {
+                throw new ConflitoAgendaException("O psicólogo já tem um atendimento próximo a "
+                        + atendimento.getAtendimentoDate() + ".");
+            }
+        } catch (DataIntegrityViolationException e) {
+            if (violouRestricaoHorario(e)) {
+                throw new ConflitoAgendaException("O psicólogo já tem um atendimento em "
+                        + atendimento.getAtendimentoDate() + ".", e);
+            }
+            throw new AtendimentoInvalidoException("Atendimento inválido: " + e.getMostSpecificCause().getMessage(), e);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConflitoAgendaException("O atendimento foi alterado por outra requisição.", e);
+        }
+
+        relatorioService.registrar(gravado.get());
+        analiseService.invalidar(List.of(gravado.get().getId()));
+        versaoService.registrarAlteracao(Tabela.ATENDIMENTO);
+        if (novo) {
+            painelService.somar(Contador.ATENDIMENTO, 1);
+        }
+        return gravado.get();
+    }
+
+    private static boolean violouRestricaoHorario(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException
+                && Atendimento.RESTRICAO_HORARIO.equalsIgnoreCase(
+                        ((ConstraintViolationException) e.getCause()).getConstraintName());
+    }
+
+    /**
+     * Inclui um lote de atendimentos na base de dados.
+     * 
+     * <p>Usado pela importação em lote. Deve ser chamado dentro de uma transação aberta pelo chamador, permitindo
+     * que os INSERTs sejam agrupados em lotes JDBC. Ao contrário de {@link #incluir(Atendimento)}, os erros são propagados
+     * para que a transação do lote seja desfeita. Os atendimentos em horários já ocupados na agenda do psicólogo não
+     * são gravados.</p>
+     * 
+     * @param atendimentos Os atendimentos a serem incluídos. Não deve ser nulo.
+     */
+    public void incluirLote(Iterable<Atendimento> atendimentos) {
+        long novos = 0;
+        List<Integer> gravados = new ArrayList<>();
+        for (Atendimento atendimento : atendimentos) {
+            boolean novo = atendimento.getId() == null;
+            if (!agendaService.agendar(atendimento, () -> atendimentoRepository.save(atendimento))) {
+                System.err.println("[ERROR] Horário indisponível: " + atendimento.getAtendimentoDate());
+                continue;
+            }
+
+            relatorioService.registrar(atendimento);
+            gravados.add(atendimento.getId());
+            if (novo) {
+                novos++;
+            }
+        }
+
+        painelService.somar(Contador.ATENDIMENTO, novos);
+        analiseService.invalidar(gravados);
+        versaoService.registrarAlteracao(Tabela.ATENDIMENTO);
+    }
+
     /**
      * Obtém todos os atendimentos registrados no banco de dados.
      *
@@ -61,6 +285,72 @@ public class AtendimentoService {
         return atendimentoRepository.findAll(Sort.by(Sort.Direction.DESC, orderBy));
     }
 
+    /**
+     * Obtém uma página de atendimentos pelo cursor.
+     * 
+     * <p>A página é ordenada pelo ID e começa após o atendimento informado no cursor, sem percorrer os registros
+     * anteriores.</p>
+     * 
+     * @param cursor O ID do último atendimento da página anterior, ou null para a primeira página.
+     * @param tamanho A quantidade de atendimentos da página, limitada a {@link Pagina#TAMANHO_MAXIMO}.
+     * @return A {@link Pagina} com os atendimentos e o cursor da próxima página.
+     */
+    public Pagina<Atendimento> obterPagina(Integer cursor, int tamanho) {
+        return Pagina.de(atendimentoRepository.findByIdGreaterThan(cursor == null ? 0 : cursor, Pagina.porId(tamanho)),
+                Atendimento::getId);
+    }
+
+    /**
+     * Obtém uma página numerada de atendimentos, ordenada pelo campo especificado.
+     * 
+     * @param orderBy O nome do campo pelo qual os atendimentos devem ser ordenados.
+     * @param pagina O número da página, começando em zero.
+     * @param tamanho A quantidade de atendimentos da página, limitada a {@link Pagina#TAMANHO_MAXIMO}.
+     * @return Os atendimentos da página, sem a contagem do total de registros.
+     */
+    public Slice<Atendimento> obterLista(String orderBy, int pagina, int tamanho) {
+        return atendimentoRepository.findAllBy(Pagina.numerada(pagina, tamanho, Sort.by(Sort.Direction.DESC, orderBy)));
+    }
+
+    /**
+     * Exporta todos os atendimentos em NDJSON (um objeto JSON por linha), na ordem do ID.
+     * 
+     * <p>Os atendimentos são lidos em fluxo com {@link AtendimentoRepository#streamAllByOrderById()} e escritos
+     * diretamente na saída, um a um, em uma transação somente leitura. A cada
+     * {@link AtendimentoRepository#TAMANHO_FETCH} registros o contexto de persistência é limpo, desanexando os
+     * atendimentos já escritos, de modo que o uso de memória não depende da quantidade de atendimentos.</p>
+     * 
+     * @param saida O fluxo de saída, normalmente o corpo da resposta HTTP. Não é fechado por este método.
+     * @throws IOException caso ocorra algum erro ao escrever na saída.
+     */
+    public void exportar(OutputStream saida) throws IOException {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+
+        try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            transacao.executeWithoutResult(status -> {
+                try (Stream<Atendimento> atendimentos = atendimentoRepository.streamAllByOrderById()) {
+                    int qtde = 0;
+                    for (Atendimento atendimento : (Iterable<Atendimento>) atendimentos::iterator) {
+                        objectMapper.writeValue(gerador, atendimento);
+                        gerador.writeRaw('\n');
+
+                        if (++qtde % AtendimentoRepository.TAMANHO_FETCH == 0) {
+                            gerador.flush();
+                            entityManager.clear();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     /**
      * Obtém um atendimento específico com base no ID fornecido.
      *
@@ -78,6 +368,11 @@ public class AtendimentoService {
      */
     public void excluir(Integer id) {
         atendimentoRepository.deleteById(id);
+        painelService.somar(Contador.ATENDIMENTO, -1);
+        agendaService.liberar(List.of(id));
+        relatorioService.remover(List.of(id));
+        analiseService.invalidar(List.of(id));
+        versaoService.registrarAlteracao(Tabela.ATENDIMENTO);
     }
 
     /**
@@ -98,4 +393,84 @@ public class AtendimentoService {
     public Collection<Atendimento> obterPorStatusAtendimento(boolean statusAtendimento) {
         return atendimentoRepository.findBystatusAtendimento(statusAtendimento);
     }
+
+    /**
+     * Obtém os atendimentos de um psicólogo em um período, ordenados pela data e hora.
+     * 
+     * @param idPsicologo O ID do psicólogo.
+     * @param inicio O início do período, inclusive.
+     * @param fim O fim do período, exclusive.
+     * @return Os atendimentos do psicólogo no período.
+     */
+    public List<Atendimento> obterAgenda(Integer idPsicologo, LocalDateTime inicio, LocalDateTime fim) {
+        return atendimentoRepository.findAgenda(idPsicologo, inicio, fim);
+    }
+
+    /**
+     * Obtém a agenda semanal de um psicólogo: os atendimentos de segunda-feira a domingo da semana que contém a data
+     * informada.
+     * 
+     * @param idPsicologo O ID do psicólogo.
+     * @param data Um dia qualquer da semana desejada.
+     * @return Os atendimentos do psicólogo na semana, ordenados pela data e hora.
+     */
+    public List<Atendimento> obterAgendaSemanal(Integer idPsicologo, LocalDate data) {
+        LocalDateTime inicio = data.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+        return obterAgenda(idPsicologo, inicio, inicio.plusWeeks(1));
+    }
+
+    /**
+     * Obtém os atendimentos de todos os psicólogos em um período, ordenados pela data e hora.
+     * 
+     * @param inicio O início do período, inclusive.
+     * @param fim O fim do período, exclusive.
+     * @return Os atendimentos do período.
+     */
+    public List<Atendimento> obterPorPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        return atendimentoRepository.findByDataHoraGreaterThanEqualAndDataHoraLessThanOrderByDataHora(inicio, fim);
+    }
+
+    /**
+     * Preenche a data e a hora dos atendimentos gravados apenas com a data em texto.
+     * 
+     * <p>Os atendimentos sem data e hora são percorridos pelo ID em lotes de
+     * {@link AtendimentoRepository#TAMANHO_FETCH}, cada lote em uma transação. Atendimentos com a data em um formato
+     * inválido permanecem sem data e hora e são ignorados nos lotes seguintes.</p>
+     * 
+     * <p>A migração é executada na inicialização, antes da carga da {@link AgendaService agenda} e dos loaders, e não
+     * faz nada quando todos os atendimentos já têm a data e a hora preenchidas.</p>
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(0)
+    public void migrarDataHora() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        Pageable lote = PageRequest.of(0, AtendimentoRepository.TAMANHO_FETCH, Sort.by("id"));
+        long migrados = 0;
+        long invalidos = 0;
+        int cursor = 0;
+        Slice<Atendimento> atendimentos;
+
+        do {
+            int ultimo = cursor;
+            atendimentos = transacao.execute(status -> {
+                Slice<Atendimento> encontrados = atendimentoRepository.findByDataHoraIsNullAndIdGreaterThan(ultimo, lote);
+                encontrados.forEach(a -> a.setAtendimentoDate(a.getAtendimentoDate()));
+                return encontrados;
+            });
+
+            for (Atendimento atendimento : atendimentos) {
+                if (atendimento.getDataHora() == null) {
+                    invalidos++;
+                } else {
+                    migrados++;
+                }
+                cursor = atendimento.getId();
+            }
+        } while (atendimentos.hasNext());
+
+        if (migrados + invalidos > 0) {
+            System.out.println("[MIGRACAO] Data e hora preenchidas em " + migrados + " atendimentos, "
+                    + invalidos + " com data inválida");
+        }
+    }
 }
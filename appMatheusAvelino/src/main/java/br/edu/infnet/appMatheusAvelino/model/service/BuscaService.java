@@ -0,0 +1,319 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Endereco;
+import br.edu.infnet.appMatheusAvelino.model.domain.Paciente;
+import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
+import br.edu.infnet.appMatheusAvelino.model.domain.Usuario;
+import br.edu.infnet.appMatheusAvelino.model.dto.ResultadoBusca;
+import br.edu.infnet.appMatheusAvelino.model.repository.PacienteRepository;
+import br.edu.infnet.appMatheusAvelino.model.repository.PsicologoRepository;
+
+/**
+ * Serviço responsável pela busca textual de psicólogos e pacientes por nome, e-mail, CRP/CPF ou endereço.
+ *
+ * <p>O serviço mantém em memória um índice invertido: cada palavra dos campos indexados, sem acentos e em minúsculas,
+ * aponta para os usuários que a contêm e para os campos em que aparece. As palavras ficam em um mapa ordenado, de modo
+ * que as palavras iniciadas por um termo da busca formam um intervalo contíguo do mapa. Assim, "jo" encontra "João" e
+ * "Joana" sem percorrer os usuários.</p>
+ *
+ * <p>Todos os termos da busca precisam ser encontrados. Cada termo soma à pontuação do usuário o peso do campo em que
+ * foi encontrado (nome e documento valem mais que e-mail, que vale mais que endereço), dobrado quando o termo é uma
+ * palavra inteira, e apenas os {@code qtde} usuários de maior pontuação são mantidos durante a ordenação.</p>
+ *
+ * <p>O índice é carregado na inicialização e atualizado a cada inclusão, alteração ou exclusão de psicólogo ou
+ * paciente, após o commit da transação.</p>
+ */
+@Service
+public class BuscaService {
+
+    /**
+     * Quantidade máxima de resultados de uma busca.
+     */
+    public static final int QTDE_MAXIMA = 100;
+
+    /**
+     * Tamanho mínimo de um termo da busca; termos menores encontrariam boa parte do índice e são ignorados.
+     */
+    public static final int TAMANHO_MINIMO_TERMO = 2;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<ResultadoBusca> RELEVANCIA = Comparator
+            .comparingInt(ResultadoBusca::getPontuacao).reversed()
+            .thenComparing(ResultadoBusca::getNomeCompleto, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(ResultadoBusca::getId);
+
+    @Autowired
+    private PsicologoRepository psicologoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    /**
+     * Para cada palavra, os usuários que a contêm e, para cada usuário, os campos em que ela aparece (um bit por
+     * {@link Campo}).
+     */
+    private final ConcurrentSkipListMap<String, Map<Integer, Integer>> palavras = new ConcurrentSkipListMap<>();
+
+    /**
+     * Usuários indexados, pelo ID.
+     */
+    private final Map<Integer, Documento> documentos = new ConcurrentHashMap<>();
+
+    /**
+     * Campos indexados e o seu peso na pontuação.
+     */
+    private enum Campo {
+        NOME(4), DOCUMENTO(4), EMAIL(2), ENDERECO(1);
+
+        private final int peso;
+
+        Campo(int peso) {
+            this.peso = peso;
+        }
+    }
+
+    /**
+     * Recarrega o índice a partir dos psicólogos e pacientes gravados.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(3)
+    public synchronized void recarregar() {
+        palavras.clear();
+        documentos.clear();
+
+        for (Object[] campos : psicologoRepository.findCamposBusca()) {
+            indexar(new Documento("psicologo", campos));
+        }
+        for (Object[] campos : pacienteRepository.findCamposBusca()) {
+            indexar(new Documento("paciente", campos));
+        }
+    }
+
+    /**
+     * Inclui um psicólogo ou paciente no índice, ou o reindexa se já estiver indexado. Se houver uma transação em
+     * andamento, a inclusão é aplicada apenas após o commit.
+     *
+     * @param usuario o psicólogo ou paciente gravado
+     */
+    public void indexar(Usuario usuario) {
+        Documento documento = new Documento(usuario);
+        AposCommit.executar(() -> indexar(documento));
+    }
+
+    /**
+     * Remove um usuário do índice. Se houver uma transação em andamento, a remoção é aplicada apenas após o commit.
+     *
+     * @param id o ID do usuário excluído
+     */
+    public void remover(Integer id) {
+        AposCommit.executar(() -> removerDocumento(id));
+    }
+
+    /**
+     * Busca psicólogos e pacientes pelo início das palavras do nome, e-mail, CRP/CPF ou endereço, sem diferenciar
+     * acentos, maiúsculas e minúsculas.
+     *
+     * @param consulta os termos da busca, separados por espaços ou pontuação
+     * @param tipo "psicologo" ou "paciente" para restringir a busca, ou {@code null} para buscar ambos
+     * @param qtde a quantidade de resultados desejada, limitada a {@link #QTDE_MAXIMA}
+     * @return os usuários que contêm todos os termos, do mais para o menos relevante
+     */
+    public List<ResultadoBusca> buscar(String consulta, String tipo, int qtde) {
+        int limite = Math.max(1, Math.min(qtde, QTDE_MAXIMA));
+        Set<String> termos = new LinkedHashSet<>();
+        for (String termo : separar(consulta)) {
+            if (termo.length() >= TAMANHO_MINIMO_TERMO) {
+                termos.add(termo);
+            }
+        }
+        if (termos.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Integer> pontuacoes = null;
+        for (String termo : termos) {
+            pontuacoes = pontuar(termo, pontuacoes);
+            if (pontuacoes.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        // Mantém apenas os melhores resultados: o menos relevante fica no topo da fila e é descartado primeiro
+        PriorityQueue<ResultadoBusca> melhores = new PriorityQueue<>(limite + 1, RELEVANCIA.reversed());
+        for (Map.Entry<Integer, Integer> pontuacao : pontuacoes.entrySet()) {
+            Documento documento = documentos.get(pontuacao.getKey());
+            if (documento == null || (tipo != null && !documento.tipo.equalsIgnoreCase(tipo))) {
+                continue;
+            }
+
+            melhores.add(documento.resultado(pontuacao.getValue()));
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        }
+
+        List<ResultadoBusca> resultados = new ArrayList<>(melhores);
+        resultados.sort(RELEVANCIA);
+        return resultados;
+    }
+
+    /**
+     * Soma a pontuação de um termo aos usuários encontrados pelos termos anteriores ({@code null} para o primeiro
+     * termo), descartando os que não contêm o termo.
+     */
+    private Map<Integer, Integer> pontuar(String termo, Map<Integer, Integer> anteriores) {
+        Map<Integer, Integer> pontuacoes = new HashMap<>();
+
+        for (Map.Entry<String, Map<Integer, Integer>> palavra : palavras
+                .subMap(termo, true, termo + Character.MAX_VALUE, false).entrySet()) {
+            int multiplicador = palavra.getKey().length() == termo.length() ? 2 : 1;
+
+            for (Map.Entry<Integer, Integer> ocorrencia : palavra.getValue().entrySet()) {
+                Integer id = ocorrencia.getKey();
+                if (anteriores != null && !anteriores.containsKey(id)) {
+                    continue;
+                }
+                pontuacoes.merge(id, peso(ocorrencia.getValue()) * multiplicador, Math::max);
+            }
+        }
+
+        if (anteriores != null) {
+            pontuacoes.replaceAll((id, pontuacao) -> pontuacao + anteriores.get(id));
+        }
+        return pontuacoes;
+    }
+
+    /**
+     * Obtém o maior peso entre os campos em que uma palavra aparece.
+     */
+    private static int peso(int campos) {
+        int peso = 0;
+        for (Campo campo : Campo.values()) {
+            if ((campos & 1 << campo.ordinal()) != 0) {
+                peso = Math.max(peso, campo.peso);
+            }
+        }
+        return peso;
+    }
+
+    private synchronized void indexar(Documento documento) {
+        removerDocumento(documento.id);
+        documentos.put(documento.id, documento);
+        documento.paraCadaPalavra((palavra, campo) -> palavras
+                .computeIfAbsent(palavra, p -> new ConcurrentHashMap<>())
+                .merge(documento.id, 1 << campo.ordinal(), (a, b) -> a | b));
+    }
+
+    private synchronized void removerDocumento(Integer id) {
+        Documento documento = documentos.remove(id);
+        if (documento == null) {
+            return;
+        }
+
+        documento.paraCadaPalavra((palavra, campo) -> {
+            Map<Integer, Integer> ocorrencias = palavras.get(palavra);
+            if (ocorrencias != null && ocorrencias.remove(id) != null && ocorrencias.isEmpty()) {
+                palavras.remove(palavra);
+            }
+        });
+    }
+
+    /**
+     * Separa um texto em palavras sem acentos e em minúsculas.
+     */
+    static List<String> separar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> palavras = new ArrayList<>();
+        for (String palavra : SEPARADORES.split(normalizado)) {
+            if (!palavra.isEmpty()) {
+                palavras.add(palavra);
+            }
+        }
+        return palavras;
+    }
+
+    /**
+     * Campos de um usuário indexado, guardados para montar os resultados e para retirá-lo do índice.
+     */
+    private static final class Documento {
+
+        private final Integer id;
+        private final String tipo;
+        private final String nomeCompleto;
+        private final String email;
+        private final String documento;
+        /**
+         * CEP, logradouro, bairro, localidade e UF, ou vazio se o usuário não tem endereço.
+         */
+        private final String[] endereco;
+
+        /**
+         * Cria o documento a partir de uma linha de {@code findCamposBusca}.
+         */
+        private Documento(String tipo, Object[] campos) {
+            this.id = (Integer) campos[0];
+            this.tipo = tipo;
+            this.nomeCompleto = (String) campos[1];
+            this.email = (String) campos[2];
+            this.documento = (String) campos[3];
+            this.endereco = new String[] { (String) campos[4], (String) campos[5], (String) campos[6],
+                    (String) campos[7], (String) campos[8] };
+        }
+
+        private Documento(Usuario usuario) {
+            this.id = usuario.getId();
+            this.tipo = usuario instanceof Psicologo ? "psicologo" : "paciente";
+            this.nomeCompleto = usuario.getNomeCompleto();
+            this.email = usuario.getEmail();
+            this.documento = usuario instanceof Psicologo ? ((Psicologo) usuario).getCrp()
+                    : usuario instanceof Paciente ? ((Paciente) usuario).getCpf() : null;
+
+            Endereco e = usuario.getEndereco();
+            this.endereco = e == null ? new String[0]
+                    : new String[] { e.getCep(), e.getLogradouro(), e.getBairro(), e.getLocalidade(), e.getUf() };
+        }
+
+        private void paraCadaPalavra(BiConsumer<String, Campo> acao) {
+            separar(nomeCompleto).forEach(palavra -> acao.accept(palavra, Campo.NOME));
+            separar(documento).forEach(palavra -> acao.accept(palavra, Campo.DOCUMENTO));
+            separar(email).forEach(palavra -> acao.accept(palavra, Campo.EMAIL));
+            for (String campo : endereco) {
+                separar(campo).forEach(palavra -> acao.accept(palavra, Campo.ENDERECO));
+            }
+        }
+
+        private ResultadoBusca resultado(int pontuacao) {
+            boolean semEndereco = endereco.length == 0;
+            return new ResultadoBusca(id, tipo, nomeCompleto, email, documento, semEndereco ? null : endereco[3],
+                    semEndereco ? null : endereco[4], pontuacao);
+        }
+    }
+}
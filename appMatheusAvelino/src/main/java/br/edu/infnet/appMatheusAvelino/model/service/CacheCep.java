@@ -0,0 +1,177 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Endereco;
+
+/**
+ * Cache local das consultas de CEP, limitado em quantidade de entradas e com tempo de expiração.
+ *
+ * <p>As entradas são mantidas em ordem de acesso e, ao atingir o tamanho máximo, a entrada usada há mais tempo é
+ * descartada (LRU). CEPs desconhecidos também são guardados (cache negativo), com um tempo de expiração próprio,
+ * normalmente menor, para que um CEP inexistente não seja consultado novamente a cada linha da carga.</p>
+ *
+ * <p>Os endereços guardados nunca são entregues diretamente: quem consulta o cache recebe sempre uma cópia, pois cada
+ * usuário persiste o seu próprio endereço.</p>
+ */
+public final class CacheCep {
+
+    private final int tamanhoMaximo;
+    private final long ttlNanos;
+    private final long ttlNegativoNanos;
+    private final Map<String, Entrada> entradas;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder acertosNegativos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder despejos = new LongAdder();
+    private final LongAdder expiracoes = new LongAdder();
+
+    /**
+     * Cria um cache vazio.
+     *
+     * @param tamanhoMaximo a quantidade máxima de CEPs guardados
+     * @param ttl o tempo de vida de um endereço encontrado
+     * @param ttlNegativo o tempo de vida de um CEP desconhecido
+     */
+    public CacheCep(int tamanhoMaximo, Duration ttl, Duration ttlNegativo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = ttl.toNanos();
+        this.ttlNegativoNanos = ttlNegativo.toNanos();
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                if (size() > CacheCep.this.tamanhoMaximo) {
+                    despejos.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Normaliza o CEP para a chave do cache, mantendo apenas os dígitos ("01001-000" e "01001000" são o mesmo CEP).
+     *
+     * @param cep o CEP informado
+     * @return o CEP apenas com dígitos
+     */
+    public static String normalizar(String cep) {
+        StringBuilder digitos = new StringBuilder(8);
+        for (int i = 0; i < cep.length(); i++) {
+            char c = cep.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+
+    /**
+     * Consulta o cache.
+     *
+     * @param cep o CEP normalizado
+     * @return a entrada válida do CEP, ou {@code null} se o CEP não está no cache ou a entrada expirou
+     */
+    public synchronized Entrada obter(String cep) {
+        Entrada entrada = obterSemContar(cep);
+
+        if (entrada == null) {
+            faltas.increment();
+        } else if (entrada.endereco == null) {
+            acertosNegativos.increment();
+        } else {
+            acertos.increment();
+        }
+
+        return entrada;
+    }
+
+    /**
+     * Consulta o cache sem contar acerto ou falta, para confirmar uma falta já contada por {@link #obter(String)}.
+     *
+     * @param cep o CEP normalizado
+     * @return a entrada válida do CEP, ou {@code null} se o CEP não está no cache ou a entrada expirou
+     */
+    public synchronized Entrada obterSemContar(String cep) {
+        Entrada entrada = entradas.get(cep);
+
+        if (entrada != null && entrada.expiraEm - System.nanoTime() <= 0) {
+            entradas.remove(cep);
+            expiracoes.increment();
+            entrada = null;
+        }
+
+        return entrada;
+    }
+
+    /**
+     * Guarda o resultado de uma consulta.
+     *
+     * @param cep o CEP normalizado
+     * @param endereco o endereço encontrado, ou {@code null} para registrar o CEP como desconhecido
+     */
+    public synchronized void guardar(String cep, Endereco endereco) {
+        long ttl = endereco == null ? ttlNegativoNanos : ttlNanos;
+        Endereco copia = endereco == null ? null : new Endereco(endereco);
+        entradas.put(cep, new Entrada(copia, System.nanoTime() + ttl));
+    }
+
+    /**
+     * Remove todas as entradas do cache, mantendo as estatísticas.
+     */
+    public synchronized void limpar() {
+        entradas.clear();
+    }
+
+    /**
+     * Obtém as estatísticas de uso do cache.
+     *
+     * @return um mapa com tamanho, acertos, acertos negativos, faltas, despejos, expirações e taxa de acerto
+     */
+    public Map<String, Number> obterEstatisticas() {
+        long totalAcertos = acertos.sum() + acertosNegativos.sum();
+        long consultas = totalAcertos + faltas.sum();
+
+        Map<String, Number> estatisticas = new LinkedHashMap<>();
+        synchronized (this) {
+            estatisticas.put("tamanho", entradas.size());
+        }
+        estatisticas.put("tamanhoMaximo", tamanhoMaximo);
+        estatisticas.put("acertos", acertos.sum());
+        estatisticas.put("acertosNegativos", acertosNegativos.sum());
+        estatisticas.put("faltas", faltas.sum());
+        estatisticas.put("despejos", despejos.sum());
+        estatisticas.put("expiracoes", expiracoes.sum());
+        estatisticas.put("taxaAcerto", consultas == 0 ? 0.0 : (double) totalAcertos / consultas);
+        return estatisticas;
+    }
+
+    /**
+     * Entrada do cache: o endereço encontrado ({@code null} para CEP desconhecido) e o instante de expiração.
+     */
+    public static final class Entrada {
+
+        private final Endereco endereco;
+        private final long expiraEm;
+
+        private Entrada(Endereco endereco, long expiraEm) {
+            this.endereco = endereco;
+            this.expiraEm = expiraEm;
+        }
+
+        /**
+         * Obtém uma cópia do endereço guardado.
+         *
+         * @return uma cópia do endereço, ou {@code null} se o CEP é desconhecido
+         */
+        public Endereco copiarEndereco() {
+            return endereco == null ? null : new Endereco(endereco);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço responsável pelas estatísticas do cache de segundo nível do Hibernate.
+ *
+ * <p>As abordagens e os endereços ficam em cache por entidade e a listagem de abordagens fica no cache de consultas.
+ * A invalidação é feita pelo próprio Hibernate: as inclusões, alterações e exclusões atualizam as entradas das
+ * entidades e descartam as consultas que leram as tabelas alteradas.</p>
+ *
+ * <p>As estatísticas do Hibernate são habilitadas na inicialização quando {@code app.cache.estatisticas} é
+ * verdadeiro. O padrão é falso: com elas o Hibernate contabiliza cada comando executado, custo que só se justifica
+ * durante os testes ou uma investigação.</p>
+ */
+@Service
+public class CacheEntidadesService {
+
+    /**
+     * Regiões de entidades expostas nas estatísticas, conforme as anotações {@code @Cache} das entidades.
+     */
+    private static final String[] REGIOES = { "abordagem", "endereco" };
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.cache.estatisticas:false}")
+    private boolean estatisticasHabilitadas;
+
+    private Statistics estatisticas;
+
+    @PostConstruct
+    void iniciar() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (estatisticasHabilitadas) {
+            estatisticas.setStatisticsEnabled(true);
+        }
+    }
+
+    /**
+     * Obtém as estatísticas de cada região do cache de segundo nível.
+     *
+     * <p>Os acertos, faltas e gravações só são contados enquanto as estatísticas do Hibernate estão habilitadas. Com
+     * elas desabilitadas, o resultado informa isso em vez de exibir contadores zerados.</p>
+     *
+     * @return {@code estatisticasHabilitadas} e, por região, os acertos, faltas, gravações e taxa de acerto, além da
+     *         quantidade de entradas quando o provedor de cache a informa
+     */
+    public Map<String, Object> obterEstatisticas() {
+        Map<String, Object> regioes = new LinkedHashMap<>();
+        regioes.put("estatisticasHabilitadas", estatisticas.isStatisticsEnabled());
+        if (!estatisticas.isStatisticsEnabled()) {
+            regioes.put("mensagem", "As estatísticas do Hibernate estão desabilitadas; os acertos e faltas do cache "
+                    + "só são contados com app.cache.estatisticas=true");
+            return regioes;
+        }
+        for (String regiao : REGIOES) {
+            regioes.put(regiao, converter(estatisticas.getDomainDataRegionStatistics(regiao)));
+        }
+        regioes.put("consultas", converter(estatisticas.getQueryRegionStatistics(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)));
+        return regioes;
+    }
+
+    /**
+     * Descarta todas as entradas do cache de segundo nível, de entidades e de consultas.
+     */
+    public void limpar() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    private static Map<String, Number> converter(CacheRegionStatistics regiao) {
+        Map<String, Number> estatisticas = new LinkedHashMap<>();
+        // O JCache não informa a quantidade de entradas (-1); nesse caso ela é omitida em vez de exibida como zero
+        long tamanho = regiao == null ? 0 : regiao.getElementCountInMemory();
+        if (tamanho >= 0) {
+            estatisticas.put("tamanho", tamanho);
+        }
+        long acertos = regiao == null ? 0 : regiao.getHitCount();
+        long faltas = regiao == null ? 0 : regiao.getMissCount();
+        estatisticas.put("acertos", acertos);
+        estatisticas.put("faltas", faltas);
+        estatisticas.put("gravacoes", regiao == null ? 0 : regiao.getPutCount());
+        estatisticas.put("taxaAcerto", acertos + faltas == 0 ? 0.0 : (double) acertos / (acertos + faltas));
+        return estatisticas;
+    }
+}
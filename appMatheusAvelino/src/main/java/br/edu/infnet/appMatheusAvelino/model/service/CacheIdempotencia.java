@@ -0,0 +1,154 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Registro das operações já executadas para cada chave de idempotência ({@code Idempotency-Key}).
+ *
+ * <p>A primeira requisição com uma chave executa a operação. As repetições recebem o mesmo resultado sem executá-la
+ * novamente, inclusive as que chegam enquanto a primeira ainda está em andamento, que aguardam o seu término. Apenas os
+ * resultados de sucesso são guardados: se a operação falhar, a chave é descartada e a próxima requisição a executa de
+ * novo. Cada chave guarda também a impressão da requisição que a usou primeiro; uma requisição diferente com a mesma
+ * chave é rejeitada com {@link ChaveIdempotenciaReutilizadaException}.</p>
+ *
+ * <p>As chaves são mantidas em ordem de acesso, limitadas a um tamanho máximo (LRU) e expiram após um tempo de vida.
+ * As chaves cuja operação ainda está em andamento nunca são descartadas nem expiram: ao atingir o tamanho máximo, é
+ * descartada a concluída mais antiga.</p>
+ *
+ * @param <T> o tipo do resultado da operação
+ */
+public final class CacheIdempotencia<T> {
+
+    private final int tamanhoMaximo;
+    private final long ttlNanos;
+    private final Map<String, Entrada<T>> entradas;
+
+    private final LongAdder execucoes = new LongAdder();
+    private final LongAdder repeticoes = new LongAdder();
+
+    /**
+     * Cria um registro vazio.
+     *
+     * @param tamanhoMaximo a quantidade máxima de chaves guardadas
+     * @param ttl o tempo de vida de uma chave
+     */
+    public CacheIdempotencia(int tamanhoMaximo, Duration ttl) {
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = ttl.toNanos();
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada<T>> maisAntiga) {
+                if (size() > CacheIdempotencia.this.tamanhoMaximo) {
+                    descartarConcluidaMaisAntiga(this);
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Executa a operação uma única vez por chave.
+     *
+     * @param chave a chave de idempotência informada pelo cliente
+     * @param impressao os dados que identificam a requisição, comparados por {@code equals} com os da primeira
+     * @param operacao a operação a ser executada
+     * @return o resultado da operação, ou o resultado da primeira execução com a mesma chave
+     * @throws ChaveIdempotenciaReutilizadaException se a chave já foi usada por uma requisição com outra impressão
+     */
+    public T executar(String chave, Object impressao, Supplier<T> operacao) {
+        Entrada<T> entrada;
+        boolean primeira = false;
+
+        synchronized (this) {
+            entrada = entradas.get(chave);
+            if (entrada == null || entrada.resultado.isDone() && entrada.expiraEm - System.nanoTime() <= 0) {
+                entrada = new Entrada<>(impressao, System.nanoTime() + ttlNanos);
+                entradas.put(chave, entrada);
+                primeira = true;
+            } else if (!Objects.equals(entrada.impressao, impressao)) {
+                throw new ChaveIdempotenciaReutilizadaException(
+                        "A chave de idempotência " + chave + " já foi usada por outra requisição.");
+            }
+        }
+
+        if (!primeira) {
+            repeticoes.increment();
+            try {
+                return entrada.resultado.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        execucoes.increment();
+        try {
+            T resultado = operacao.get();
+            entrada.resultado.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                entradas.remove(chave, entrada);
+            }
+            entrada.resultado.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Obtém as estatísticas de uso do registro.
+     *
+     * @return um mapa com o tamanho, a quantidade de execuções e a quantidade de repetições atendidas pelo registro
+     */
+    public Map<String, Number> obterEstatisticas() {
+        Map<String, Number> estatisticas = new LinkedHashMap<>();
+        synchronized (this) {
+            estatisticas.put("tamanho", entradas.size());
+        }
+        estatisticas.put("tamanhoMaximo", tamanhoMaximo);
+        estatisticas.put("execucoes", execucoes.sum());
+        estatisticas.put("repeticoes", repeticoes.sum());
+        return estatisticas;
+    }
+
+    /**
+     * Descarta a entrada concluída acessada há mais tempo; as em andamento são mantidas mesmo além do tamanho máximo.
+     */
+    private static <T> void descartarConcluidaMaisAntiga(Map<String, Entrada<T>> entradas) {
+        Iterator<Entrada<T>> iterador = entradas.values().iterator();
+        while (iterador.hasNext()) {
+            if (iterador.next().resultado.isDone()) {
+                iterador.remove();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Entrada do registro: a impressão da requisição, o resultado, possivelmente ainda em andamento, e o instante de
+     * expiração.
+     */
+    private static final class Entrada<T> {
+
+        private final CompletableFuture<T> resultado = new CompletableFuture<>();
+        private final Object impressao;
+        private final long expiraEm;
+
+        private Entrada(Object impressao, long expiraEm) {
+            this.impressao = impressao;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+/**
+ * Exceção lançada quando uma chave de idempotência já usada é informada em uma requisição diferente da primeira.
+ */
+public class ChaveIdempotenciaReutilizadaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Cria a exceção com a mensagem informada.
+     *
+     * @param mensagem a descrição do uso indevido da chave
+     */
+    public ChaveIdempotenciaReutilizadaException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,29 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+/**
+ * Exceção lançada quando um atendimento não pode ser agendado porque o horário já está ocupado na agenda do psicólogo,
+ * ou porque o atendimento foi alterado por outra requisição depois de lido.
+ */
+public class ConflitoAgendaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Cria a exceção com a mensagem informada.
+     *
+     * @param mensagem a descrição do conflito
+     */
+    public ConflitoAgendaException(String mensagem) {
+        super(mensagem);
+    }
+
+    /**
+     * Cria a exceção com a mensagem e a causa informadas.
+     *
+     * @param mensagem a descrição do conflito
+     * @param causa a exceção do banco de dados que revelou o conflito
+     */
+    public ConflitoAgendaException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
@@ -0,0 +1,322 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
+import br.edu.infnet.appMatheusAvelino.model.dto.HorarioLivre;
+import br.edu.infnet.appMatheusAvelino.model.repository.PsicologoRepository;
+
+/**
+ * Serviço responsável pela busca de horários livres entre todos os psicólogos de uma abordagem.
+ *
+ * <p>O expediente de cada dia de atendimento ({@code app.agenda.dias}) vai de {@code app.agenda.abertura} a
+ * {@code app.agenda.encerramento} e é dividido em horários com a duração de um atendimento. O serviço mantém em
+ * memória dois índices:</p>
+ * <ul>
+ * <li>por psicólogo e dia, um mapa de bits dos horários ocupados;</li>
+ * <li>por abordagem e dia, a quantidade de psicólogos ocupados em cada horário.</li>
+ * </ul>
+ *
+ * <p>Dias sem nenhum atendimento não ocupam memória. A busca percorre os horários em ordem e descarta, pelo segundo
+ * índice, os horários em que todos os psicólogos da abordagem estão ocupados, consultando o mapa de bits de cada
+ * psicólogo apenas nos horários com alguma vaga.</p>
+ *
+ * <p>Os índices são carregados na inicialização, após a carga da {@link AgendaService agenda}, e atualizados a cada
+ * {@link AlteracaoAgenda} e a cada inclusão ou exclusão de psicólogo.</p>
+ */
+@Service
+public class DisponibilidadeService {
+
+    /**
+     * Quantidade máxima de horários retornados por uma busca.
+     */
+    public static final int QTDE_MAXIMA = 100;
+
+    @Autowired
+    private AgendaService agendaService;
+
+    @Autowired
+    private PsicologoRepository psicologoRepository;
+
+    @Value("${app.agenda.abertura:08:00}")
+    private String abertura;
+
+    @Value("${app.agenda.encerramento:18:00}")
+    private String encerramento;
+
+    @Value("${app.agenda.dias:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}")
+    private DayOfWeek[] dias;
+
+    /**
+     * Quantidade de dias, a partir do início da busca, em que horários livres são procurados.
+     */
+    @Value("${app.agenda.horizonte-dias:90}")
+    private int horizonteDias;
+
+    private LocalTime inicioExpediente;
+    private Duration duracao;
+    private int qtdeHorarios;
+    private Set<DayOfWeek> diasAtendimento;
+
+    /**
+     * Abordagem de cada psicólogo.
+     */
+    private final Map<Integer, Integer> abordagemPorPsicologo = new ConcurrentHashMap<>();
+
+    /**
+     * Psicólogos de cada abordagem, em ordem de ID.
+     */
+    private final Map<Integer, NavigableSet<Integer>> psicologosPorAbordagem = new ConcurrentHashMap<>();
+
+    /**
+     * Horários ocupados de cada psicólogo em cada dia: o bit {@code j} indica o {@code j}-ésimo horário do expediente.
+     */
+    private final Map<Long, Long> ocupacaoPorPsicologo = new ConcurrentHashMap<>();
+
+    /**
+     * Quantidade de psicólogos ocupados em cada horário, por abordagem e dia.
+     */
+    private final Map<Long, AtomicIntegerArray> ocupacaoPorAbordagem = new ConcurrentHashMap<>();
+
+    /**
+     * Calcula os horários do expediente com as configurações da aplicação.
+     */
+    @PostConstruct
+    void iniciar() {
+        inicioExpediente = LocalTime.parse(abertura);
+        duracao = agendaService.getDuracao();
+        qtdeHorarios = (int) (Duration.between(inicioExpediente, LocalTime.parse(encerramento)).toMinutes()
+                / duracao.toMinutes());
+        diasAtendimento = dias.length == 0 ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(Arrays.asList(dias));
+
+        if (qtdeHorarios < 1 || qtdeHorarios > Long.SIZE) {
+            throw new IllegalStateException("O expediente deve ter de 1 a " + Long.SIZE + " horários, mas tem "
+                    + qtdeHorarios);
+        }
+    }
+
+    /**
+     * Recarrega os índices a partir das abordagens dos psicólogos gravados e das agendas.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(2)
+    public void recarregar() {
+        abordagemPorPsicologo.clear();
+        psicologosPorAbordagem.clear();
+        ocupacaoPorPsicologo.clear();
+        ocupacaoPorAbordagem.clear();
+
+        for (Object[] psicologo : psicologoRepository.findAbordagens()) {
+            registrar((Integer) psicologo[0], (Integer) psicologo[1]);
+        }
+    }
+
+    /**
+     * Atualiza a ocupação do psicólogo nos dias do horário reservado ou liberado.
+     *
+     * @param alteracao o horário alterado
+     */
+    @EventListener
+    public void atualizar(AlteracaoAgenda alteracao) {
+        LocalDate ultimo = alteracao.getFim().minusNanos(1).toLocalDate();
+        for (LocalDate dia = alteracao.getInicio().toLocalDate(); !dia.isAfter(ultimo); dia = dia.plusDays(1)) {
+            atualizar(alteracao.getIdPsicologo(), dia);
+        }
+    }
+
+    /**
+     * Inclui um psicólogo na busca da sua abordagem, ou o transfere se a abordagem mudou. Se houver uma transação em
+     * andamento, a inclusão é aplicada apenas após o commit.
+     *
+     * @param psicologo o psicólogo gravado
+     */
+    public void registrarPsicologo(Psicologo psicologo) {
+        Integer idPsicologo = psicologo.getId();
+        Integer idAbordagem = psicologo.getAbordagem() == null ? null : psicologo.getAbordagem().getId();
+        AposCommit.executar(() -> agendaService.sincronizar(idPsicologo, () -> registrar(idPsicologo, idAbordagem)));
+    }
+
+    /**
+     * Remove um psicólogo da busca. Se houver uma transação em andamento, a remoção é aplicada apenas após o commit.
+     *
+     * @param idPsicologo o ID do psicólogo excluído
+     */
+    public void removerPsicologo(Integer idPsicologo) {
+        AposCommit.executar(() -> agendaService.sincronizar(idPsicologo, () -> registrar(idPsicologo, null)));
+    }
+
+    /**
+     * Obtém os próximos horários livres entre todos os psicólogos de uma abordagem.
+     *
+     * @param idAbordagem o ID da abordagem
+     * @param aPartirDe o instante a partir do qual os horários são procurados
+     * @param qtde a quantidade de horários desejada, limitada a {@link #QTDE_MAXIMA}
+     * @return os horários livres, em ordem de data e hora e, no mesmo horário, de ID do psicólogo
+     */
+    public List<HorarioLivre> obterProximosHorarios(Integer idAbordagem, LocalDateTime aPartirDe, int qtde) {
+        int limite = Math.max(1, Math.min(qtde, QTDE_MAXIMA));
+        List<HorarioLivre> horarios = new ArrayList<>(limite);
+        NavigableSet<Integer> psicologos = psicologosPorAbordagem.get(idAbordagem);
+
+        if (psicologos == null || psicologos.isEmpty()) {
+            return horarios;
+        }
+
+        LocalDate primeiro = aPartirDe.toLocalDate();
+        for (int d = 0; d < horizonteDias; d++) {
+            LocalDate dia = primeiro.plusDays(d);
+            if (!diasAtendimento.contains(dia.getDayOfWeek())) {
+                continue;
+            }
+
+            AtomicIntegerArray ocupados = ocupacaoPorAbordagem.get(chave(idAbordagem, dia));
+            int total = psicologos.size();
+
+            for (int j = 0; j < qtdeHorarios; j++) {
+                LocalDateTime horario = obterHorario(dia, j);
+                if (horario.isBefore(aPartirDe) || (ocupados != null && ocupados.get(j) >= total)) {
+                    continue;
+                }
+
+                for (Integer idPsicologo : psicologos) {
+                    Long ocupacao = ocupados == null ? null : ocupacaoPorPsicologo.get(chave(idPsicologo, dia));
+                    if (ocupacao == null || (ocupacao >>> j & 1) == 0) {
+                        horarios.add(new HorarioLivre(idPsicologo, horario));
+                        if (horarios.size() == limite) {
+                            return horarios;
+                        }
+                    }
+                }
+            }
+        }
+
+        return horarios;
+    }
+
+    /**
+     * Associa um psicólogo a uma abordagem ({@code null} para removê-lo), movendo a contagem dos seus horários
+     * ocupados da abordagem anterior para a nova.
+     */
+    private void registrar(Integer idPsicologo, Integer idAbordagem) {
+        Integer anterior = idAbordagem == null ? abordagemPorPsicologo.remove(idPsicologo)
+                : abordagemPorPsicologo.put(idPsicologo, idAbordagem);
+
+        if (idAbordagem != null && idAbordagem.equals(anterior)) {
+            return;
+        }
+
+        Set<LocalDate> diasOcupados = obterDiasOcupados(idPsicologo);
+
+        if (anterior != null) {
+            psicologosPorAbordagem.get(anterior).remove(idPsicologo);
+            for (LocalDate dia : diasOcupados) {
+                Long ocupacao = ocupacaoPorPsicologo.remove(chave(idPsicologo, dia));
+                if (ocupacao != null) {
+                    somar(anterior, dia, ocupacao, 0L);
+                }
+            }
+        }
+
+        if (idAbordagem != null) {
+            psicologosPorAbordagem.computeIfAbsent(idAbordagem, id -> new ConcurrentSkipListSet<>()).add(idPsicologo);
+            for (LocalDate dia : diasOcupados) {
+                atualizar(idPsicologo, dia);
+            }
+        }
+    }
+
+    /**
+     * Recalcula a ocupação de um psicólogo em um dia e aplica a diferença na contagem da sua abordagem.
+     */
+    private void atualizar(Integer idPsicologo, LocalDate dia) {
+        long chave = chave(idPsicologo, dia);
+        long nova = calcularOcupacao(idPsicologo, dia);
+        Long antiga = nova == 0 ? ocupacaoPorPsicologo.remove(chave) : ocupacaoPorPsicologo.put(chave, nova);
+
+        Integer idAbordagem = abordagemPorPsicologo.get(idPsicologo);
+        if (idAbordagem != null) {
+            somar(idAbordagem, dia, antiga == null ? 0L : antiga, nova);
+        }
+    }
+
+    /**
+     * Aplica na contagem da abordagem os horários que passaram de livres para ocupados e vice-versa.
+     */
+    private void somar(Integer idAbordagem, LocalDate dia, long antiga, long nova) {
+        long alterados = antiga ^ nova;
+        if (alterados == 0) {
+            return;
+        }
+
+        AtomicIntegerArray ocupados = ocupacaoPorAbordagem.computeIfAbsent(chave(idAbordagem, dia),
+                chave -> new AtomicIntegerArray(qtdeHorarios));
+
+        while (alterados != 0) {
+            int j = Long.numberOfTrailingZeros(alterados);
+            ocupados.addAndGet(j, (nova >>> j & 1) == 1 ? 1 : -1);
+            alterados &= alterados - 1;
+        }
+    }
+
+    private long calcularOcupacao(Integer idPsicologo, LocalDate dia) {
+        if (!diasAtendimento.contains(dia.getDayOfWeek()) || !abordagemPorPsicologo.containsKey(idPsicologo)) {
+            return 0L;
+        }
+
+        long ocupacao = 0L;
+        for (int j = 0; j < qtdeHorarios; j++) {
+            if (agendaService.isOcupado(idPsicologo, obterHorario(dia, j))) {
+                ocupacao |= 1L << j;
+            }
+        }
+        return ocupacao;
+    }
+
+    /**
+     * Obtém os dias em que o psicólogo tem algum atendimento, incluindo o dia seguinte quando um atendimento termina
+     * após a meia-noite.
+     */
+    private Set<LocalDate> obterDiasOcupados(Integer idPsicologo) {
+        Set<LocalDate> diasOcupados = new TreeSet<>();
+        for (LocalDateTime inicio : agendaService.obterHorarios(idPsicologo)) {
+            diasOcupados.add(inicio.toLocalDate());
+            diasOcupados.add(inicio.plus(duracao).minusNanos(1).toLocalDate());
+        }
+        return diasOcupados;
+    }
+
+    private LocalDateTime obterHorario(LocalDate dia, int j) {
+        return dia.atTime(inicioExpediente).plus(duracao.multipliedBy(j));
+    }
+
+    /**
+     * Combina um ID e um dia em uma única chave.
+     */
+    private static long chave(Integer id, LocalDate dia) {
+        return (long) id << 32 | dia.toEpochDay() & 0xFFFFFFFFL;
+    }
+}
@@ -1,41 +1,289 @@
 package br.edu.infnet.appMatheusAvelino.model.service;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import br.edu.infnet.appMatheusAvelino.client.EnderecoClient;
 import br.edu.infnet.appMatheusAvelino.model.domain.Endereco;
+import br.edu.infnet.appMatheusAvelino.model.repository.EnderecoRepository;
+import feign.FeignException;
 
 /**
  * Serviço responsável pela gestão de endereços no sistema.
- * 
+ *
  * <p>Este serviço utiliza o {@link EnderecoClient} para interagir com um serviço externo que fornece
  * informações de endereços com base no CEP.</p>
- * 
- * <p>O serviço oferece um método para buscar um endereço com base no CEP fornecido.</p>
- * 
+ *
+ * <p>As consultas passam por um {@link CacheCep} local, limitado a {@code app.cep.cache.tamanho-maximo} CEPs, com
+ * expiração de {@code app.cep.cache.ttl} para endereços encontrados e {@code app.cep.cache.ttl-negativo} para CEPs
+ * desconhecidos. Com {@code app.cep.cache.aquecer=true}, o cache é preenchido na inicialização com os endereços já
+ * gravados na tabela {@code TEndereco}, evitando consultas remotas após um reinício.</p>
+ *
+ * <p>Consultas simultâneas ao mesmo CEP são agrupadas (single-flight): apenas a primeira chama o serviço externo e as
+ * demais aguardam o mesmo resultado. Lotes de CEPs distintos são resolvidos em paralelo por um executor limitado a
+ * {@code app.cep.consultas-simultaneas} threads e {@code app.cep.capacidade-fila} consultas na fila; quando a fila
+ * está cheia, a consulta é executada na própria thread chamadora.</p>
+ *
  * @see EnderecoClient
  * @see Endereco
+ * @see CacheCep
  */
 @Service
 public class EnderecoService {
-    
+
     /**
      * Cliente usado para acessar o serviço externo de endereços.
      */
     @Autowired
     private EnderecoClient enderecoClient;
 
+    /**
+     * Repositório usado para aquecer o cache com os endereços já gravados.
+     */
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Value("${app.cep.cache.tamanho-maximo:10000}")
+    private int tamanhoMaximo;
+
+    @Value("${app.cep.cache.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${app.cep.cache.ttl-negativo:1h}")
+    private Duration ttlNegativo;
+
+    @Value("${app.cep.cache.aquecer:false}")
+    private boolean aquecer;
+
+    @Value("${app.cep.consultas-simultaneas:8}")
+    private int consultasSimultaneas;
+
+    @Value("${app.cep.capacidade-fila:1000}")
+    private int capacidadeFila;
+
+    /**
+     * Cache local das consultas de CEP.
+     */
+    private CacheCep cache;
+
+    /**
+     * Consultas remotas em andamento, por CEP normalizado.
+     */
+    private final Map<String, CompletableFuture<Endereco>> emAndamento = new ConcurrentHashMap<>();
+
+    /**
+     * Executor das consultas assíncronas.
+     */
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder consultasRemotas = new LongAdder();
+    private final LongAdder consultasAgrupadas = new LongAdder();
+
+    /**
+     * Cria o cache e o executor de consultas com as configurações da aplicação.
+     */
+    @PostConstruct
+    void iniciar() {
+        cache = new CacheCep(tamanhoMaximo, ttl, ttlNegativo);
+
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(consultasSimultaneas, consultasSimultaneas, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila), tarefa -> {
+                    Thread thread = new Thread(tarefa, "cep-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, EnderecoService::executarNaChamadora);
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Executa na thread chamadora a consulta que não coube na fila. Ao contrário do {@code CallerRunsPolicy}, que
+     * descarta a tarefa em silêncio depois do encerramento, rejeita a consulta para que o futuro dela seja concluído
+     * com erro.
+     */
+    private static void executarNaChamadora(Runnable tarefa, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Consulta de CEP rejeitada: o executor foi encerrado");
+        }
+        tarefa.run();
+    }
+
+    /**
+     * Encerra o executor de consultas.
+     */
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Preenche o cache com os endereços da tabela {@code TEndereco}, antes da execução dos loaders.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void aquecerCache() {
+        if (!aquecer) {
+            return;
+        }
+
+        int qtde = 0;
+        for (Endereco endereco : enderecoRepository.findAll()) {
+            if (endereco.getCep() != null) {
+                cache.guardar(CacheCep.normalizar(endereco.getCep()), endereco);
+                qtde++;
+            }
+        }
+        System.out.println("[CEP] Cache aquecido com " + qtde + " endereços");
+    }
+
     /**
      * Obtém um endereço com base no CEP fornecido.
-     * 
-     * <p>Este método faz uma chamada ao {@link EnderecoClient} para recuperar o endereço correspondente
-     * ao CEP informado.</p>
-     * 
+     *
+     * <p>Este método consulta primeiro o cache local e, em caso de falta, faz uma chamada ao {@link EnderecoClient}
+     * para recuperar o endereço correspondente ao CEP informado. CEPs desconhecidos ou inválidos também são
+     * guardados no cache. Falhas de comunicação com o serviço externo não são guardadas.</p>
+     *
+     * <p>A consulta remota é feita na própria thread chamadora. Se outra thread já estiver consultando o mesmo CEP,
+     * este método aguarda o resultado dela.</p>
+     *
      * @param cep O CEP do endereço a ser buscado. Não deve ser nulo ou vazio.
-     * @return O {@link Endereco} correspondente ao CEP fornecido. Pode ser null se nenhum endereço for encontrado.
+     * @return Uma cópia do {@link Endereco} correspondente ao CEP fornecido, ou null se o CEP for desconhecido.
      */
     public Endereco obterPorCep(String cep) {
-        return enderecoClient.findByCep(cep);
+        try {
+            return resolver(cep, Runnable::run).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Obtém um endereço com base no CEP fornecido, sem bloquear a thread chamadora.
+     *
+     * @param cep O CEP do endereço a ser buscado. Não deve ser nulo ou vazio.
+     * @return Um {@link CompletableFuture} com uma cópia do endereço, ou null se o CEP for desconhecido.
+     */
+    public CompletableFuture<Endereco> obterPorCepAsync(String cep) {
+        return resolver(cep, executor);
+    }
+
+    /**
+     * Obtém os endereços de um conjunto de CEPs, consultando os CEPs distintos em paralelo.
+     *
+     * @param ceps Os CEPs a serem buscados.
+     * @return Um mapa do CEP informado para uma cópia do endereço correspondente, ou null se o CEP for desconhecido.
+     */
+    public Map<String, Endereco> obterPorCeps(Collection<String> ceps) {
+        Map<String, CompletableFuture<Endereco>> consultas = new LinkedHashMap<>();
+        for (String cep : ceps) {
+            consultas.computeIfAbsent(cep, this::obterPorCepAsync);
+        }
+
+        Map<String, Endereco> enderecos = new LinkedHashMap<>();
+        consultas.forEach((cep, consulta) -> enderecos.put(cep, consulta.join()));
+        return enderecos;
+    }
+
+    /**
+     * Resolve um CEP pelo cache ou, em caso de falta, por uma única consulta remota compartilhada entre todas as
+     * threads que pedirem o mesmo CEP enquanto ela estiver em andamento.
+     *
+     * @param executor executor da consulta remota, caso esta chamada seja a primeira para o CEP
+     */
+    private CompletableFuture<Endereco> resolver(String cep, Executor executor) {
+        String chave = CacheCep.normalizar(cep);
+        CacheCep.Entrada entrada = cache.obter(chave);
+
+        if (entrada != null) {
+            return CompletableFuture.completedFuture(entrada.copiarEndereco());
+        }
+
+        CompletableFuture<Endereco> nova = new CompletableFuture<>();
+        CompletableFuture<Endereco> existente = emAndamento.putIfAbsent(chave, nova);
+
+        if (existente != null) {
+            consultasAgrupadas.increment();
+            return existente.thenApply(EnderecoService::copiar);
+        }
+
+        // Uma consulta concluída entre a falta no cache e o putIfAbsent já guardou o resultado
+        entrada = cache.obterSemContar(chave);
+        if (entrada != null) {
+            emAndamento.remove(chave, nova);
+            nova.complete(entrada.copiarEndereco());
+            return nova.thenApply(EnderecoService::copiar);
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    Endereco endereco = consultar(cep);
+                    cache.guardar(chave, endereco);
+                    nova.complete(endereco);
+                } catch (Throwable e) {
+                    nova.completeExceptionally(e);
+                } finally {
+                    emAndamento.remove(chave, nova);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            emAndamento.remove(chave, nova);
+            nova.completeExceptionally(e);
+        }
+
+        return nova.thenApply(EnderecoService::copiar);
+    }
+
+    private static Endereco copiar(Endereco endereco) {
+        return endereco == null ? null : new Endereco(endereco);
+    }
+
+    /**
+     * Consulta o serviço externo, tratando as respostas de CEP desconhecido como {@code null}.
+     */
+    private Endereco consultar(String cep) {
+        consultasRemotas.increment();
+        try {
+            Endereco endereco = enderecoClient.findByCep(cep);
+            return endereco == null || endereco.getCep() == null ? null : endereco;
+        } catch (FeignException.BadRequest | FeignException.NotFound e) {
+            return null;
+        }
+    }
+
+    /**
+     * Obtém as estatísticas de uso do cache de CEP.
+     *
+     * @return um mapa com as estatísticas do cache, a quantidade de consultas remotas e de consultas agrupadas
+     */
+    public Map<String, Number> obterEstatisticasCache() {
+        Map<String, Number> estatisticas = cache.obterEstatisticas();
+        estatisticas.put("consultasRemotas", consultasRemotas.sum());
+        estatisticas.put("consultasAgrupadas", consultasAgrupadas.sum());
+        estatisticas.put("consultasEmAndamento", emAndamento.size());
+        return estatisticas;
     }
 }
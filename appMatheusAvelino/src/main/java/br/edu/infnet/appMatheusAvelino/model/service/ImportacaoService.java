@@ -0,0 +1,553 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.ArquivoCarga;
+import br.edu.infnet.appMatheusAvelino.model.repository.ArquivoCargaRepository;
+
+/**
+ * Serviço responsável pela importação em lote dos arquivos de carga inicial ({@code files/*.txt}).
+ *
+ * <p>A importação é executada como um pipeline de três estágios ligados por filas limitadas:</p>
+ * <ol>
+ * <li>um único leitor, que mapeia o arquivo em memória com o {@link LeitorRegistros} e agrupa as posições das linhas
+ * em lotes de {@code app.importacao.tamanho-lote} linhas;</li>
+ * <li>{@code app.importacao.parsers} conversores, que separam os campos de cada linha com um {@link Registro} e os
+ * transformam em entidades;</li>
+ * <li>{@code app.importacao.gravadores} gravadores, que gravam cada lote em uma única transação, permitindo que o
+ * Hibernate agrupe os INSERTs em lotes JDBC ({@code hibernate.jdbc.batch_size}).</li>
+ * </ol>
+ *
+ * <p>As filas têm capacidade {@code app.importacao.capacidade-fila} e um semáforo limita a quantidade de lotes em
+ * andamento, de modo que o leitor é bloqueado (backpressure) quando os estágios seguintes não acompanham o ritmo.</p>
+ *
+ * <p>Quando a importação é ordenada, os lotes são gravados por um único gravador na ordem das linhas do arquivo,
+ * garantindo que os IDs gerados sejam os mesmos de uma carga serial. Isso é necessário quando outro arquivo de carga
+ * referencia os registros pela posição (por exemplo, {@code atendimento.txt} referencia psicólogos e pacientes pelo
+ * ID).</p>
+ *
+ * <p>Se a gravação de um lote falhar, por exemplo por um CPF repetido, a transação do lote é desfeita. Sem ordem, as
+ * linhas do lote são convertidas e gravadas novamente, uma por transação; as rejeitadas são exibidas com o motivo e
+ * ignoradas, e a importação continua com o lote seguinte. Na importação ordenada a falha interrompe a importação: os
+ * IDs gerados na tentativa desfeita já foram consumidos da sequência, e gravar as linhas restantes deslocaria os IDs de
+ * todos os registros seguintes, invalidando as referências de outros arquivos. Os lotes anteriores permanecem gravados
+ * e, no modo incremental, a próxima importação continua a partir do lote que falhou.</p>
+ *
+ * <p>Ao término da importação é exibida a taxa de linhas por segundo obtida pelo loader. Durante a importação, as
+ * linhas lidas e gravadas podem ser acompanhadas por {@link #obterProgresso(String)}.</p>
+ *
+ * <p>Cada importação grava a impressão digital do arquivo ({@link ArquivoCarga}): os bytes e as linhas importados e o
+ * checksum CRC32C desse trecho. Com {@code app.carga.incremental=true}, usado quando o banco é mantido entre
+ * reinicializações, a importação compara o arquivo com a impressão digital gravada: um arquivo sem alterações não é
+ * lido, e um arquivo que apenas recebeu linhas no final é lido a partir da última posição importada. Nesse modo os
+ * lotes são sempre gravados em ordem, com a impressão digital atualizada na mesma transação de cada lote, de modo que
+ * uma importação interrompida continua do último lote gravado. Linhas alteradas ou removidas antes dessa posição não
+ * têm como ser associadas aos registros já gravados (os arquivos não trazem IDs); nesse caso o arquivo não é importado
+ * e um erro é exibido.</p>
+ */
+@Service
+public class ImportacaoService {
+
+    /**
+     * Gerenciador de transações usado para abrir uma transação por lote.
+     */
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Repositório das impressões digitais dos arquivos importados.
+     */
+    @Autowired
+    private ArquivoCargaRepository arquivoCargaRepository;
+
+    /**
+     * Contexto de persistência descarregado e limpo ao final de cada lote.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Quantidade de linhas gravadas por transação.
+     */
+    @Value("${app.importacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    /**
+     * Quantidade de threads que convertem linhas em entidades.
+     */
+    @Value("${app.importacao.parsers:4}")
+    private int parsers;
+
+    /**
+     * Quantidade de threads que gravam lotes no banco de dados quando a importação não é ordenada.
+     */
+    @Value("${app.importacao.gravadores:2}")
+    private int gravadores;
+
+    /**
+     * Capacidade, em lotes, de cada fila entre os estágios do pipeline.
+     */
+    @Value("${app.importacao.capacidade-fila:8}")
+    private int capacidadeFila;
+
+    /**
+     * Indica se a importação continua a partir da impressão digital gravada, em vez de ler o arquivo inteiro.
+     */
+    @Value("${app.carga.incremental:false}")
+    private boolean incremental;
+
+    /**
+     * Linhas lidas e gravadas da última importação de cada loader, pelo nome do loader.
+     */
+    private final Map<String, Progresso> progresso = new ConcurrentHashMap<>();
+
+    /**
+     * Importa um arquivo de carga sem garantia de ordem na gravação dos lotes.
+     *
+     * @param <T> o tipo da entidade importada
+     * @param nome o nome do loader, usado no relatório de desempenho
+     * @param arquivo o caminho do arquivo a ser importado
+     * @param conversor função que converte os campos de uma linha (separados por ";") em uma entidade
+     * @param persistencia função que grava um lote de entidades, normalmente o {@code incluirLote} do serviço
+     * @return a quantidade de linhas importadas, sem as rejeitadas
+     * @throws IOException caso ocorra algum erro durante a leitura do arquivo
+     * @see #importar(String, String, Function, Consumer, boolean)
+     */
+    public <T> long importar(String nome, String arquivo, Function<Registro, T> conversor,
+            Consumer<List<T>> persistencia) throws IOException {
+        return importar(nome, arquivo, conversor, persistencia, false);
+    }
+
+    /**
+     * Importa um arquivo de carga, convertendo cada linha em uma entidade e gravando-as em lotes transacionais.
+     *
+     * @param <T> o tipo da entidade importada
+     * @param nome o nome do loader, usado no relatório de desempenho
+     * @param arquivo o caminho do arquivo a ser importado
+     * @param conversor função que converte os campos de uma linha (separados por ";") em uma entidade. É chamada
+     *        concorrentemente por várias threads e o {@link Registro} recebido só é válido durante a chamada.
+     * @param persistencia função que grava um lote de entidades, normalmente o {@code incluirLote} do serviço
+     * @param ordenado {@code true} para gravar os lotes na ordem do arquivo, mantendo os IDs determinísticos
+     * @return a quantidade de linhas importadas, sem as rejeitadas; no modo incremental, apenas as linhas novas
+     * @throws IOException caso ocorra algum erro durante a leitura do arquivo
+     * @throws IllegalStateException se a importação é ordenada e a gravação de um lote falhar
+     */
+    public <T> long importar(String nome, String arquivo, Function<Registro, T> conversor,
+            Consumer<List<T>> persistencia, boolean ordenado) throws IOException {
+
+        Path caminho = Paths.get(arquivo);
+        Progresso andamento = new Progresso();
+        progresso.put(nome, andamento);
+
+        // O checksum acumula todos os bytes importados desde o início do arquivo
+        CRC32C checksum = new CRC32C();
+        ArquivoCarga inicial = incremental ? retomar(nome, arquivo, caminho, checksum)
+                : new ArquivoCarga(arquivo, 0, 0, 0);
+        if (inicial == null) {
+            return 0;
+        }
+
+        boolean emOrdem = ordenado || incremental;
+        int qtdeGravadores = emOrdem ? 1 : gravadores;
+        BlockingQueue<Lote<LeitorRegistros.Bloco>> filaLinhas = new ArrayBlockingQueue<>(capacidadeFila);
+        BlockingQueue<Lote<List<T>>> filaEntidades = new ArrayBlockingQueue<>(capacidadeFila);
+        Semaphore emAndamento = new Semaphore(2 * capacidadeFila + parsers + qtdeGravadores);
+        AtomicInteger parsersAtivos = new AtomicInteger(parsers);
+        AtomicReference<ArquivoCarga> lido = new AtomicReference<>(inicial);
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        ExecutorService executor = Executors.newFixedThreadPool(1 + parsers + qtdeGravadores);
+        ExecutorCompletionService<Long> estagios = new ExecutorCompletionService<>(executor);
+        long inicio = System.nanoTime();
+        long linhas = 0;
+
+        try {
+            estagios.submit(() -> ler(caminho, inicial, checksum, lido, filaLinhas, emAndamento, andamento));
+
+            for (int i = 0; i < parsers; i++) {
+                estagios.submit(() -> converter(filaLinhas, filaEntidades, conversor, parsersAtivos, qtdeGravadores));
+            }
+
+            for (int i = 0; i < qtdeGravadores; i++) {
+                estagios.submit(() -> gravar(nome, filaEntidades, emAndamento, transacao, conversor, persistencia,
+                        emOrdem, ordenado, andamento));
+            }
+
+            for (int i = 0; i < 1 + parsers + qtdeGravadores; i++) {
+                linhas = Math.max(linhas, estagios.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importação de " + nome + " interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Falha na importação de " + nome, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Sem ordem, a impressão digital só pode ser gravada depois do último lote
+        transacao.executeWithoutResult(status -> arquivoCargaRepository.save(lido.get()));
+
+        long importadas = linhas - andamento.rejeitadas.sum();
+        relatar(nome, importadas, linhas - importadas, System.nanoTime() - inicio);
+
+        return importadas;
+    }
+
+    /**
+     * Compara o arquivo com a impressão digital da última importação e, se ele apenas recebeu linhas no final,
+     * posiciona o checksum no fim do trecho já importado.
+     *
+     * @return a posição de onde a importação continua, ou {@code null} se o arquivo não tem linhas novas ou se o
+     *         trecho já importado foi alterado
+     */
+    private ArquivoCarga retomar(String nome, String arquivo, Path caminho, CRC32C checksum) throws IOException {
+        ArquivoCarga anterior = arquivoCargaRepository.findById(arquivo).orElse(null);
+        if (anterior == null) {
+            return new ArquivoCarga(arquivo, 0, 0, 0);
+        }
+
+        long tamanho = Files.size(caminho);
+        boolean preservado = tamanho >= anterior.getTamanho();
+        if (preservado) {
+            LeitorRegistros.calcularChecksum(caminho, anterior.getTamanho(), checksum);
+            // Se a última linha importada não terminava em quebra de linha, o que vem depois a altera
+            preservado = checksum.getValue() == anterior.getChecksum()
+                    && (tamanho == anterior.getTamanho() || terminaEmQuebraDeLinha(caminho, anterior.getTamanho()));
+        }
+
+        if (!preservado) {
+            System.err.println("[ERROR] " + nome + ": " + arquivo + " foi alterado nas primeiras "
+                    + anterior.getLinhas() + " linhas, já importadas; o arquivo não será importado. Recrie o banco "
+                    + "(app.carga.incremental=false) para aplicar as alterações");
+            return null;
+        }
+        if (tamanho == anterior.getTamanho()) {
+            System.out.println("[IMPORTACAO] " + nome + ": " + arquivo + " sem alterações desde a última importação ("
+                    + anterior.getLinhas() + " linhas)");
+            return null;
+        }
+
+        System.out.println("[IMPORTACAO] " + nome + ": continuando " + arquivo + " após a linha "
+                + anterior.getLinhas());
+        return anterior;
+    }
+
+    private static boolean terminaEmQuebraDeLinha(Path caminho, long tamanho) throws IOException {
+        if (tamanho == 0) {
+            return true;
+        }
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+            ByteBuffer ultimo = ByteBuffer.allocate(1);
+            canal.read(ultimo, tamanho - 1);
+            return ultimo.get(0) == '\n';
+        }
+    }
+
+    /**
+     * Estágio leitor: mapeia o arquivo em memória a partir da posição inicial e agrupa as posições das linhas em
+     * lotes numerados sequencialmente, cada um acompanhado da impressão digital do arquivo até o seu fim.
+     *
+     * @return a quantidade de linhas lidas
+     */
+    private long ler(Path arquivo, ArquivoCarga inicial, Checksum checksum, AtomicReference<ArquivoCarga> lido,
+            BlockingQueue<Lote<LeitorRegistros.Bloco>> filaLinhas, Semaphore emAndamento, Progresso andamento)
+            throws IOException, InterruptedException {
+
+        long linhas = 0;
+        long sequencia = 0;
+
+        try (LeitorRegistros leitor = new LeitorRegistros(arquivo, inicial.getTamanho(), checksum)) {
+            LeitorRegistros.Bloco bloco = new LeitorRegistros.Bloco(tamanhoLote);
+
+            while (leitor.proximoBloco(bloco)) {
+                if (bloco.qtde() == 0) {
+                    continue;
+                }
+
+                long primeiraLinha = inicial.getLinhas() + linhas + 1;
+                linhas += bloco.qtde();
+                andamento.lidas.add(bloco.qtde());
+                ArquivoCarga posicao = new ArquivoCarga(inicial.getArquivo(), leitor.posicao(),
+                        inicial.getLinhas() + linhas, checksum.getValue());
+                emAndamento.acquire();
+                filaLinhas.put(new Lote<>(sequencia++, bloco, posicao, bloco, primeiraLinha));
+                bloco = new LeitorRegistros.Bloco(tamanhoLote);
+            }
+
+            lido.set(new ArquivoCarga(inicial.getArquivo(), leitor.posicao(), inicial.getLinhas() + linhas,
+                    checksum.getValue()));
+        }
+
+        for (int i = 0; i < parsers; i++) {
+            filaLinhas.put(Lote.fim());
+        }
+
+        return linhas;
+    }
+
+    /**
+     * Estágio conversor: transforma cada linha de um lote em uma entidade, preservando o número do lote. O último
+     * conversor a terminar sinaliza o fim para os gravadores.
+     *
+     * @return sempre zero, pois as linhas são contadas pelo leitor
+     */
+    private <T> long converter(BlockingQueue<Lote<LeitorRegistros.Bloco>> filaLinhas,
+            BlockingQueue<Lote<List<T>>> filaEntidades, Function<Registro, T> conversor, AtomicInteger parsersAtivos,
+            int qtdeGravadores) throws InterruptedException {
+
+        Registro registro = new Registro();
+        Lote<LeitorRegistros.Bloco> lote;
+
+        while (!(lote = filaLinhas.take()).isFim()) {
+            List<T> entidades = new ArrayList<>(lote.conteudo.qtde());
+            lote.conteudo.paraCada(registro, r -> entidades.add(conversor.apply(r)));
+            filaEntidades.put(new Lote<>(lote.sequencia, entidades, lote.posicao, lote.linhas, lote.primeiraLinha));
+        }
+
+        if (parsersAtivos.decrementAndGet() == 0) {
+            for (int i = 0; i < qtdeGravadores; i++) {
+                filaEntidades.put(Lote.fim());
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Estágio gravador: grava cada lote em uma única transação. Quando a importação é ordenada, os lotes que chegam
+     * fora de ordem aguardam até que todos os anteriores tenham sido gravados, e a impressão digital do arquivo até o
+     * fim do lote é gravada na mesma transação.
+     *
+     * @param interromper {@code true} para interromper a importação quando um lote falhar, em vez de gravar as suas
+     *        linhas uma a uma
+     * @return sempre zero, pois as linhas são contadas pelo leitor
+     */
+    private <T> long gravar(String nome, BlockingQueue<Lote<List<T>>> filaEntidades, Semaphore emAndamento,
+            TransactionTemplate transacao, Function<Registro, T> conversor, Consumer<List<T>> persistencia,
+            boolean ordenado, boolean interromper, Progresso andamento) throws InterruptedException {
+
+        Map<Long, Lote<List<T>>> pendentes = new HashMap<>();
+        long proximo = 0;
+        Lote<List<T>> lote;
+
+        while (!(lote = filaEntidades.take()).isFim()) {
+            if (!ordenado) {
+                gravar(nome, transacao, lote, null, conversor, persistencia, interromper, andamento);
+                andamento.gravadas.add(lote.conteudo.size());
+                emAndamento.release();
+                continue;
+            }
+
+            pendentes.put(lote.sequencia, lote);
+
+            while ((lote = pendentes.remove(proximo)) != null) {
+                gravar(nome, transacao, lote, lote.posicao, conversor, persistencia, interromper, andamento);
+                andamento.gravadas.add(lote.conteudo.size());
+                emAndamento.release();
+                proximo++;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Grava um lote em uma única transação, junto com a impressão digital do arquivo quando informada, descarregando
+     * e limpando o contexto de persistência ao final. Se a transação falhar, interrompe a importação ou grava as linhas
+     * do lote uma a uma.
+     */
+    private <T> void gravar(String nome, TransactionTemplate transacao, Lote<List<T>> lote, ArquivoCarga posicao,
+            Function<Registro, T> conversor, Consumer<List<T>> persistencia, boolean interromper,
+            Progresso andamento) {
+        try {
+            gravar(transacao, lote.conteudo, posicao, persistencia);
+        } catch (RuntimeException e) {
+            if (interromper) {
+                throw new IllegalStateException(nome + ": falha ao gravar as linhas " + lote.primeiraLinha + " a "
+                        + (lote.primeiraLinha + lote.conteudo.size() - 1) + " (" + motivo(e) + "); a importação "
+                        + "ordenada foi interrompida para não deslocar os IDs dos registros seguintes", e);
+            }
+            System.err.println("[ERROR] " + nome + ": falha ao gravar as linhas " + lote.primeiraLinha + " a "
+                    + (lote.primeiraLinha + lote.conteudo.size() - 1) + " (" + motivo(e)
+                    + "); gravando as linhas uma a uma");
+            gravarLinhaALinha(nome, transacao, lote, conversor, persistencia, andamento);
+            if (posicao != null) {
+                transacao.executeWithoutResult(status -> arquivoCargaRepository.save(posicao));
+            }
+        }
+    }
+
+    /**
+     * Converte novamente cada linha do lote, pois as entidades da tentativa desfeita podem ter ficado com os IDs
+     * gerados nela, e grava cada uma em uma transação própria, exibindo e ignorando as rejeitadas.
+     */
+    private <T> void gravarLinhaALinha(String nome, TransactionTemplate transacao, Lote<List<T>> lote,
+            Function<Registro, T> conversor, Consumer<List<T>> persistencia, Progresso andamento) {
+        long[] linha = { lote.primeiraLinha };
+        lote.linhas.paraCada(new Registro(), registro -> {
+            try {
+                gravar(transacao, List.of(conversor.apply(registro)), null, persistencia);
+            } catch (RuntimeException e) {
+                andamento.rejeitadas.increment();
+                System.err.println("[ERROR] " + nome + ": linha " + linha[0] + " rejeitada (" + motivo(e) + "): "
+                        + texto(registro));
+            }
+            linha[0]++;
+        });
+    }
+
+    private <T> void gravar(TransactionTemplate transacao, List<T> entidades, ArquivoCarga posicao,
+            Consumer<List<T>> persistencia) {
+        transacao.executeWithoutResult(status -> {
+            persistencia.accept(entidades);
+            if (posicao != null) {
+                arquivoCargaRepository.save(posicao);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    /**
+     * Obtém a primeira linha da mensagem da causa mais específica; as do banco de dados trazem o comando SQL em seguida.
+     */
+    private static String motivo(RuntimeException e) {
+        String mensagem = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        int quebra = mensagem.indexOf('\n');
+        return quebra < 0 ? mensagem : mensagem.substring(0, quebra);
+    }
+
+    /**
+     * Remonta o conteúdo da linha, com os campos separados por ";", para exibi-la na rejeição.
+     */
+    private static String texto(Registro registro) {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < registro.qtdeCampos(); i++) {
+            texto.append(i == 0 ? "" : ";").append(registro.texto(i));
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Obtém o andamento da última importação do loader informado.
+     *
+     * <p>As linhas lidas avançam à frente das gravadas; a importação termina quando as duas quantidades se igualam e
+     * o leitor chega ao fim do arquivo.</p>
+     *
+     * @param nome o nome do loader, o mesmo informado em {@code importar}
+     * @return as linhas lidas e gravadas até o momento, ou um mapa vazio se o loader ainda não começou a importação
+     */
+    public Map<String, Long> obterProgresso(String nome) {
+        Progresso andamento = progresso.get(nome);
+        if (andamento == null) {
+            return Map.of();
+        }
+
+        Map<String, Long> linhas = new LinkedHashMap<>();
+        linhas.put("linhasLidas", andamento.lidas.sum());
+        linhas.put("linhasGravadas", andamento.gravadas.sum());
+        linhas.put("linhasRejeitadas", andamento.rejeitadas.sum());
+        return linhas;
+    }
+
+    /**
+     * Exibe a quantidade de linhas importadas, o tempo gasto e a taxa de linhas por segundo.
+     */
+    private void relatar(String nome, long linhas, long rejeitadas, long nanos) {
+        long millis = Math.max(1, nanos / 1_000_000);
+        System.out.println("[IMPORTACAO] " + nome + ": " + linhas + " linhas em " + millis + " ms ("
+                + (linhas * 1000 / millis) + " linhas/s)"
+                + (rejeitadas == 0 ? "" : ", " + rejeitadas + " linhas rejeitadas"));
+    }
+
+    /**
+     * Contadores de linhas lidas, gravadas e rejeitadas de uma importação, atualizados pelos estágios do pipeline.
+     */
+    private static final class Progresso {
+
+        private final LongAdder lidas = new LongAdder();
+        private final LongAdder gravadas = new LongAdder();
+        private final LongAdder rejeitadas = new LongAdder();
+    }
+
+    /**
+     * Lote que trafega entre os estágios do pipeline, identificado pela sua posição no arquivo. Mantém as linhas de
+     * origem, para que o gravador possa convertê-las novamente se a gravação do lote falhar.
+     *
+     * @param <E> o tipo do conteúdo do lote
+     */
+    private static final class Lote<E> {
+
+        private static final Lote<?> FIM = new Lote<>(-1, null, null, null, 0);
+
+        private final long sequencia;
+        private final E conteudo;
+        private final ArquivoCarga posicao;
+        private final LeitorRegistros.Bloco linhas;
+        private final long primeiraLinha;
+
+        private Lote(long sequencia, E conteudo, ArquivoCarga posicao, LeitorRegistros.Bloco linhas,
+                long primeiraLinha) {
+            this.sequencia = sequencia;
+            this.conteudo = conteudo;
+            this.posicao = posicao;
+            this.linhas = linhas;
+            this.primeiraLinha = primeiraLinha;
+        }
+
+        /**
+         * Obtém o marcador de fim de fluxo enviado pelo estágio anterior.
+         */
+        @SuppressWarnings("unchecked")
+        private static <E> Lote<E> fim() {
+            return (Lote<E>) FIM;
+        }
+
+        private boolean isFim() {
+            return this == FIM;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.Checksum;
+
+/**
+ * Leitor dos arquivos de carga baseado em {@link MappedByteBuffer}.
+ *
+ * <p>O arquivo é mapeado em memória em regiões de até {@value #TAMANHO_REGIAO} bytes, sempre terminadas em uma
+ * quebra de linha, e as linhas são localizadas diretamente nos bytes mapeados. O leitor não cria {@link String}s: ele
+ * entrega {@link Bloco}s com as posições das linhas, que são separadas em campos por um {@link Registro}.</p>
+ *
+ * <p>Linhas vazias são ignoradas e o {@code \r} de arquivos gerados no Windows é removido junto com os espaços das
+ * extremidades de cada campo.</p>
+ *
+ * <p>A leitura pode começar no meio do arquivo, para continuar uma importação anterior, e pode acumular um checksum de
+ * todos os bytes percorridos, que identifica o conteúdo já importado.</p>
+ */
+public final class LeitorRegistros implements Closeable {
+
+    /**
+     * Tamanho máximo de cada região mapeada do arquivo.
+     */
+    static final int TAMANHO_REGIAO = 256 * 1024 * 1024;
+
+    private final FileChannel canal;
+    private final long tamanhoArquivo;
+    private final int tamanhoRegiao;
+    private long inicioRegiao;
+    private MappedByteBuffer regiao;
+    private final Checksum checksum;
+
+    /**
+     * Abre o arquivo para leitura.
+     *
+     * @param arquivo o caminho do arquivo
+     * @throws IOException caso o arquivo não possa ser aberto
+     */
+    public LeitorRegistros(Path arquivo) throws IOException {
+        this(arquivo, 0, null, TAMANHO_REGIAO);
+    }
+
+    /**
+     * Abre o arquivo para leitura a partir de uma posição, que deve ser o início de uma linha.
+     *
+     * @param arquivo o caminho do arquivo
+     * @param inicio a posição, em bytes, da primeira linha a ser lida
+     * @param checksum checksum atualizado com os bytes de cada bloco lido, ou {@code null}
+     * @throws IOException caso o arquivo não possa ser aberto
+     */
+    public LeitorRegistros(Path arquivo, long inicio, Checksum checksum) throws IOException {
+        this(arquivo, inicio, checksum, TAMANHO_REGIAO);
+    }
+
+    LeitorRegistros(Path arquivo, long inicio, Checksum checksum, int tamanhoRegiao) throws IOException {
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        this.tamanhoArquivo = canal.size();
+        this.tamanhoRegiao = tamanhoRegiao;
+        this.inicioRegiao = inicio;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Atualiza o checksum com os primeiros bytes de um arquivo, mapeando-o em regiões como na leitura.
+     *
+     * @param arquivo o caminho do arquivo
+     * @param tamanho a quantidade de bytes, a partir do início, incluídos no checksum
+     * @param checksum o checksum a ser atualizado
+     * @throws IOException caso o arquivo não possa ser lido ou tenha menos bytes que o informado
+     */
+    public static void calcularChecksum(Path arquivo, long tamanho, Checksum checksum) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            if (canal.size() < tamanho) {
+                throw new IOException("O arquivo " + arquivo + " tem menos de " + tamanho + " bytes");
+            }
+            for (long inicio = 0; inicio < tamanho; inicio += TAMANHO_REGIAO) {
+                checksum.update(canal.map(FileChannel.MapMode.READ_ONLY, inicio,
+                        Math.min(tamanho - inicio, TAMANHO_REGIAO)));
+            }
+        }
+    }
+
+    /**
+     * Obtém a posição, em bytes, logo após a última linha lida, de onde uma leitura futura pode continuar.
+     *
+     * @return a posição no arquivo
+     */
+    public long posicao() {
+        return regiao == null ? inicioRegiao : inicioRegiao + regiao.position();
+    }
+
+    /**
+     * Preenche o bloco com as próximas linhas do arquivo, até a capacidade do bloco. Um bloco nunca atravessa duas
+     * regiões mapeadas, portanto pode retornar menos linhas que a capacidade antes do fim do arquivo.
+     *
+     * @param bloco o bloco a ser preenchido
+     * @return {@code false} se o arquivo já foi lido por completo
+     * @throws IOException caso ocorra algum erro ao mapear o arquivo
+     */
+    public boolean proximoBloco(Bloco bloco) throws IOException {
+        bloco.qtde = 0;
+
+        while (regiao == null || !regiao.hasRemaining()) {
+            if (!mapearProximaRegiao()) {
+                return false;
+            }
+        }
+
+        bloco.buffer = regiao;
+        int inicioBloco = regiao.position();
+        int posicao = inicioBloco;
+        int limite = regiao.limit();
+
+        while (posicao < limite && bloco.qtde < bloco.inicios.length) {
+            int fim = posicao;
+            while (fim < limite && regiao.get(fim) != '\n') {
+                fim++;
+            }
+
+            int fimLinha = fim;
+            if (fimLinha > posicao && regiao.get(fimLinha - 1) == '\r') {
+                fimLinha--;
+            }
+            if (fimLinha > posicao) {
+                bloco.inicios[bloco.qtde] = posicao;
+                bloco.fins[bloco.qtde] = fimLinha;
+                bloco.qtde++;
+            }
+
+            posicao = fim + 1;
+        }
+
+        regiao.position(Math.min(posicao, limite));
+
+        if (checksum != null) {
+            ByteBuffer lidos = regiao.duplicate();
+            lidos.position(inicioBloco).limit(regiao.position());
+            checksum.update(lidos);
+        }
+
+        return true;
+    }
+
+    /**
+     * Mapeia a próxima região do arquivo, recuando o seu fim até a última quebra de linha para que nenhuma linha
+     * fique dividida entre duas regiões.
+     */
+    private boolean mapearProximaRegiao() throws IOException {
+        if (regiao != null) {
+            inicioRegiao += regiao.limit();
+        }
+        if (inicioRegiao >= tamanhoArquivo) {
+            regiao = null;
+            return false;
+        }
+
+        long restante = tamanhoArquivo - inicioRegiao;
+        int tamanho = (int) Math.min(restante, tamanhoRegiao);
+        regiao = canal.map(FileChannel.MapMode.READ_ONLY, inicioRegiao, tamanho);
+
+        if (tamanho < restante) {
+            int fim = tamanho;
+            while (fim > 0 && regiao.get(fim - 1) != '\n') {
+                fim--;
+            }
+            if (fim == 0) {
+                throw new IOException("Linha maior que " + tamanhoRegiao + " bytes na posição " + inicioRegiao);
+            }
+            regiao.limit(fim);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    /**
+     * Conjunto de linhas de uma mesma região mapeada, representadas apenas pelas suas posições.
+     */
+    public static final class Bloco {
+
+        private ByteBuffer buffer;
+        private final int[] inicios;
+        private final int[] fins;
+        private int qtde;
+
+        /**
+         * Cria um bloco vazio.
+         *
+         * @param capacidade a quantidade máxima de linhas do bloco
+         */
+        public Bloco(int capacidade) {
+            this.inicios = new int[capacidade];
+            this.fins = new int[capacidade];
+        }
+
+        /**
+         * Obtém a quantidade de linhas do bloco.
+         *
+         * @return a quantidade de linhas
+         */
+        public int qtde() {
+            return qtde;
+        }
+
+        /**
+         * Percorre as linhas do bloco, posicionando o mesmo {@link Registro} sobre cada uma delas.
+         *
+         * @param registro o registro reutilizado para todas as linhas
+         * @param acao a ação executada para cada linha
+         */
+        public void paraCada(Registro registro, Consumer<Registro> acao) {
+            for (int i = 0; i < qtde; i++) {
+                registro.posicionar(buffer, inicios[i], fins[i]);
+                acao.accept(registro);
+            }
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package br.edu.infnet.appMatheusAvelino.model.service;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Paciente;
+import br.edu.infnet.appMatheusAvelino.model.dto.Pagina;
+import br.edu.infnet.appMatheusAvelino.model.dto.ResumoPaciente;
+import br.edu.infnet.appMatheusAvelino.model.repository.AtendimentoRepository;
 import br.edu.infnet.appMatheusAvelino.model.repository.PacienteRepository;
+import br.edu.infnet.appMatheusAvelino.model.service.PainelService.Contador;
+import br.edu.infnet.appMatheusAvelino.model.service.VersaoService.Tabela;
 
 /**
  * Serviço responsável pela gestão de pacientes no sistema.
@@ -25,6 +33,48 @@ public class PacienteService {
     @Autowired
     private PacienteRepository pacienteRepository;
 
+    /**
+     * Repositório usado para obter os atendimentos excluídos em cascata.
+     */
+    @Autowired
+    private AtendimentoRepository atendimentoRepository;
+
+    /**
+     * Serviço do painel, atualizado a cada inclusão e exclusão.
+     */
+    @Autowired
+    private PainelService painelService;
+
+    /**
+     * Serviço da agenda, que libera os horários dos atendimentos excluídos junto com o paciente.
+     */
+    @Autowired
+    private AgendaService agendaService;
+
+    /**
+     * Serviço da busca textual, que indexa os pacientes pelo nome, e-mail, CPF e endereço.
+     */
+    @Autowired
+    private BuscaService buscaService;
+
+    /**
+     * Serviço dos relatórios, que descarta os atendimentos excluídos junto com o paciente.
+     */
+    @Autowired
+    private RelatorioService relatorioService;
+
+    /**
+     * Serviço das consultas analíticas, avisado dos atendimentos excluídos em cascata.
+     */
+    @Autowired
+    private AnaliseService analiseService;
+
+    /**
+     * Serviço das versões das tabelas, usadas nos ETags das respostas.
+     */
+    @Autowired
+    private VersaoService versaoService;
+
     /**
      * Inclui um novo paciente na base de dados.
      * 
@@ -35,12 +85,41 @@ public class PacienteService {
      */
     public void incluir(Paciente paciente) {
         try {
+            boolean novo = paciente.getId() == null;
             pacienteRepository.save(paciente);
+            versaoService.registrarAlteracao(Tabela.PACIENTE);
+            buscaService.indexar(paciente);
+            if (novo) {
+                painelService.somar(Contador.PACIENTE, 1);
+            }
         } catch (Exception e) {
             System.err.println("[ERROR] " + e.getMessage());
         }
     }
 
+    /**
+     * Inclui um lote de pacientes na base de dados.
+     * 
+     * <p>Usado pela importação em lote. Deve ser chamado dentro de uma transação aberta pelo chamador, permitindo
+     * que os INSERTs sejam agrupados em lotes JDBC. Ao contrário de {@link #incluir(Paciente)}, os erros são propagados
+     * para que a transação do lote seja desfeita.</p>
+     * 
+     * @param pacientes Os pacientes a serem incluídos. Não deve ser nulo.
+     */
+    public void incluirLote(Iterable<Paciente> pacientes) {
+        long novos = 0;
+        for (Paciente paciente : pacientes) {
+            if (paciente.getId() == null) {
+                novos++;
+            }
+        }
+
+        pacienteRepository.saveAll(pacientes);
+        pacientes.forEach(buscaService::indexar);
+        painelService.somar(Contador.PACIENTE, novos);
+        versaoService.registrarAlteracao(Tabela.PACIENTE);
+    }
+
     /**
      * Obtém a lista completa de pacientes.
      * 
@@ -64,16 +143,57 @@ public class PacienteService {
         return pacienteRepository.findAll(Sort.by(Sort.Direction.ASC, orderBy));
     }
 
+    /**
+     * Obtém o resumo de todos os pacientes, ordenados pelo ID.
+     * 
+     * <p>Usado pela listagem REST: seleciona apenas as colunas do resumo e conta os atendimentos no banco de dados,
+     * sem carregar as entidades, o endereço nem os atendimentos.</p>
+     * 
+     * @return Os resumos de todos os pacientes.
+     */
+    public List<ResumoPaciente> obterResumos() {
+        return pacienteRepository.findResumos();
+    }
+
+    /**
+     * Obtém uma página de resumos de pacientes pelo cursor.
+     * 
+     * <p>A página é ordenada pelo ID e começa após o paciente informado no cursor, sem percorrer os registros
+     * anteriores.</p>
+     * 
+     * @param cursor O ID do último paciente da página anterior, ou null para a primeira página.
+     * @param tamanho A quantidade de pacientes da página, limitada a {@link Pagina#TAMANHO_MAXIMO}.
+     * @return A {@link Pagina} com os resumos dos pacientes e o cursor da próxima página.
+     */
+    public Pagina<ResumoPaciente> obterPagina(Integer cursor, int tamanho) {
+        return Pagina.de(pacienteRepository.findResumosByIdGreaterThan(cursor == null ? 0 : cursor,
+                Pagina.porId(tamanho)), ResumoPaciente::getId);
+    }
+
+    /**
+     * Obtém uma página numerada de pacientes, ordenada pelo campo especificado.
+     * 
+     * @param orderBy O nome do campo pelo qual os pacientes devem ser ordenados.
+     * @param pagina O número da página, começando em zero.
+     * @param tamanho A quantidade de pacientes da página, limitada a {@link Pagina#TAMANHO_MAXIMO}.
+     * @return Os pacientes da página, sem a contagem do total de registros.
+     */
+    public Slice<Paciente> obterLista(String orderBy, int pagina, int tamanho) {
+        return pacienteRepository.findAllBy(Pagina.numerada(pagina, tamanho, Sort.by(Sort.Direction.ASC, orderBy)));
+    }
+
     /**
      * Obtém um paciente pelo ID.
      * 
      * <p>Este método recupera um paciente com base no ID fornecido. Se o paciente não for encontrado, retorna null.</p>
      * 
+     * <p>O paciente é carregado com endereço e atendimentos em uma única consulta.</p>
+     * 
      * @param id O ID do paciente a ser recuperado. Não deve ser nulo.
      * @return O {@link Paciente} correspondente ao ID fornecido, ou null se nenhum paciente for encontrado.
      */
     public Paciente obterPorId(Integer id) {
-        return pacienteRepository.findById(id).orElse(null);
+        return pacienteRepository.findDetalheById(id).orElse(null);
     }
 
     /**
@@ -84,7 +204,15 @@ public class PacienteService {
      * @param id O ID do paciente a ser excluído. Não deve ser nulo.
      */
     public void excluir(Integer id) {
+        List<Integer> atendimentos = atendimentoRepository.findIdByPacienteId(id);
         pacienteRepository.deleteById(id);
+        buscaService.remover(id);
+        painelService.somar(Contador.PACIENTE, -1);
+        painelService.somar(Contador.ATENDIMENTO, -atendimentos.size());
+        agendaService.liberar(atendimentos);
+        relatorioService.remover(atendimentos);
+        analiseService.invalidar(atendimentos);
+        versaoService.registrarAlteracao(Tabela.PACIENTE, Tabela.ATENDIMENTO);
     }
 
     /**
@@ -0,0 +1,111 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço responsável pelos contadores exibidos no painel da página inicial.
+ *
+ * <p>As quantidades de psicólogos, pacientes, abordagens e atendimentos são mantidas em memória, de modo que a página
+ * inicial e as listagens não consultam o banco de dados para exibi-las. A quantidade de usuários é a soma de
+ * psicólogos e pacientes, as duas especializações de {@code Usuario}.</p>
+ *
+ * <p>Os contadores são:</p>
+ * <ul>
+ * <li>carregados com uma única consulta na inicialização, antes da execução dos loaders;</li>
+ * <li>atualizados pelos serviços a cada inclusão e exclusão. Dentro de uma transação, a atualização só é aplicada
+ * após o commit;</li>
+ * <li>recarregados do banco de dados a cada {@code app.painel.intervalo-atualizacao} (ISO-8601, por exemplo
+ * {@code PT1M}), corrigindo alterações feitas fora dos serviços.</li>
+ * </ul>
+ */
+@Service
+public class PainelService {
+
+    /**
+     * Contadores mantidos pelo painel.
+     */
+    public enum Contador {
+        PSICOLOGO, PACIENTE, ABORDAGEM, ATENDIMENTO
+    }
+
+    /**
+     * Conta todas as tabelas do painel em uma única ida ao banco de dados, na ordem de {@link Contador}.
+     */
+    private static final String CONSULTA_QUANTIDADES = "select (select count(*) from tpsicologo),"
+            + " (select count(*) from tpaciente), (select count(*) from tabordagem),"
+            + " (select count(*) from tatendimento)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<Contador, AtomicLong> contadores = new EnumMap<>(Contador.class);
+
+    /**
+     * Cria o painel com todos os contadores zerados.
+     */
+    public PainelService() {
+        for (Contador contador : Contador.values()) {
+            contadores.put(contador, new AtomicLong());
+        }
+    }
+
+    /**
+     * Recarrega todos os contadores do banco de dados.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Scheduled(initialDelayString = "${app.painel.intervalo-atualizacao:PT1M}",
+            fixedDelayString = "${app.painel.intervalo-atualizacao:PT1M}")
+    public void recarregar() {
+        try {
+            Object[] quantidades = (Object[]) entityManager.createNativeQuery(CONSULTA_QUANTIDADES).getSingleResult();
+            for (Contador contador : Contador.values()) {
+                contadores.get(contador).set(((Number) quantidades[contador.ordinal()]).longValue());
+            }
+        } catch (Exception e) {
+            System.err.println("[ERROR] " + e.getMessage());
+        }
+    }
+
+    /**
+     * Soma uma quantidade a um contador. Se houver uma transação em andamento, a soma é aplicada apenas após o commit.
+     *
+     * @param contador o contador a ser atualizado
+     * @param delta a quantidade a ser somada, negativa nas exclusões
+     */
+    public void somar(Contador contador, long delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        AposCommit.executar(() -> contadores.get(contador).addAndGet(delta));
+    }
+
+    /**
+     * Obtém o valor atual de um contador.
+     *
+     * @param contador o contador
+     * @return a quantidade de registros
+     */
+    public long obterQtde(Contador contador) {
+        return contadores.get(contador).get();
+    }
+
+    /**
+     * Obtém a quantidade de usuários, isto é, de psicólogos e pacientes.
+     *
+     * @return a quantidade de usuários
+     */
+    public long obterQtdeUsuario() {
+        return obterQtde(Contador.PSICOLOGO) + obterQtde(Contador.PACIENTE);
+    }
+}
@@ -1,11 +1,19 @@
 package br.edu.infnet.appMatheusAvelino.model.service;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
+import br.edu.infnet.appMatheusAvelino.model.dto.Pagina;
+import br.edu.infnet.appMatheusAvelino.model.dto.ResumoPsicologo;
+import br.edu.infnet.appMatheusAvelino.model.repository.AtendimentoRepository;
 import br.edu.infnet.appMatheusAvelino.model.repository.PsicologoRepository;
+import br.edu.infnet.appMatheusAvelino.model.service.PainelService.Contador;
+import br.edu.infnet.appMatheusAvelino.model.service.VersaoService.Tabela;
 
 /**
  * Serviço responsável pela gestão de psicólogos no sistema.
@@ -25,6 +33,54 @@ public class PsicologoService {
     @Autowired
     private PsicologoRepository psicologoRepository;
 
+    /**
+     * Repositório usado para obter os atendimentos excluídos em cascata.
+     */
+    @Autowired
+    private AtendimentoRepository atendimentoRepository;
+
+    /**
+     * Serviço do painel, atualizado a cada inclusão e exclusão.
+     */
+    @Autowired
+    private PainelService painelService;
+
+    /**
+     * Serviço da agenda, que libera os horários dos atendimentos excluídos junto com o psicólogo.
+     */
+    @Autowired
+    private AgendaService agendaService;
+
+    /**
+     * Serviço da busca textual, que indexa os psicólogos pelo nome, e-mail, CRP e endereço.
+     */
+    @Autowired
+    private BuscaService buscaService;
+
+    /**
+     * Serviço dos relatórios, que descarta os atendimentos excluídos junto com o psicólogo.
+     */
+    @Autowired
+    private RelatorioService relatorioService;
+
+    /**
+     * Serviço das consultas analíticas, avisado dos atendimentos excluídos em cascata.
+     */
+    @Autowired
+    private AnaliseService analiseService;
+
+    /**
+     * Serviço das versões das tabelas, usadas nos ETags das respostas.
+     */
+    @Autowired
+    private VersaoService versaoService;
+
+    /**
+     * Serviço da busca de horários livres, que indexa os psicólogos pela abordagem.
+     */
+    @Autowired
+    private DisponibilidadeService disponibilidadeService;
+
     /**
      * Inclui um novo psicólogo na base de dados.
      * 
@@ -35,12 +91,43 @@ public class PsicologoService {
      */
     public void incluir(Psicologo psicologo) {
         try {
+            boolean novo = psicologo.getId() == null;
             psicologoRepository.save(psicologo);
+            versaoService.registrarAlteracao(Tabela.PSICOLOGO);
+            buscaService.indexar(psicologo);
+            disponibilidadeService.registrarPsicologo(psicologo);
+            if (novo) {
+                painelService.somar(Contador.PSICOLOGO, 1);
+            }
         } catch (Exception e) {
             System.err.println("[ERROR] " + e.getMessage());
         }
     }
 
+    /**
+     * Inclui um lote de psicólogos na base de dados.
+     * 
+     * <p>Usado pela importação em lote. Deve ser chamado dentro de uma transação aberta pelo chamador, permitindo
+     * que os INSERTs sejam agrupados em lotes JDBC. Ao contrário de {@link #incluir(Psicologo)}, os erros são propagados
+     * para que a transação do lote seja desfeita.</p>
+     * 
+     * @param psicologos Os psicólogos a serem incluídos. Não deve ser nulo.
+     */
+    public void incluirLote(Iterable<Psicologo> psicologos) {
+        long novos = 0;
+        for (Psicologo psicologo : psicologos) {
+            if (psicologo.getId() == null) {
+                novos++;
+            }
+        }
+
+        psicologoRepository.saveAll(psicologos);
+        psicologos.forEach(buscaService::indexar);
+        psicologos.forEach(disponibilidadeService::registrarPsicologo);
+        painelService.somar(Contador.PSICOLOGO, novos);
+        versaoService.registrarAlteracao(Tabela.PSICOLOGO);
+    }
+
     /**
      * Obtém a lista completa de psicólogos.
      * 
@@ -64,16 +151,57 @@ public class PsicologoService {
         return psicologoRepository.findAll(Sort.by(Sort.Direction.ASC, orderBy));
     }
 
+    /**
+     * Obtém o resumo de todos os psicólogos, ordenados pelo ID.
+     * 
+     * <p>Usado pela listagem REST: seleciona apenas as colunas do resumo e conta os atendimentos no banco de dados,
+     * sem carregar as entidades, o endereço nem os atendimentos.</p>
+     * 
+     * @return Os resumos de todos os psicólogos.
+     */
+    public List<ResumoPsicologo> obterResumos() {
+        return psicologoRepository.findResumos();
+    }
+
+    /**
+     * Obtém uma página de resumos de psicólogos pelo cursor.
+     * 
+     * <p>A página é ordenada pelo ID e começa após o psicólogo informado no cursor, sem percorrer os registros
+     * anteriores.</p>
+     * 
+     * @param cursor O ID do último psicólogo da página anterior, ou null para a primeira página.
+     * @param tamanho A quantidade de psicólogos da página, limitada a {@link Pagina#TAMANHO_MAXIMO}.
+     * @return A {@link Pagina} com os resumos dos psicólogos e o cursor da próxima página.
+     */
+    public Pagina<ResumoPsicologo> obterPagina(Integer cursor, int tamanho) {
+        return Pagina.de(psicologoRepository.findResumosByIdGreaterThan(cursor == null ? 0 : cursor,
+                Pagina.porId(tamanho)), ResumoPsicologo::getId);
+    }
+
+    /**
+     * Obtém uma página numerada de psicólogos, ordenada pelo campo especificado.
+     * 
+     * @param orderBy O nome do campo pelo qual os psicólogos devem ser ordenados.
+     * @param pagina O número da página, começando em zero.
+     * @param tamanho A quantidade de psicólogos da página, limitada a {@link Pagina#TAMANHO_MAXIMO}.
+     * @return Os psicólogos da página, sem a contagem do total de registros.
+     */
+    public Slice<Psicologo> obterLista(String orderBy, int pagina, int tamanho) {
+        return psicologoRepository.findAllBy(Pagina.numerada(pagina, tamanho, Sort.by(Sort.Direction.ASC, orderBy)));
+    }
+
     /**
      * Obtém um psicólogo pelo ID.
      * 
      * <p>Este método recupera um psicólogo com base no ID fornecido. Se o psicólogo não for encontrado, retorna null.</p>
      * 
+     * <p>O psicólogo é carregado com endereço, abordagem e atendimentos em uma única consulta.</p>
+     * 
      * @param id O ID do psicólogo a ser recuperado. Não deve ser nulo.
      * @return O {@link Psicologo} correspondente ao ID fornecido, ou null se nenhum psicólogo for encontrado.
      */
     public Psicologo obterPorId(Integer id) {
-        return psicologoRepository.findById(id).orElse(null);
+        return psicologoRepository.findDetalheById(id).orElse(null);
     }
 
     /**
@@ -84,7 +212,16 @@ public class PsicologoService {
      * @param id O ID do psicólogo a ser excluído. Não deve ser nulo.
      */
     public void excluir(Integer id) {
+        List<Integer> atendimentos = atendimentoRepository.findIdByPsicologoId(id);
         psicologoRepository.deleteById(id);
+        buscaService.remover(id);
+        painelService.somar(Contador.PSICOLOGO, -1);
+        painelService.somar(Contador.ATENDIMENTO, -atendimentos.size());
+        disponibilidadeService.removerPsicologo(id);
+        agendaService.liberar(atendimentos);
+        relatorioService.remover(atendimentos);
+        analiseService.invalidar(atendimentos);
+        versaoService.registrarAlteracao(Tabela.PSICOLOGO, Tabela.ATENDIMENTO);
     }
 
     /**
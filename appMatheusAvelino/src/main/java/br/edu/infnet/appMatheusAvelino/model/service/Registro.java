@@ -0,0 +1,159 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Visão de uma linha de um arquivo de carga, com os campos separados por ";".
+ *
+ * <p>A linha não é copiada: o registro guarda apenas as posições de início e fim de cada campo dentro do
+ * {@link ByteBuffer} mapeado pelo {@link LeitorRegistros}. Inteiros e booleanos são lidos diretamente dos bytes e
+ * uma {@link String} só é criada quando o campo é pedido com {@link #texto(int)}. Os campos são sempre lidos sem os
+ * espaços das extremidades, como faria um {@code trim()}.</p>
+ *
+ * <p>Uma instância é reutilizada para todas as linhas de um bloco e não deve ser compartilhada entre threads.</p>
+ */
+public final class Registro {
+
+    private static final byte SEPARADOR = ';';
+
+    private ByteBuffer buffer;
+    private int[] inicios = new int[16];
+    private int[] fins = new int[16];
+    private int qtdeCampos;
+    private byte[] copia = new byte[64];
+
+    /**
+     * Posiciona o registro sobre a linha {@code [inicio, fim)} do buffer, separando os campos.
+     *
+     * @param buffer o buffer que contém a linha
+     * @param inicio a posição do primeiro byte da linha
+     * @param fim a posição seguinte ao último byte da linha, sem a quebra de linha
+     */
+    void posicionar(ByteBuffer buffer, int inicio, int fim) {
+        this.buffer = buffer;
+        this.qtdeCampos = 0;
+
+        int campo = inicio;
+        for (int i = inicio; i < fim; i++) {
+            if (buffer.get(i) == SEPARADOR) {
+                adicionarCampo(campo, i);
+                campo = i + 1;
+            }
+        }
+        adicionarCampo(campo, fim);
+    }
+
+    private void adicionarCampo(int inicio, int fim) {
+        if (qtdeCampos == inicios.length) {
+            inicios = Arrays.copyOf(inicios, qtdeCampos * 2);
+            fins = Arrays.copyOf(fins, qtdeCampos * 2);
+        }
+
+        // Compara os bytes sem sinal: os bytes de continuação do UTF-8 (0x80 a 0xBF) são negativos em Java
+        while (inicio < fim && (buffer.get(inicio) & 0xFF) <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && (buffer.get(fim - 1) & 0xFF) <= ' ') {
+            fim--;
+        }
+
+        inicios[qtdeCampos] = inicio;
+        fins[qtdeCampos] = fim;
+        qtdeCampos++;
+    }
+
+    /**
+     * Obtém a quantidade de campos da linha.
+     *
+     * @return a quantidade de campos
+     */
+    public int qtdeCampos() {
+        return qtdeCampos;
+    }
+
+    /**
+     * Obtém o campo como texto, decodificado em UTF-8.
+     *
+     * @param campo o índice do campo, começando em zero
+     * @return o conteúdo do campo
+     */
+    public String texto(int campo) {
+        verificar(campo);
+        int tamanho = fins[campo] - inicios[campo];
+
+        if (copia.length < tamanho) {
+            copia = new byte[Math.max(tamanho, copia.length * 2)];
+        }
+        for (int i = 0; i < tamanho; i++) {
+            copia[i] = buffer.get(inicios[campo] + i);
+        }
+
+        return new String(copia, 0, tamanho, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Obtém o campo como inteiro, sem criar uma {@link String} intermediária.
+     *
+     * @param campo o índice do campo, começando em zero
+     * @return o valor do campo
+     * @throws NumberFormatException se o campo não contiver um inteiro válido
+     */
+    public int inteiro(int campo) {
+        verificar(campo);
+        int i = inicios[campo];
+        int fim = fins[campo];
+        boolean negativo = i < fim && buffer.get(i) == '-';
+
+        if (negativo || (i < fim && buffer.get(i) == '+')) {
+            i++;
+        }
+        if (i == fim) {
+            throw new NumberFormatException("Campo " + campo + " vazio");
+        }
+
+        long valor = 0;
+        for (; i < fim; i++) {
+            int digito = buffer.get(i) - '0';
+            if (digito < 0 || digito > 9) {
+                throw new NumberFormatException("Campo " + campo + " não é numérico: " + texto(campo));
+            }
+            valor = valor * 10 + digito;
+            if (valor > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException("Campo " + campo + " excede o limite de int: " + texto(campo));
+            }
+        }
+
+        valor = negativo ? -valor : valor;
+        if (valor > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Campo " + campo + " excede o limite de int: " + texto(campo));
+        }
+
+        return (int) valor;
+    }
+
+    /**
+     * Obtém o campo como booleano, com a mesma regra de {@link Boolean#parseBoolean(String)}: apenas "true",
+     * sem diferenciar maiúsculas de minúsculas, é verdadeiro.
+     *
+     * @param campo o índice do campo, começando em zero
+     * @return o valor do campo
+     */
+    public boolean booleano(int campo) {
+        verificar(campo);
+        int i = inicios[campo];
+
+        return fins[campo] - i == 4
+                && (buffer.get(i) | 0x20) == 't'
+                && (buffer.get(i + 1) | 0x20) == 'r'
+                && (buffer.get(i + 2) | 0x20) == 'u'
+                && (buffer.get(i + 3) | 0x20) == 'e';
+    }
+
+    private void verificar(int campo) {
+        if (campo >= qtdeCampos) {
+            throw new ArrayIndexOutOfBoundsException("A linha possui " + qtdeCampos + " campos, campo pedido: " + campo);
+        }
+    }
+}
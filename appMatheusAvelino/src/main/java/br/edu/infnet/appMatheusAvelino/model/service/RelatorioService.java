@@ -0,0 +1,258 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
+import br.edu.infnet.appMatheusAvelino.model.repository.AtendimentoRepository;
+
+/**
+ * Serviço responsável pelos relatórios de atendimentos, consolidados por psicólogo, por paciente e no total de cada
+ * mês.
+ *
+ * <p>Os relatórios não são calculados a partir dos atendimentos a cada consulta: o serviço mantém em memória
+ * contadores já agregados por mês, tipo de atendimento e status (efetuado ou em andamento), para cada psicólogo,
+ * para cada paciente e para todos os atendimentos. Uma consulta de um mês lê apenas os contadores desse mês, sem
+ * depender da quantidade de atendimentos.</p>
+ *
+ * <p>Para desfazer a contagem de um atendimento alterado ou excluído, o serviço guarda as dimensões com que cada
+ * atendimento foi contado. Os contadores são recalculados na inicialização com uma única consulta e atualizados pelos
+ * serviços a cada inclusão, alteração e exclusão, após o commit da transação. Atendimentos sem data e hora não são
+ * contados.</p>
+ */
+@Service
+public class RelatorioService {
+
+    /**
+     * Chave sob a qual ficam os totais de todos os atendimentos.
+     */
+    private static final Integer TODOS = 0;
+
+    @Autowired
+    private AtendimentoRepository atendimentoRepository;
+
+    /**
+     * Dimensões com que cada atendimento foi contado, pelo ID do atendimento.
+     */
+    private final Map<Integer, Fato> fatos = new ConcurrentHashMap<>();
+
+    private final Consolidado porPsicologo = new Consolidado();
+    private final Consolidado porPaciente = new Consolidado();
+
+    /**
+     * Totais de todos os atendimentos, sob a chave {@link #TODOS}.
+     */
+    private final Consolidado geral = new Consolidado();
+
+    /**
+     * Recalcula todos os contadores a partir dos atendimentos gravados.
+     *
+     * @return a quantidade de atendimentos contados
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(4)
+    public synchronized long recalcular() {
+        fatos.clear();
+        porPsicologo.limpar();
+        porPaciente.limpar();
+        geral.limpar();
+
+        for (Object[] atendimento : atendimentoRepository.findDimensoesRelatorio()) {
+            aplicar((Integer) atendimento[0], new Fato((Integer) atendimento[1], (Integer) atendimento[2],
+                    (LocalDateTime) atendimento[3], (String) atendimento[4], (Boolean) atendimento[5]));
+        }
+        return fatos.size();
+    }
+
+    /**
+     * Conta um atendimento incluído ou, se ele já estava contado, substitui as dimensões anteriores pelas atuais. Se
+     * houver uma transação em andamento, a contagem é aplicada apenas após o commit.
+     *
+     * @param atendimento o atendimento gravado
+     */
+    public void registrar(Atendimento atendimento) {
+        Integer id = atendimento.getId();
+        Fato fato = new Fato(atendimento.getPsicologo() == null ? null : atendimento.getPsicologo().getId(),
+                atendimento.getPaciente() == null ? null : atendimento.getPaciente().getId(),
+                atendimento.getDataHora(), atendimento.getTipoAtendimento(), atendimento.isStatusAtendimento());
+        AposCommit.executar(() -> aplicar(id, fato));
+    }
+
+    /**
+     * Descarta a contagem dos atendimentos excluídos. Se houver uma transação em andamento, o descarte é aplicado
+     * apenas após o commit.
+     *
+     * @param ids os IDs dos atendimentos excluídos
+     */
+    public void remover(Collection<Integer> ids) {
+        AposCommit.executar(() -> {
+            for (Integer id : ids) {
+                aplicar(id, null);
+            }
+        });
+    }
+
+    /**
+     * Obtém o relatório mensal dos atendimentos de um psicólogo.
+     *
+     * @param idPsicologo o ID do psicólogo
+     * @param mes o mês desejado, ou {@code null} para todos os meses com atendimentos
+     * @return por mês, o total de atendimentos, os efetuados, os em andamento e a mesma divisão por tipo
+     */
+    public Map<String, Object> obterPorPsicologo(Integer idPsicologo, YearMonth mes) {
+        return porPsicologo.obter(idPsicologo, mes);
+    }
+
+    /**
+     * Obtém o relatório mensal dos atendimentos de um paciente.
+     *
+     * @param idPaciente o ID do paciente
+     * @param mes o mês desejado, ou {@code null} para todos os meses com atendimentos
+     * @return por mês, o total de atendimentos, os efetuados, os em andamento e a mesma divisão por tipo
+     */
+    public Map<String, Object> obterPorPaciente(Integer idPaciente, YearMonth mes) {
+        return porPaciente.obter(idPaciente, mes);
+    }
+
+    /**
+     * Obtém o relatório mensal de todos os atendimentos.
+     *
+     * @param mes o mês desejado, ou {@code null} para todos os meses com atendimentos
+     * @return por mês, o total de atendimentos, os efetuados, os em andamento e a mesma divisão por tipo
+     */
+    public Map<String, Object> obterGeral(YearMonth mes) {
+        return geral.obter(TODOS, mes);
+    }
+
+    /**
+     * Substitui a contagem de um atendimento: desconta as dimensões anteriores, se houver, e conta as novas, se
+     * informadas.
+     */
+    private synchronized void aplicar(Integer id, Fato novo) {
+        Fato anterior = novo == null || novo.mes == null ? fatos.remove(id) : fatos.put(id, novo);
+
+        if (anterior != null) {
+            somar(anterior, -1);
+        }
+        if (novo != null && novo.mes != null) {
+            somar(novo, 1);
+        }
+    }
+
+    private void somar(Fato fato, int delta) {
+        int status = fato.efetuado ? 1 : 0;
+        if (fato.idPsicologo != null) {
+            porPsicologo.somar(fato.idPsicologo, fato.mes, fato.tipo, status, delta);
+        }
+        if (fato.idPaciente != null) {
+            porPaciente.somar(fato.idPaciente, fato.mes, fato.tipo, status, delta);
+        }
+        geral.somar(TODOS, fato.mes, fato.tipo, status, delta);
+    }
+
+    /**
+     * Dimensões de um atendimento contado.
+     */
+    private static final class Fato {
+
+        private final Integer idPsicologo;
+        private final Integer idPaciente;
+        private final YearMonth mes;
+        private final String tipo;
+        private final boolean efetuado;
+
+        private Fato(Integer idPsicologo, Integer idPaciente, LocalDateTime dataHora, String tipo, Boolean efetuado) {
+            this.idPsicologo = idPsicologo;
+            this.idPaciente = idPaciente;
+            this.mes = dataHora == null ? null : YearMonth.from(dataHora);
+            this.tipo = tipo == null ? "" : tipo;
+            this.efetuado = Boolean.TRUE.equals(efetuado);
+        }
+    }
+
+    /**
+     * Contadores de atendimentos por chave (psicólogo, paciente ou todos), mês e tipo. Cada tipo tem dois contadores:
+     * o índice 0 conta os atendimentos em andamento e o índice 1 os efetuados.
+     */
+    private static final class Consolidado {
+
+        private final Map<Integer, Map<YearMonth, Map<String, AtomicLongArray>>> contadores = new ConcurrentHashMap<>();
+
+        private void limpar() {
+            contadores.clear();
+        }
+
+        /**
+         * Soma ao contador, descartando os meses e as chaves que ficam sem atendimentos. Chamado apenas sob a trava
+         * do serviço.
+         */
+        private void somar(Integer chave, YearMonth mes, String tipo, int status, int delta) {
+            Map<YearMonth, Map<String, AtomicLongArray>> meses = contadores.computeIfAbsent(chave,
+                    c -> new ConcurrentHashMap<>());
+            Map<String, AtomicLongArray> tipos = meses.computeIfAbsent(mes, m -> new ConcurrentHashMap<>());
+            AtomicLongArray contagem = tipos.computeIfAbsent(tipo, t -> new AtomicLongArray(2));
+            contagem.addAndGet(status, delta);
+
+            if (contagem.get(0) == 0 && contagem.get(1) == 0) {
+                tipos.remove(tipo);
+                if (tipos.isEmpty()) {
+                    meses.remove(mes);
+                    if (meses.isEmpty()) {
+                        contadores.remove(chave);
+                    }
+                }
+            }
+        }
+
+        private Map<String, Object> obter(Integer chave, YearMonth mes) {
+            Map<YearMonth, Map<String, AtomicLongArray>> meses = contadores.getOrDefault(chave, Map.of());
+            Map<String, Object> relatorio = new LinkedHashMap<>();
+
+            if (mes != null) {
+                relatorio.put(mes.toString(), resumir(meses.getOrDefault(mes, Map.of())));
+                return relatorio;
+            }
+
+            for (Map.Entry<YearMonth, Map<String, AtomicLongArray>> doMes : new TreeMap<>(meses).entrySet()) {
+                relatorio.put(doMes.getKey().toString(), resumir(doMes.getValue()));
+            }
+            return relatorio;
+        }
+
+        private static Map<String, Object> resumir(Map<String, AtomicLongArray> tipos) {
+            long emAndamento = 0;
+            long efetuados = 0;
+            Map<String, Object> porTipo = new TreeMap<>();
+
+            for (Map.Entry<String, AtomicLongArray> tipo : tipos.entrySet()) {
+                long pendentes = tipo.getValue().get(0);
+                long concluidos = tipo.getValue().get(1);
+                emAndamento += pendentes;
+                efetuados += concluidos;
+                Map<String, Long> contagem = new LinkedHashMap<>();
+                contagem.put("efetuados", concluidos);
+                contagem.put("emAndamento", pendentes);
+                porTipo.put(tipo.getKey(), contagem);
+            }
+
+            Map<String, Object> resumo = new LinkedHashMap<>();
+            resumo.put("total", emAndamento + efetuados);
+            resumo.put("efetuados", efetuados);
+            resumo.put("emAndamento", emAndamento);
+            resumo.put("porTipo", porTipo);
+            return resumo;
+        }
+    }
+}
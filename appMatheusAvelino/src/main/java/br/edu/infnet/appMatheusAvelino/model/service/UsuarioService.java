@@ -3,10 +3,12 @@ package br.edu.infnet.appMatheusAvelino.model.service;
 import java.util.Collection;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import br.edu.infnet.appMatheusAvelino.model.domain.Usuario;
+import br.edu.infnet.appMatheusAvelino.model.dto.Pagina;
 import br.edu.infnet.appMatheusAvelino.model.repository.UsuarioRepository;
 
 /**
@@ -50,6 +52,33 @@ public class UsuarioService {
 		return usuarioRepository.findAll(Sort.by(Sort.Direction.ASC, orderBy));
 	}
 
+	/**
+	 * Obtém uma página de usuários pelo cursor.
+	 * 
+	 * <p>A página é ordenada pelo ID e começa após o usuário informado no cursor, sem percorrer os registros
+	 * anteriores.</p>
+	 * 
+	 * @param cursor O ID do último usuário da página anterior, ou null para a primeira página.
+	 * @param tamanho A quantidade de usuários da página, limitada a {@link Pagina#TAMANHO_MAXIMO}.
+	 * @return A {@link Pagina} com os usuários e o cursor da próxima página.
+	 */
+	public Pagina<Usuario> obterPagina(Integer cursor, int tamanho) {
+		return Pagina.de(usuarioRepository.findByIdGreaterThan(cursor == null ? 0 : cursor, Pagina.porId(tamanho)),
+				Usuario::getId);
+	}
+
+	/**
+	 * Obtém uma página numerada de usuários, ordenada pelo campo especificado.
+	 * 
+	 * @param orderBy O nome do campo pelo qual os usuários devem ser ordenados.
+	 * @param pagina O número da página, começando em zero.
+	 * @param tamanho A quantidade de usuários da página, limitada a {@link Pagina#TAMANHO_MAXIMO}.
+	 * @return Os usuários da página, sem a contagem do total de registros.
+	 */
+	public Slice<Usuario> obterLista(String orderBy, int pagina, int tamanho) {
+		return usuarioRepository.findAllBy(Pagina.numerada(pagina, tamanho, Sort.by(Sort.Direction.ASC, orderBy)));
+	}
+
 	/**
 	 * Obtém a quantidade total de usuários.
 	 * 
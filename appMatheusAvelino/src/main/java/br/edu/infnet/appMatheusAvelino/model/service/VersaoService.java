@@ -0,0 +1,93 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Serviço responsável pelas versões das tabelas, usadas nas requisições GET condicionais ({@code ETag}).
+ *
+ * <p>Cada tabela tem um contador que só cresce, incrementado pelos serviços a cada inclusão, alteração e exclusão.
+ * Os controladores montam o ETag de uma resposta a partir das versões das tabelas que ela exibe e respondem
+ * {@code 304 Not Modified} a um {@code If-None-Match} igual sem consultar o banco de dados.
+ * Como a soma de contadores crescentes muda sempre que qualquer um deles muda, o ETag de uma resposta que depende de
+ * várias tabelas usa a soma das suas versões.</p>
+ *
+ * <p>Os contadores ficam em memória. Para que um ETag emitido antes de uma reinicialização não coincida com um novo,
+ * todo ETag inclui o instante da inicialização. Dentro de uma transação, o incremento é aplicado apenas após o commit,
+ * para que um cliente nunca guarde a versão nova com os dados anteriores.</p>
+ *
+ * <p>As respostas não trazem {@code Last-Modified}: com a resolução de um segundo do cabeçalho, um cliente que
+ * enviasse apenas {@code If-Modified-Since} receberia 304 após uma alteração feita no mesmo segundo da sua consulta.</p>
+ */
+@Service
+public class VersaoService {
+
+    /**
+     * Tabelas versionadas.
+     */
+    public enum Tabela {
+        ABORDAGEM, PSICOLOGO, PACIENTE, ATENDIMENTO
+    }
+
+    /**
+     * Instante da inicialização, em base 36, que prefixa todos os ETags.
+     */
+    private final String inicializacao;
+
+    private final Map<Tabela, AtomicLong> versoes = new EnumMap<>(Tabela.class);
+
+    /**
+     * Cria as versões de todas as tabelas zeradas.
+     */
+    public VersaoService() {
+        inicializacao = Long.toString(System.currentTimeMillis(), 36);
+        for (Tabela tabela : Tabela.values()) {
+            versoes.put(tabela, new AtomicLong());
+        }
+    }
+
+    /**
+     * Incrementa a versão das tabelas alteradas. Se houver uma transação em andamento, o incremento é aplicado apenas
+     * após o commit.
+     *
+     * @param tabelas as tabelas alteradas
+     */
+    public void registrarAlteracao(Tabela... tabelas) {
+        AposCommit.executar(() -> {
+            for (Tabela tabela : tabelas) {
+                versoes.get(tabela).incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Obtém o ETag de uma resposta que exibe as tabelas informadas.
+     *
+     * @param tabelas as tabelas exibidas pela resposta
+     * @return o ETag, entre aspas, que muda a cada alteração de qualquer uma das tabelas
+     */
+    public String obterEtag(Tabela... tabelas) {
+        long soma = 0;
+        for (Tabela tabela : tabelas) {
+            soma += versoes.get(tabela).get();
+        }
+        return "\"" + inicializacao + "-" + soma + "\"";
+    }
+
+    /**
+     * Verifica se o cliente já tem a versão atual das tabelas exibidas por uma resposta, comparando o
+     * {@code If-None-Match} da requisição com o ETag, e inclui o ETag na resposta.
+     *
+     * @param requisicao a requisição
+     * @param tabelas as tabelas exibidas pela resposta
+     * @return {@code true} se a resposta já foi preenchida com o status 304 (Not Modified) e o controlador não deve
+     *         consultar os dados
+     */
+    public boolean naoModificado(WebRequest requisicao, Tabela... tabelas) {
+        return requisicao.checkNotModified(obterEtag(tabelas));
+    }
+}
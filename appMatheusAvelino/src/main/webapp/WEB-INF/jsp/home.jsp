@@ -47,6 +47,25 @@
 					</c:forEach>
 				</tbody>
 			</table>
+			<ul class="pagination">
+				<c:choose>
+					<c:when test="${pagina == 0}">
+						<li class="page-item disabled"><span class="page-link">Anterior</span></li>
+					</c:when>
+					<c:otherwise>
+						<li class="page-item"><a class="page-link" href="${url}?pagina=${pagina - 1}">Anterior</a></li>
+					</c:otherwise>
+				</c:choose>
+				<li class="page-item active"><span class="page-link">${pagina + 1}</span></li>
+				<c:choose>
+					<c:when test="${temProxima}">
+						<li class="page-item"><a class="page-link" href="${url}?pagina=${pagina + 1}">Pr&oacute;xima</a></li>
+					</c:when>
+					<c:otherwise>
+						<li class="page-item disabled"><span class="page-link">Pr&oacute;xima</span></li>
+					</c:otherwise>
+				</c:choose>
+			</ul>
 		</c:if>	
 	</div>
     <!-- Bootstrap JS and dependencies -->
@@ -0,0 +1,148 @@
+package br.edu.infnet.appMatheusAvelino;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.infnet.appMatheusAvelino.CargaInicial.Execucao;
+
+@SpringBootTest
+class CargaInicialTests {
+
+	@Autowired
+	private CargaInicial cargaInicial;
+
+	// As cargas A e B só terminam se forem executadas ao mesmo tempo; C depende das duas
+	private static final CyclicBarrier BARREIRA = new CyclicBarrier(2);
+	private static volatile boolean falhar;
+	private static volatile boolean cExecutada;
+
+	static class CargaA implements Carga {
+		@Override
+		public String getNome() {
+			return "A";
+		}
+
+		@Override
+		public void executar() throws Exception {
+			if (falhar) {
+				throw new IllegalStateException("falha em A");
+			}
+			BARREIRA.await(5, TimeUnit.SECONDS);
+		}
+	}
+
+	static class CargaB implements Carga {
+		@Override
+		public String getNome() {
+			return "B";
+		}
+
+		@Override
+		public void executar() throws Exception {
+			if (!falhar) {
+				BARREIRA.await(5, TimeUnit.SECONDS);
+			}
+		}
+	}
+
+	static class CargaC implements Carga {
+		@Override
+		public String getNome() {
+			return "C";
+		}
+
+		@Override
+		public Set<Class<? extends Carga>> getDependencias() {
+			return Set.of(CargaA.class, CargaB.class);
+		}
+
+		@Override
+		public void executar() {
+			cExecutada = true;
+		}
+	}
+
+	static class CargaCircular implements Carga {
+		@Override
+		public String getNome() {
+			return "Circular";
+		}
+
+		@Override
+		public Set<Class<? extends Carga>> getDependencias() {
+			return Set.of(CargaCircular.class);
+		}
+
+		@Override
+		public void executar() {
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> etapa(Map<String, Object> progresso, String nome) {
+		return ((Map<String, Map<String, Object>>) progresso.get("etapas")).get(nome);
+	}
+
+	@Test
+	void cargaDaInicializacaoConcluiTodasAsEtapas() {
+		Map<String, Object> progresso = cargaInicial.obterProgresso();
+
+		assertEquals(true, progresso.get("concluida"));
+		assertEquals(100L, progresso.get("percentual"));
+		for (String nome : List.of("Abordagem", "Psicologo", "Paciente", "Atendimento", "Usuario")) {
+			assertEquals(CargaInicial.Estado.CONCLUIDA, etapa(progresso, nome).get("estado"), nome);
+		}
+		assertEquals(5L, etapa(progresso, "Atendimento").get("linhasGravadas"));
+		assertEquals(Status.UP, cargaInicial.health().getStatus());
+	}
+
+	@Test
+	void etapasIndependentesExecutamEmParaleloEAsDependentesAguardam() {
+		falhar = false;
+		cExecutada = false;
+		BARREIRA.reset();
+
+		Execucao execucao = cargaInicial.iniciar(List.of(new CargaC(), new CargaB(), new CargaA()));
+		execucao.getConclusao().join();
+
+		assertTrue(cExecutada);
+		assertEquals(true, execucao.obterProgresso().get("concluida"));
+	}
+
+	@Test
+	void falhaDeUmaEtapaCancelaAsDependentes() {
+		falhar = true;
+		cExecutada = false;
+
+		Execucao execucao = cargaInicial.iniciar(List.of(new CargaA(), new CargaB(), new CargaC()));
+		assertThrows(CompletionException.class, () -> execucao.getConclusao().join());
+
+		Map<String, Object> progresso = execucao.obterProgresso();
+		assertEquals(CargaInicial.Estado.FALHOU, etapa(progresso, "A").get("estado"));
+		assertEquals("falha em A", etapa(progresso, "A").get("erro"));
+		assertEquals(CargaInicial.Estado.CONCLUIDA, etapa(progresso, "B").get("estado"));
+		assertEquals(CargaInicial.Estado.CANCELADA, etapa(progresso, "C").get("estado"));
+		assertEquals(false, progresso.get("concluida"));
+		assertTrue(!cExecutada);
+	}
+
+	@Test
+	void dependenciaAusenteOuCircularEhRejeitada() {
+		assertThrows(IllegalStateException.class, () -> cargaInicial.iniciar(List.of(new CargaC())));
+		assertThrows(IllegalStateException.class, () -> cargaInicial.iniciar(List.of(new CargaCircular())));
+	}
+
+}
@@ -0,0 +1,146 @@
+package br.edu.infnet.appMatheusAvelino.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.edu.infnet.appMatheusAvelino.model.service.LeitorRegistros;
+import br.edu.infnet.appMatheusAvelino.model.service.Registro;
+
+/**
+ * Compara a leitura dos arquivos de carga com {@code BufferedReader} + {@code String.split(";")}, usada
+ * originalmente pelos loaders, com o {@link LeitorRegistros} baseado em arquivo mapeado em memória.
+ * <p>
+ * Os dois caminhos leem apenas os campos que os loaders realmente gravam. Para executar, com o perfil de alocação:
+ * </p>
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main LeitorRegistrosBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeitorRegistrosBenchmark {
+
+    /**
+     * Formato do arquivo de carga gerado para o benchmark.
+     */
+    @Param({ "atendimento", "paciente" })
+    public String formato;
+
+    /**
+     * Quantidade de linhas do arquivo gerado.
+     */
+    @Param({ "200000" })
+    public int linhas;
+
+    private Path arquivo;
+
+    /**
+     * Gera um arquivo temporário no formato de {@code files/atendimento.txt} ou {@code files/paciente.txt}.
+     */
+    @Setup(Level.Trial)
+    public void gerarArquivo() throws IOException {
+        arquivo = Files.createTempFile("carga-" + formato, ".txt");
+
+        try (BufferedWriter escrita = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < linhas; i++) {
+                if ("atendimento".equals(formato)) {
+                    escrita.write((i % 500 + 1) + ";" + (i % 9000 + 501) + ";" + (i % 28 + 1)
+                            + "/09/2024 - 16:00;" + (i % 2 == 0 ? "Online" : "Prescencial") + ";" + (i % 3 == 0));
+                } else {
+                    escrita.write("Paciente " + i + ";paciente" + i + "@email.com;" + (18 + i % 60) + ";"
+                            + (10000000000L + i) + ";" + (20000000 + i % 1000)
+                            + ";Rua São José;quarto andar;Centro;Rio de Janeiro;RJ");
+                }
+                escrita.newLine();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void removerArquivo() throws IOException {
+        Files.deleteIfExists(arquivo);
+    }
+
+    /**
+     * Caminho original: uma {@link String} por linha, um array por {@code split} e uma {@link String} por campo.
+     */
+    @Benchmark
+    public void split(Blackhole blackhole) throws IOException {
+        try (BufferedReader leitura = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+
+            while ((linha = leitura.readLine()) != null) {
+                String[] campos = linha.split(";");
+
+                if ("atendimento".equals(formato)) {
+                    blackhole.consume(Integer.parseInt(campos[0].trim()));
+                    blackhole.consume(Integer.parseInt(campos[1].trim()));
+                    blackhole.consume(campos[2].trim());
+                    blackhole.consume(campos[3].trim());
+                    blackhole.consume(Boolean.valueOf(campos[4].trim()));
+                } else {
+                    blackhole.consume(campos[0].trim());
+                    blackhole.consume(campos[1].trim());
+                    blackhole.consume(Integer.parseInt(campos[2].trim()));
+                    blackhole.consume(campos[3].trim());
+                    blackhole.consume(campos[4].trim());
+                }
+            }
+        }
+    }
+
+    /**
+     * Caminho novo: campos localizados nos bytes mapeados e {@link String}s criadas apenas para os campos gravados.
+     */
+    @Benchmark
+    public void mapeado(Blackhole blackhole) throws IOException {
+        try (LeitorRegistros leitor = new LeitorRegistros(arquivo)) {
+            LeitorRegistros.Bloco bloco = new LeitorRegistros.Bloco(1000);
+            Registro registro = new Registro();
+            boolean atendimento = "atendimento".equals(formato);
+
+            while (leitor.proximoBloco(bloco)) {
+                bloco.paraCada(registro, r -> {
+                    if (atendimento) {
+                        blackhole.consume(r.inteiro(0));
+                        blackhole.consume(r.inteiro(1));
+                        blackhole.consume(r.texto(2));
+                        blackhole.consume(r.texto(3));
+                        blackhole.consume(r.booleano(4));
+                    } else {
+                        blackhole.consume(r.texto(0));
+                        blackhole.consume(r.texto(1));
+                        blackhole.consume(r.inteiro(2));
+                        blackhole.consume(r.texto(3));
+                        blackhole.consume(r.texto(4));
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package br.edu.infnet.appMatheusAvelino.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.ui.ExtendedModelMap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.infnet.appMatheusAvelino.AppMatheusAvelinoApplication;
+import br.edu.infnet.appMatheusAvelino.controller.AppController;
+import br.edu.infnet.appMatheusAvelino.model.domain.Abordagem;
+import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
+import br.edu.infnet.appMatheusAvelino.model.domain.Endereco;
+import br.edu.infnet.appMatheusAvelino.model.domain.Paciente;
+import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
+import br.edu.infnet.appMatheusAvelino.model.dto.Pagina;
+import br.edu.infnet.appMatheusAvelino.model.repository.AtendimentoRepository;
+import br.edu.infnet.appMatheusAvelino.model.service.AbordagemService;
+import br.edu.infnet.appMatheusAvelino.model.service.AtendimentoService;
+import br.edu.infnet.appMatheusAvelino.model.service.ConflitoAgendaException;
+import br.edu.infnet.appMatheusAvelino.model.service.PacienteService;
+import br.edu.infnet.appMatheusAvelino.model.service.PsicologoService;
+
+/**
+ * Mede as consultas dos serviços e repositórios contra um H2 em memória com uma carga gerada no tamanho pedido.
+ * <p>
+ * A aplicação sobe sem servidor web e com os loaders desligados ({@code app.carga.habilitada=false}); a carga é
+ * gravada pelos próprios serviços, em lotes transacionais como na importação, com um psicólogo para cada 1.000
+ * atendimentos (no mínimo 10) e um paciente para cada 10. A leitura dos arquivos de carga é medida pelo
+ * {@link LeitorRegistrosBenchmark}. Para executar com o perfil {@code benchmark} do Maven:
+ * </p>
+ * <pre>
+ * mvn -P benchmark verify -Dbenchmark.atendimentos=10000,1000000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ServicosBenchmark {
+
+    private static final int TAMANHO_LOTE = 1000;
+
+    /**
+     * Quantidade de atendimentos gravados antes das medições.
+     */
+    @Param({ "10000" })
+    public int atendimentos;
+
+    private ConfigurableApplicationContext contexto;
+    private AbordagemService abordagemService;
+    private PsicologoService psicologoService;
+    private PacienteService pacienteService;
+    private AtendimentoService atendimentoService;
+    private AtendimentoRepository atendimentoRepository;
+    private AppController appController;
+    private ObjectMapper objectMapper;
+
+    private Integer[] idsPsicologo;
+    private Integer[] idsPaciente;
+    private String[] crps;
+    private String[] cpfs;
+
+    /**
+     * Sobe a aplicação com um banco vazio e grava a carga.
+     */
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(AppMatheusAvelinoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--app.carga.habilitada=false",
+                        "--app.metricas.habilitado=false",
+                        "--app.cache.estatisticas=false");
+
+        abordagemService = contexto.getBean(AbordagemService.class);
+        psicologoService = contexto.getBean(PsicologoService.class);
+        pacienteService = contexto.getBean(PacienteService.class);
+        atendimentoService = contexto.getBean(AtendimentoService.class);
+        atendimentoRepository = contexto.getBean(AtendimentoRepository.class);
+        appController = contexto.getBean(AppController.class);
+        objectMapper = contexto.getBean(ObjectMapper.class);
+
+        gravarCarga();
+        relatarTamanhoDasListagens();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    private void gravarCarga() {
+        TransactionTemplate transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        int qtdePsicologos = Math.max(10, atendimentos / 1000);
+        int qtdePacientes = Math.max(10, atendimentos / 10);
+
+        List<Abordagem> abordagens = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            abordagens.add(new Abordagem("Abordagem " + i));
+        }
+        transacao.executeWithoutResult(status -> abordagemService.incluirLote(abordagens));
+
+        idsPsicologo = new Integer[qtdePsicologos];
+        crps = new String[qtdePsicologos];
+        List<Psicologo> psicologos = new ArrayList<>();
+        for (int i = 0; i < qtdePsicologos; i++) {
+            crps[i] = String.valueOf(100000 + i);
+            Psicologo psicologo = new Psicologo("Psicologo " + i, "psicologo" + i + "@email.com", 25 + i % 40, crps[i],
+                    abordagens.get(i % abordagens.size()));
+            psicologo.setEndereco(endereco(i));
+            psicologos.add(psicologo);
+        }
+        gravarEmLotes(transacao, psicologos, psicologoService::incluirLote);
+        for (int i = 0; i < qtdePsicologos; i++) {
+            idsPsicologo[i] = psicologos.get(i).getId();
+        }
+
+        cpfs = new String[qtdePacientes];
+        List<Paciente> pacientes = new ArrayList<>();
+        for (int i = 0; i < qtdePacientes; i++) {
+            cpfs[i] = String.valueOf(10000000000L + i);
+            Paciente paciente = new Paciente("Paciente " + i, "paciente" + i + "@email.com", 18 + i % 60, cpfs[i]);
+            paciente.setEndereco(endereco(i));
+            pacientes.add(paciente);
+        }
+        gravarEmLotes(transacao, pacientes, pacienteService::incluirLote);
+        idsPaciente = new Integer[qtdePacientes];
+        for (int i = 0; i < qtdePacientes; i++) {
+            idsPaciente[i] = pacientes.get(i).getId();
+        }
+
+        // Cada psicólogo recebe um atendimento por hora, sem sobreposição na agenda
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 8, 0);
+        List<Atendimento> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < atendimentos; i++) {
+            Atendimento atendimento = new Atendimento(inicio.plusHours(i / qtdePsicologos).format(Atendimento.FORMATO_DATA),
+                    i % 2 == 0 ? "Online" : "Presencial");
+            atendimento.setPsicologo(psicologos.get(i % qtdePsicologos));
+            atendimento.setPaciente(pacientes.get(i % qtdePacientes));
+            atendimento.setStatusAtendimento(i % 3 == 0);
+            lote.add(atendimento);
+
+            if (lote.size() == TAMANHO_LOTE) {
+                List<Atendimento> gravacao = lote;
+                transacao.executeWithoutResult(status -> atendimentoService.incluirLote(gravacao));
+                lote = new ArrayList<>(TAMANHO_LOTE);
+            }
+        }
+        List<Atendimento> restante = lote;
+        transacao.executeWithoutResult(status -> atendimentoService.incluirLote(restante));
+    }
+
+    private static <T> void gravarEmLotes(TransactionTemplate transacao, List<T> registros,
+            Consumer<List<T>> gravacao) {
+        for (int i = 0; i < registros.size(); i += TAMANHO_LOTE) {
+            List<T> lote = registros.subList(i, Math.min(i + TAMANHO_LOTE, registros.size()));
+            transacao.executeWithoutResult(status -> gravacao.accept(lote));
+        }
+    }
+
+    private static Endereco endereco(int i) {
+        Endereco endereco = new Endereco();
+        endereco.setCep(String.valueOf(20000000 + i % 1000));
+        endereco.setLocalidade("Rio de Janeiro");
+        endereco.setUf("RJ");
+        return endereco;
+    }
+
+    /**
+     * Exibe o tamanho, em bytes, de cada listagem serializada com as entidades e com os resumos, que acompanha os
+     * tempos de {@link #serializarPsicologos()} e dos demais benchmarks de serialização.
+     */
+    private void relatarTamanhoDasListagens() {
+        try {
+            System.out.println("[SERIALIZACAO] psicologos: " + serializarPsicologos().length
+                    + " bytes com as entidades, " + serializarResumosDePsicologos().length + " bytes com os resumos");
+            System.out.println("[SERIALIZACAO] pacientes: " + serializarPacientes().length
+                    + " bytes com as entidades, " + serializarResumosDePacientes().length + " bytes com os resumos");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int sortear(int limite) {
+        return ThreadLocalRandom.current().nextInt(limite);
+    }
+
+    @Benchmark
+    public Object listarAbordagensOrdenadas() {
+        return abordagemService.obterLista("descricao");
+    }
+
+    @Benchmark
+    public Object listarPsicologosOrdenados() {
+        return psicologoService.obterLista("idade");
+    }
+
+    /**
+     * A listagem completa de atendimentos cresce com a carga; a página da tela de listagem tem tamanho fixo.
+     */
+    @Benchmark
+    public Object listarPaginaDeAtendimentos() {
+        return atendimentoService.obterLista("statusAtendimento", 0, Pagina.TAMANHO_PADRAO);
+    }
+
+    @Benchmark
+    public Object buscarAtendimentosPorPsicologo() {
+        return atendimentoRepository.findByPsicologoId(idsPsicologo[sortear(idsPsicologo.length)]);
+    }
+
+    @Benchmark
+    public Object buscarPsicologoPorCrp() {
+        return psicologoService.obterPorCrp(crps[sortear(crps.length)]);
+    }
+
+    @Benchmark
+    public Object buscarPacientePorCpf() {
+        return pacienteService.obterPorCpf(cpfs[sortear(cpfs.length)]);
+    }
+
+    /**
+     * Agendamentos concorrentes em horários de 10 em 10 minutos ao longo de 2030, parte deles recusada por sobrepor um
+     * atendimento já agendado: mede a gravação sob a trava da agenda de cada psicólogo. O período é longo o bastante
+     * para que a agenda não se esgote durante a medição e as recusas não dominem o resultado.
+     */
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Object agendarConcorrentemente() {
+        Atendimento atendimento = new Atendimento();
+        atendimento.setIdPsicologo(idsPsicologo[sortear(idsPsicologo.length)]);
+        atendimento.setIdPaciente(idsPaciente[sortear(idsPaciente.length)]);
+        atendimento.setDataHora(LocalDateTime.of(2030, 1, 1, 8, 0).plusMinutes(10L * sortear(6 * 24 * 365)));
+        atendimento.setTipoAtendimento("Online");
+        try {
+            return atendimentoService.agendar(atendimento, null);
+        } catch (ConflitoAgendaException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Listagem de psicólogos como respondida antes dos resumos: as entidades serializadas com o {@link ObjectMapper}
+     * da aplicação, fora de transação, como nos controladores.
+     */
+    @Benchmark
+    public byte[] serializarPsicologos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(psicologoService.obterLista());
+    }
+
+    @Benchmark
+    public byte[] serializarResumosDePsicologos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(psicologoService.obterResumos());
+    }
+
+    @Benchmark
+    public byte[] serializarPacientes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pacienteService.obterLista());
+    }
+
+    @Benchmark
+    public byte[] serializarResumosDePacientes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pacienteService.obterResumos());
+    }
+
+    /**
+     * Quantidades exibidas na página inicial.
+     */
+    @Benchmark
+    public Object contarParaTelaHome() {
+        ExtendedModelMap modelo = new ExtendedModelMap();
+        appController.telaHome(modelo);
+        return modelo;
+    }
+}
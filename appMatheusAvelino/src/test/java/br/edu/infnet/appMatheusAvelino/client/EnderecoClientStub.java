@@ -0,0 +1,137 @@
+package br.edu.infnet.appMatheusAvelino.client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Servidor HTTP local que simula o ViaCEP, permitindo executar e medir os testes sem acesso à rede.
+ * <p>
+ * Responde {@code GET /ws/{cep}/json/} com um endereço fictício. CEPs iniciados por "99" são tratados como
+ * desconhecidos e recebem {@code {"erro": true}}, como no ViaCEP. Cada resposta aguarda {@link #setLatencia(long)}
+ * milissegundos, para simular a latência do serviço real.
+ * </p>
+ * <p>
+ * O servidor é único para toda a JVM de testes e é iniciado pelo {@link EnderecoClientStubContexto}, que aponta
+ * {@code app.cep.url} para ele em cada contexto Spring de teste. Os testes obtêm a mesma instância com
+ * {@link #iniciar()}.
+ * </p>
+ */
+public final class EnderecoClientStub {
+
+    private static EnderecoClientStub instancia;
+
+    private final HttpServer servidor;
+    private final Map<String, AtomicInteger> requisicoes = new ConcurrentHashMap<>();
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final AtomicInteger maximoSimultaneas = new AtomicInteger();
+    private volatile long latencia;
+
+    private EnderecoClientStub() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/ws/", this::responder);
+        servidor.setExecutor(Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "viacep-stub");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        servidor.start();
+    }
+
+    /**
+     * Inicia o servidor, se ainda não estiver em execução.
+     *
+     * @return o servidor em execução
+     */
+    public static synchronized EnderecoClientStub iniciar() {
+        if (instancia == null) {
+            try {
+                instancia = new EnderecoClientStub();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return instancia;
+    }
+
+    /**
+     * Obtém a URL base do servidor, no mesmo formato da URL do ViaCEP.
+     *
+     * @return a URL base
+     */
+    public String url() {
+        return "http://localhost:" + servidor.getAddress().getPort() + "/ws";
+    }
+
+    /**
+     * Define a latência de cada resposta.
+     *
+     * @param millis a latência em milissegundos
+     */
+    public void setLatencia(long millis) {
+        this.latencia = millis;
+    }
+
+    /**
+     * Obtém a quantidade de requisições recebidas para um CEP.
+     *
+     * @param cep o CEP, apenas com dígitos
+     * @return a quantidade de requisições
+     */
+    public int getRequisicoes(String cep) {
+        AtomicInteger qtde = requisicoes.get(cep);
+        return qtde == null ? 0 : qtde.get();
+    }
+
+    /**
+     * Obtém a maior quantidade de requisições atendidas ao mesmo tempo desde o último
+     * {@link #zerarSimultaneas()}.
+     *
+     * @return o pico de requisições simultâneas
+     */
+    public int getMaximoSimultaneas() {
+        return maximoSimultaneas.get();
+    }
+
+    /**
+     * Reinicia o pico de requisições simultâneas.
+     */
+    public void zerarSimultaneas() {
+        maximoSimultaneas.set(0);
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        String[] partes = troca.getRequestURI().getPath().split("/");
+        String cep = partes.length > 2 ? partes[2] : "";
+        requisicoes.computeIfAbsent(cep, c -> new AtomicInteger()).incrementAndGet();
+
+        maximoSimultaneas.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(latencia);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            emAndamento.decrementAndGet();
+        }
+
+        String corpo = cep.startsWith("99") ? "{\"erro\": true}"
+                : "{\"cep\": \"" + cep + "\", \"logradouro\": \"Rua " + cep + "\", \"complemento\": \"\","
+                        + " \"bairro\": \"Centro\", \"localidade\": \"Cidade\", \"uf\": \"RJ\"}";
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+
+        troca.getResponseHeaders().add("Content-Type", "application/json");
+        troca.sendResponseHeaders(200, bytes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package br.edu.infnet.appMatheusAvelino.client;
+
+import java.util.List;
+
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ContextConfigurationAttributes;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.ContextCustomizerFactory;
+import org.springframework.test.context.MergedContextConfiguration;
+
+/**
+ * Aponta {@code app.cep.url} para o {@link EnderecoClientStub} em todos os contextos Spring de teste.
+ * <p>
+ * Registrada em {@code META-INF/spring.factories}, é aplicada antes da criação de cada contexto, de modo que as
+ * classes de teste não precisam iniciar o servidor por conta própria nem depender da ordem em que são carregadas. O
+ * customizador é o mesmo para todas as classes e não impede o compartilhamento do contexto em cache.
+ * </p>
+ */
+public class EnderecoClientStubContexto implements ContextCustomizerFactory {
+
+    @Override
+    public ContextCustomizer createContextCustomizer(Class<?> classeTeste,
+            List<ContextConfigurationAttributes> atributos) {
+        return new Customizador();
+    }
+
+    private static final class Customizador implements ContextCustomizer {
+
+        @Override
+        public void customizeContext(ConfigurableApplicationContext contexto, MergedContextConfiguration configuracao) {
+            TestPropertyValues.of("app.cep.url=" + EnderecoClientStub.iniciar().url()).applyTo(contexto);
+        }
+
+        @Override
+        public boolean equals(Object outro) {
+            return outro != null && outro.getClass() == getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return getClass().hashCode();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package br.edu.infnet.appMatheusAvelino.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Endereco;
+
+class EnderecoLocalClientTests {
+
+	@TempDir
+	Path diretorio;
+
+	private EnderecoLocalClient criar(String conteudo, EnderecoClient viaCep, boolean consultarViaCep)
+			throws IOException {
+		Path arquivo = diretorio.resolve("cep.txt");
+		Files.write(arquivo, conteudo.getBytes(StandardCharsets.UTF_8));
+
+		EnderecoLocalClient client = new EnderecoLocalClient();
+		ReflectionTestUtils.setField(client, "arquivo", arquivo.toString());
+		ReflectionTestUtils.setField(client, "viaCep", viaCep);
+		ReflectionTestUtils.setField(client, "consultarViaCep", consultarViaCep);
+		ReflectionTestUtils.invokeMethod(client, "carregar");
+		return client;
+	}
+
+	@Test
+	void buscaCepsDeUmaBaseForaDeOrdem() throws IOException {
+		EnderecoLocalClient client = criar("60811905;Avenida Washington Soares;;Edson Queiroz;Fortaleza;CE\n"
+				+ "01001000;Praça da Sé;lado ímpar;Sé;São Paulo;SP\r\n"
+				+ "\n"
+				+ "20010020;Rua São José;;Centro;Rio de Janeiro;RJ", cep -> null, false);
+
+		assertEquals(3, client.getQtdeCeps());
+
+		Endereco se = client.findByCep("01001-000");
+		assertEquals("01001-000", se.getCep());
+		assertEquals("Praça da Sé", se.getLogradouro());
+		assertEquals("lado ímpar", se.getComplemento());
+		assertEquals("São Paulo", se.getLocalidade());
+
+		assertEquals("Fortaleza", client.findByCep("60811905").getLocalidade());
+		assertEquals("RJ", client.findByCep("20010020").getUf());
+		assertSame(client.findByCep("20010020").getUf(), client.findByCep("20010020").getUf());
+	}
+
+	@Test
+	void cepAusenteEConsultadoNoViaCepQuandoHabilitado() throws IOException {
+		Endereco remoto = new Endereco();
+		remoto.setCep("99999-999");
+		String base = "01001000;Praça da Sé;lado ímpar;Sé;São Paulo;SP\n";
+
+		assertSame(remoto, criar(base, cep -> remoto, true).findByCep("99999999"));
+		assertNull(criar(base, cep -> remoto, false).findByCep("99999999"));
+		assertNull(criar(base, cep -> remoto, false).findByCep("0100100"));
+	}
+
+}
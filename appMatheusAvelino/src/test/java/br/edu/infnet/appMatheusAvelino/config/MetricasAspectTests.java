@@ -0,0 +1,99 @@
+package br.edu.infnet.appMatheusAvelino.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import br.edu.infnet.appMatheusAvelino.client.EnderecoClient;
+import br.edu.infnet.appMatheusAvelino.model.service.AbordagemService;
+import br.edu.infnet.appMatheusAvelino.model.service.PacienteService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest
+class MetricasAspectTests {
+
+	@Autowired
+	private WebApplicationContext contexto;
+
+	@Autowired
+	private MeterRegistry registro;
+
+	@Autowired
+	private AbordagemService abordagemService;
+
+	@Autowired
+	private PacienteService pacienteService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	@Qualifier("viaCep")
+	private EnderecoClient enderecoClient;
+
+	private Timer timer(String camada, String classe, String metodo) {
+		return registro.get("app.metodo")
+				.tags("camada", camada, "classe", classe, "metodo", metodo, "excecao", "none")
+				.timer();
+	}
+
+	@Test
+	void servicosEClienteFeignSaoMedidos() {
+		long antes = registro.find("app.metodo").tags("classe", "AbordagemService", "metodo", "obterLista").timers()
+				.stream().mapToLong(Timer::count).sum();
+
+		abordagemService.obterLista();
+		abordagemService.obterLista();
+		enderecoClient.findByCep("01001000");
+
+		Timer servico = timer("servico", "AbordagemService", "obterLista");
+		assertTrue(servico.count() >= antes + 2);
+		assertTrue(servico.totalTime(TimeUnit.NANOSECONDS) > 0);
+		assertTrue(timer("cliente", "EnderecoClient", "findByCep").count() >= 1);
+	}
+
+	@Test
+	void contadoresDoBancoNaoDependemDasEstatisticasDoHibernate() {
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		boolean habilitadas = estatisticas.isStatisticsEnabled();
+		estatisticas.setStatisticsEnabled(false);
+		try {
+			double comandos = registro.get("app.db.comandos").functionCounter().count();
+			double transacoes = registro.get("app.db.transacoes").functionCounter().count();
+
+			pacienteService.obterLista();
+
+			assertTrue(registro.get("app.db.comandos").functionCounter().count() > comandos);
+			assertTrue(registro.get("app.db.transacoes").functionCounter().count() > transacoes);
+		} finally {
+			estatisticas.setStatisticsEnabled(habilitadas);
+		}
+	}
+
+	@Test
+	void metricasSaoPublicadasNoActuator() throws Exception {
+		abordagemService.obterLista();
+
+		MockMvcBuilders.webAppContextSetup(contexto).build()
+				.perform(get("/actuator/metrics/app.metodo").param("tag", "classe:AbordagemService"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value", Matchers.hasItem(Matchers.greaterThan(0.0))));
+	}
+
+}
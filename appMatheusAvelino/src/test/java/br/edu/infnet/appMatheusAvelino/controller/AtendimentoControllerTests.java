@@ -0,0 +1,94 @@
+package br.edu.infnet.appMatheusAvelino.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
+import br.edu.infnet.appMatheusAvelino.model.service.AtendimentoService;
+
+@SpringBootTest
+class AtendimentoControllerTests {
+
+	private static final LocalDateTime DIA = LocalDateTime.of(2031, 3, 4, 0, 0);
+
+	@Autowired
+	private WebApplicationContext contexto;
+
+	@Autowired
+	private AtendimentoService atendimentoService;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void iniciar() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(contexto).build();
+	}
+
+	@AfterEach
+	void encerrar() {
+		for (Atendimento atendimento : atendimentoService.obterPorPeriodo(DIA, DIA.plusDays(1))) {
+			atendimentoService.excluir(atendimento.getId());
+		}
+	}
+
+	private static MockHttpServletRequestBuilder incluir(String data) {
+		return post("/atendimento/incluir").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"idPsicologo\": 1, \"idPaciente\": 5, \"atendimentoDate\": \"" + data
+						+ "\", \"tipoAtendimento\": \"Online\"}");
+	}
+
+	@Test
+	void horarioOcupadoRespondeConflito() throws Exception {
+		mockMvc.perform(incluir("04/03/2031 - 10:00"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(Matchers.startsWith("Inclusão:Atendimento{")));
+
+		mockMvc.perform(incluir("04/03/2031 - 10:30"))
+				.andExpect(status().isConflict());
+
+		mockMvc.perform(incluir("04/03/2031 - 10:50"))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(incluir("04/03/2031 10h"))
+				.andExpect(status().isBadRequest());
+
+		assertEquals(2, atendimentoService.obterPorPeriodo(DIA, DIA.plusDays(1)).size());
+	}
+
+	@Test
+	void repeticaoComAMesmaChaveNaoIncluiNovamente() throws Exception {
+		String primeira = mockMvc.perform(incluir("04/03/2031 - 14:00").header("Idempotency-Key", "a1"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		mockMvc.perform(incluir("04/03/2031 - 14:00").header("Idempotency-Key", "a1"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(primeira));
+
+		mockMvc.perform(incluir("04/03/2031 - 14:00").header("Idempotency-Key", "a2"))
+				.andExpect(status().isConflict());
+
+		// A mesma chave com outro atendimento é rejeitada, sem devolver o primeiro
+		mockMvc.perform(incluir("04/03/2031 - 16:00").header("Idempotency-Key", "a1"))
+				.andExpect(status().isUnprocessableEntity());
+
+		assertEquals(1, atendimentoService.obterPorPeriodo(DIA, DIA.plusDays(1)).size());
+	}
+
+}
@@ -0,0 +1,259 @@
+package br.edu.infnet.appMatheusAvelino.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Abordagem;
+import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
+import br.edu.infnet.appMatheusAvelino.model.service.AbordagemService;
+import br.edu.infnet.appMatheusAvelino.model.service.AtendimentoService;
+import br.edu.infnet.appMatheusAvelino.model.service.CacheEntidadesService;
+
+/**
+ * Verifica a quantidade de comandos SQL executados por cada endpoint, com a carga inicial dos arquivos de
+ * {@code files/}. Um aumento nesses números indica um N+1 ou uma associação carregada sem necessidade.
+ * <p>
+ * O cache de segundo nível é esvaziado antes de cada teste, de modo que os números valem para o cache frio. As
+ * estatísticas do Hibernate são habilitadas pela configuração de testes ({@code config/application.properties}).
+ * </p>
+ */
+@SpringBootTest
+class ConsultasPorEndpointTests {
+
+	@Autowired
+	private WebApplicationContext contexto;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CacheEntidadesService cacheEntidadesService;
+
+	@Autowired
+	private AtendimentoService atendimentoService;
+
+	@Autowired
+	private AbordagemService abordagemService;
+
+	private MockMvc mockMvc;
+	private Statistics estatisticas;
+
+	@BeforeEach
+	void iniciar() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(contexto).build();
+		estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		assertTrue(estatisticas.isStatisticsEnabled(), "app.cache.estatisticas deve estar habilitado nos testes");
+		cacheEntidadesService.limpar();
+	}
+
+	private ResultActions executar(String url, long comandosEsperados) throws Exception {
+		estatisticas.clear();
+		ResultActions resultado = mockMvc.perform(get(url)).andExpect(status().isOk());
+		assertEquals(comandosEsperados, estatisticas.getPrepareStatementCount(), "comandos SQL em " + url);
+		return resultado;
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		"/, 0",
+		"/psicologo/listar, 1",
+		"/paciente/listar, 1",
+		"/atendimento/listar, 1",
+		"/abordagem/listar, 1",
+		"/psicologo/pagina, 1",
+		"/paciente/pagina, 1",
+		"/atendimento/pagina, 1",
+		"/abordagem/pagina, 1",
+		"/psicologo/1, 1",
+		"/paciente/5, 1",
+		"/atendimento/1, 1",
+		"/usuario/listagem, 2",
+		"/psicologo/listagem, 1",
+		"/paciente/listagem, 1",
+		"/abordagem/listagem, 1",
+		"/atendimento/listagem, 1",
+		"/psicologo/listagem?pagina=1, 1",
+		"/atendimento/agenda/1?data=2024-08-21, 1",
+		"/atendimento/periodo?inicio=2024-08-01T00:00&fim=2024-09-01T00:00, 1",
+		"/agenda/disponibilidade?abordagem=5&aPartirDe=2024-08-20T08:00, 0",
+		"/busca?q=ma, 0",
+		"/relatorio/psicologo/2, 0",
+		"/relatorio?mes=2024-08, 0",
+		"/analise/atendimentos?agrupar=mes&tipo=Online, 0",
+	})
+	void quantidadeDeComandosSql(String url, long comandosEsperados) throws Exception {
+		executar(url, comandosEsperados);
+	}
+
+	@Test
+	void listagemNaoSerializaAtendimentosEDetalheSim() throws Exception {
+		// A listagem responde com o resumo: a abordagem pela descrição e os atendimentos pela quantidade
+		executar("/psicologo/listar", 1)
+				.andExpect(jsonPath("$[0].crp").exists())
+				.andExpect(jsonPath("$[0].abordagem").isString())
+				.andExpect(jsonPath("$[0].qtdeAtendimentos").value(1))
+				.andExpect(jsonPath("$[0].endereco").doesNotExist())
+				.andExpect(jsonPath("$[0].atendimentos").doesNotExist());
+		executar("/paciente/listar", 1)
+				.andExpect(jsonPath("$[0].cpf").exists())
+				.andExpect(jsonPath("$[0].qtdeAtendimentos").value(2))
+				.andExpect(jsonPath("$[0].endereco").doesNotExist())
+				.andExpect(jsonPath("$[0].atendimento").doesNotExist())
+				.andExpect(jsonPath("$[0].atendimentos").doesNotExist());
+
+		executar("/psicologo/1", 1)
+				.andExpect(jsonPath("$.atendimentos").isArray())
+				.andExpect(jsonPath("$.atendimentos", Matchers.hasSize(Matchers.greaterThan(0))));
+	}
+
+	@Test
+	void paginacaoPorCursorPercorreTodosOsRegistros() throws Exception {
+		executar("/psicologo/pagina?tamanho=3", 1)
+				.andExpect(jsonPath("$.itens", Matchers.hasSize(3)))
+				.andExpect(jsonPath("$.itens[0].id").value(1))
+				.andExpect(jsonPath("$.proximoCursor").value(3));
+
+		executar("/psicologo/pagina?tamanho=3&cursor=3", 1)
+				.andExpect(jsonPath("$.itens", Matchers.hasSize(1)))
+				.andExpect(jsonPath("$.itens[0].id").value(4))
+				.andExpect(jsonPath("$.proximoCursor").value(Matchers.nullValue()));
+	}
+
+	@Test
+	void abordagensSaoLidasDoCacheDeSegundoNivel() throws Exception {
+		executar("/abordagem/listar", 1).andExpect(jsonPath("$", Matchers.hasSize(6)));
+		executar("/abordagem/listar", 0).andExpect(jsonPath("$", Matchers.hasSize(6)));
+		executar("/abordagem/1", 0).andExpect(jsonPath("$.id").value(1));
+
+		// As estatísticas contam a partir da última chamada a executar(), ou seja, apenas o detalhe da abordagem
+		mockMvc.perform(get("/cache/entidades"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.estatisticasHabilitadas").value(true))
+				.andExpect(jsonPath("$.abordagem.acertos").value(1))
+				.andExpect(jsonPath("$.abordagem.faltas").value(0))
+				.andExpect(jsonPath("$.abordagem.taxaAcerto").value(1.0));
+	}
+
+	@Test
+	void estatisticasDoCacheDesabilitadasNaoSaoExibidasZeradas() throws Exception {
+		executar("/abordagem/1", 1);
+
+		estatisticas.setStatisticsEnabled(false);
+		try {
+			mockMvc.perform(get("/cache/entidades"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.estatisticasHabilitadas").value(false))
+					.andExpect(jsonPath("$.mensagem").exists())
+					.andExpect(jsonPath("$.abordagem").doesNotExist());
+		} finally {
+			estatisticas.setStatisticsEnabled(true);
+		}
+	}
+
+	@Test
+	void agendaSemanalConsideraSegundaADomingo() throws Exception {
+		executar("/atendimento/agenda/1?data=2024-08-19", 1)
+				.andExpect(jsonPath("$", Matchers.hasSize(1)))
+				.andExpect(jsonPath("$[0].atendimentoDate").value("25/08/2024 - 14:30"))
+				.andExpect(jsonPath("$[0].dataHora").value("2024-08-25T14:30:00"));
+
+		executar("/atendimento/agenda/1?data=2024-08-26", 1)
+				.andExpect(jsonPath("$", Matchers.hasSize(0)));
+	}
+
+	@ParameterizedTest
+	@CsvSource({"/psicologo/listar", "/paciente/pagina", "/atendimento/1"})
+	void requisicaoCondicionalRespondeNaoModificadoSemConsultarOBanco(String url) throws Exception {
+		String etag = executar(url, 1)
+				.andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		estatisticas.clear();
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(content().string(""));
+		assertEquals(0, estatisticas.getPrepareStatementCount(), "comandos SQL em " + url);
+
+		// Todas as consultas exibem atendimentos: a inclusão e a exclusão de um atendimento invalidam o ETag
+		Atendimento atendimento = new Atendimento("05/03/2031 - 09:00", "Online");
+		atendimento.setIdPsicologo(4);
+		atendimento.setIdPaciente(7);
+		atendimentoService.incluir(atendimento);
+		String incluido;
+		try {
+			incluido = etagAposAlteracao(url, etag);
+		} finally {
+			atendimentoService.excluir(atendimento.getId());
+		}
+		assertNotEquals(incluido, etagAposAlteracao(url, incluido));
+	}
+
+	/**
+	 * Repete a requisição com o ETag anterior, que deve ter mudado, e devolve o novo ETag.
+	 */
+	private String etagAposAlteracao(String url, String etagAnterior) throws Exception {
+		String etag = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etagAnterior))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(etagAnterior, etag);
+		return etag;
+	}
+
+	@Test
+	void etagIgnoraTabelasNaoExibidas() throws Exception {
+		String etag = executar("/atendimento/listar", 1).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		String etagPsicologos = executar("/psicologo/listar", 1).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		// Os atendimentos não exibem a abordagem; o resumo dos psicólogos, sim
+		Abordagem abordagem = new Abordagem("Temporária");
+		abordagemService.incluir(abordagem);
+		abordagemService.excluir(abordagem.getId());
+
+		mockMvc.perform(get("/atendimento/listar").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+		etagAposAlteracao("/psicologo/listar", etagPsicologos);
+	}
+
+	@Test
+	void exportacaoEscreveUmAtendimentoPorLinhaComUmaConsulta() throws Exception {
+		estatisticas.clear();
+		MvcResult inicio = mockMvc.perform(get("/atendimento/exportar")).andExpect(request().asyncStarted()).andReturn();
+		String corpo = mockMvc.perform(asyncDispatch(inicio))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson"))
+				.andReturn().getResponse().getContentAsString();
+
+		String[] linhas = corpo.split("\n");
+		assertEquals(5, linhas.length);
+		assertTrue(linhas[0].startsWith("{\"id\":1,"), linhas[0]);
+		assertEquals(1, estatisticas.getPrepareStatementCount());
+	}
+
+}
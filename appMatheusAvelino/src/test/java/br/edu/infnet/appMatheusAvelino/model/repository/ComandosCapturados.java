@@ -0,0 +1,66 @@
+package br.edu.infnet.appMatheusAvelino.model.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra no Hibernate um {@link StatementInspector} que captura os comandos SQL gerados na thread atual, para que
+ * os testes possam examinar o SQL de cada método dos repositórios.
+ * <p>
+ * Por estar no pacote da aplicação, o componente é encontrado pela varredura de componentes de todos os contextos de
+ * teste, que continuam compartilhando um único contexto Spring. Fora de {@link #capturar(Runnable)} o inspetor apenas
+ * devolve o comando recebido.
+ * </p>
+ */
+@Component
+public class ComandosCapturados implements HibernatePropertiesCustomizer, StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<List<String>> CAPTURA = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        // Preserva o inspetor da aplicação (o contador de comandos das métricas), se já registrado
+        Object anterior = hibernateProperties.get(AvailableSettings.STATEMENT_INSPECTOR);
+        if (anterior instanceof StatementInspector) {
+            StatementInspector inspetor = (StatementInspector) anterior;
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    (StatementInspector) sql -> inspect(inspetor.inspect(sql)));
+        } else {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> comandos = CAPTURA.get();
+        if (comandos != null) {
+            comandos.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Executa a operação e devolve os comandos SQL preparados por ela na thread atual.
+     *
+     * @param operacao a operação a ser executada
+     * @return os comandos SQL, na ordem em que foram preparados
+     */
+    public static List<String> capturar(Runnable operacao) {
+        List<String> comandos = new ArrayList<>();
+        CAPTURA.set(comandos);
+        try {
+            operacao.run();
+        } finally {
+            CAPTURA.remove();
+        }
+        return comandos;
+    }
+}
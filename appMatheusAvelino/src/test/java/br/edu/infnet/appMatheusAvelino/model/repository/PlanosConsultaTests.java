@@ -0,0 +1,241 @@
+package br.edu.infnet.appMatheusAvelino.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.infnet.appMatheusAvelino.model.service.CacheEntidadesService;
+
+/**
+ * Verifica, com o {@code EXPLAIN} do H2, o plano dos comandos SQL gerados por cada método declarado nos repositórios.
+ * <p>
+ * Cada método tem um caso em {@link #consultas()}: os que buscam poucas linhas declaram a coluna cujo índice devem
+ * usar e falham se o plano não usar um índice dessa coluna ou tiver uma varredura de tabela ({@code tableScan}); os
+ * que leem a tabela inteira aceitam a varredura. Um método novo em um repositório sem um caso correspondente também
+ * faz o teste falhar.
+ * </p>
+ */
+@SpringBootTest
+class PlanosConsultaTests {
+
+	/**
+	 * Indica, nos casos, que o método lê a tabela inteira e a varredura é esperada.
+	 */
+	private static final String VARREDURA = null;
+
+	private static final PageRequest PAGINA = PageRequest.of(0, 10, Sort.by("id"));
+
+	private static final List<Class<?>> REPOSITORIOS = List.of(AbordagemRepository.class,
+			ArquivoCargaRepository.class, AtendimentoRepository.class, EnderecoRepository.class,
+			PacienteRepository.class, PsicologoRepository.class, UsuarioRepository.class);
+
+	@Autowired
+	private AbordagemRepository abordagemRepository;
+
+	@Autowired
+	private AtendimentoRepository atendimentoRepository;
+
+	@Autowired
+	private PacienteRepository pacienteRepository;
+
+	@Autowired
+	private PsicologoRepository psicologoRepository;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private CacheEntidadesService cacheEntidadesService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Um método de repositório: a coluna cujo índice o seu comando principal deve usar, ou {@link #VARREDURA}, e a
+	 * chamada.
+	 */
+	private static final class Consulta {
+
+		private final String coluna;
+		private final Runnable chamada;
+
+		private Consulta(String coluna, Runnable chamada) {
+			this.coluna = coluna;
+			this.chamada = chamada;
+		}
+	}
+
+	private Map<String, Consulta> consultas() {
+		LocalDateTime agosto = LocalDateTime.of(2024, 8, 1, 0, 0);
+		LocalDateTime setembro = LocalDateTime.of(2024, 9, 1, 0, 0);
+		Map<String, Consulta> consultas = new LinkedHashMap<>();
+
+		consultas.put("AbordagemRepository.findAll()", new Consulta(VARREDURA, abordagemRepository::findAll));
+		consultas.put("AbordagemRepository.findAll(Sort)",
+				new Consulta(VARREDURA, () -> abordagemRepository.findAll(Sort.by("descricao"))));
+		consultas.put("AbordagemRepository.findByIdGreaterThan(Integer,Pageable)",
+				new Consulta("ID", () -> abordagemRepository.findByIdGreaterThan(1, PAGINA)));
+		consultas.put("AbordagemRepository.findAllBy(Pageable)",
+				new Consulta(VARREDURA, () -> abordagemRepository.findAllBy(PAGINA)));
+
+		consultas.put("AtendimentoRepository.findBystatusAtendimento(boolean)",
+				new Consulta("STATUS_ATENDIMENTO", () -> atendimentoRepository.findBystatusAtendimento(true)));
+		consultas.put("AtendimentoRepository.findByPsicologoId(Integer)",
+				new Consulta("ID_PSICOLOGO", () -> atendimentoRepository.findByPsicologoId(2)));
+		consultas.put("AtendimentoRepository.findByPacienteId(Integer)",
+				new Consulta("ID_PACIENTE", () -> atendimentoRepository.findByPacienteId(5)));
+		consultas.put("AtendimentoRepository.findIdByPsicologoId(Integer)",
+				new Consulta("ID_PSICOLOGO", () -> atendimentoRepository.findIdByPsicologoId(2)));
+		consultas.put("AtendimentoRepository.findIdByPacienteId(Integer)",
+				new Consulta("ID_PACIENTE", () -> atendimentoRepository.findIdByPacienteId(5)));
+		consultas.put("AtendimentoRepository.findHorarios()",
+				new Consulta(VARREDURA, atendimentoRepository::findHorarios));
+		consultas.put("AtendimentoRepository.findDimensoesRelatorio()",
+				new Consulta(VARREDURA, atendimentoRepository::findDimensoesRelatorio));
+		consultas.put("AtendimentoRepository.findAll(Sort)",
+				new Consulta(VARREDURA, () -> atendimentoRepository.findAll(Sort.by("id"))));
+		consultas.put("AtendimentoRepository.findByIdGreaterThan(Integer,Pageable)",
+				new Consulta("ID", () -> atendimentoRepository.findByIdGreaterThan(1, PAGINA)));
+		consultas.put("AtendimentoRepository.findAllBy(Pageable)",
+				new Consulta(VARREDURA, () -> atendimentoRepository.findAllBy(PAGINA)));
+		consultas.put("AtendimentoRepository.streamAllByOrderById()", new Consulta(VARREDURA, () -> {
+			try (Stream<?> atendimentos = atendimentoRepository.streamAllByOrderById()) {
+				atendimentos.count();
+			}
+		}));
+		consultas.put("AtendimentoRepository.findAgenda(Integer,LocalDateTime,LocalDateTime)",
+				new Consulta("ID_PSICOLOGO", () -> atendimentoRepository.findAgenda(2, agosto, setembro)));
+		consultas.put("AtendimentoRepository.findByDataHoraGreaterThanEqualAndDataHoraLessThanOrderByDataHora("
+				+ "LocalDateTime,LocalDateTime)", new Consulta("DATA_HORA", () -> atendimentoRepository
+						.findByDataHoraGreaterThanEqualAndDataHoraLessThanOrderByDataHora(agosto, setembro)));
+		consultas.put("AtendimentoRepository.findByDataHoraIsNullAndIdGreaterThan(Integer,Pageable)",
+				new Consulta("DATA_HORA",
+						() -> atendimentoRepository.findByDataHoraIsNullAndIdGreaterThan(0, PAGINA)));
+
+		consultas.put("PacienteRepository.findByCpf(String)",
+				new Consulta("CPF", () -> pacienteRepository.findByCpf("11111111111")));
+		consultas.put("PacienteRepository.findAll()", new Consulta(VARREDURA, pacienteRepository::findAll));
+		consultas.put("PacienteRepository.findAll(Sort)",
+				new Consulta(VARREDURA, () -> pacienteRepository.findAll(Sort.by("idade"))));
+		consultas.put("PacienteRepository.findDetalheById(Integer)",
+				new Consulta("ID", () -> pacienteRepository.findDetalheById(5)));
+		consultas.put("PacienteRepository.findByIdGreaterThan(Integer,Pageable)",
+				new Consulta("ID", () -> pacienteRepository.findByIdGreaterThan(1, PAGINA)));
+		consultas.put("PacienteRepository.findAllBy(Pageable)",
+				new Consulta(VARREDURA, () -> pacienteRepository.findAllBy(PAGINA)));
+		consultas.put("PacienteRepository.findCamposBusca()",
+				new Consulta(VARREDURA, pacienteRepository::findCamposBusca));
+		consultas.put("PacienteRepository.findResumos()", new Consulta(VARREDURA, pacienteRepository::findResumos));
+		consultas.put("PacienteRepository.findResumosByIdGreaterThan(Integer,Pageable)",
+				new Consulta("ID", () -> pacienteRepository.findResumosByIdGreaterThan(1, PAGINA)));
+
+		consultas.put("PsicologoRepository.findByCrp(String)",
+				new Consulta("CRP", () -> psicologoRepository.findByCrp("123456")));
+		consultas.put("PsicologoRepository.findAll()", new Consulta(VARREDURA, psicologoRepository::findAll));
+		consultas.put("PsicologoRepository.findAll(Sort)",
+				new Consulta(VARREDURA, () -> psicologoRepository.findAll(Sort.by("idade"))));
+		consultas.put("PsicologoRepository.findDetalheById(Integer)",
+				new Consulta("ID", () -> psicologoRepository.findDetalheById(1)));
+		consultas.put("PsicologoRepository.findByIdGreaterThan(Integer,Pageable)",
+				new Consulta("ID", () -> psicologoRepository.findByIdGreaterThan(1, PAGINA)));
+		consultas.put("PsicologoRepository.findAllBy(Pageable)",
+				new Consulta(VARREDURA, () -> psicologoRepository.findAllBy(PAGINA)));
+		consultas.put("PsicologoRepository.findAbordagens()",
+				new Consulta(VARREDURA, psicologoRepository::findAbordagens));
+		consultas.put("PsicologoRepository.findCamposBusca()",
+				new Consulta(VARREDURA, psicologoRepository::findCamposBusca));
+		consultas.put("PsicologoRepository.findResumos()", new Consulta(VARREDURA, psicologoRepository::findResumos));
+		consultas.put("PsicologoRepository.findResumosByIdGreaterThan(Integer,Pageable)",
+				new Consulta("ID", () -> psicologoRepository.findResumosByIdGreaterThan(1, PAGINA)));
+
+		consultas.put("UsuarioRepository.findByIdade(int)",
+				new Consulta("IDADE", () -> usuarioRepository.findByIdade(30)));
+		consultas.put("UsuarioRepository.findAll()", new Consulta(VARREDURA, usuarioRepository::findAll));
+		consultas.put("UsuarioRepository.findAll(Sort)",
+				new Consulta(VARREDURA, () -> usuarioRepository.findAll(Sort.by("idade"))));
+		consultas.put("UsuarioRepository.findByIdGreaterThan(Integer,Pageable)",
+				new Consulta("ID", () -> usuarioRepository.findByIdGreaterThan(1, PAGINA)));
+		consultas.put("UsuarioRepository.findAllBy(Pageable)",
+				new Consulta(VARREDURA, () -> usuarioRepository.findAllBy(PAGINA)));
+		return consultas;
+	}
+
+	private static String assinatura(Class<?> repositorio, Method metodo) {
+		return repositorio.getSimpleName() + "." + metodo.getName() + Arrays.stream(metodo.getParameterTypes())
+				.map(Class::getSimpleName).collect(Collectors.joining(",", "(", ")"));
+	}
+
+	@Test
+	void todosOsMetodosDosRepositoriosTemUmCaso() {
+		Set<String> declarados = new TreeSet<>();
+		for (Class<?> repositorio : REPOSITORIOS) {
+			for (Method metodo : repositorio.getDeclaredMethods()) {
+				if (!metodo.isSynthetic() && !metodo.isDefault()) {
+					declarados.add(assinatura(repositorio, metodo));
+				}
+			}
+		}
+		assertEquals(declarados, new TreeSet<>(consultas().keySet()));
+	}
+
+	@TestFactory
+	Stream<DynamicTest> planoDeCadaConsulta() {
+		TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+		transacao.setReadOnly(true);
+
+		return consultas().entrySet().stream().map(caso -> DynamicTest.dynamicTest(caso.getKey(), () -> {
+			// Com o cache de segundo nível frio, todas as consultas chegam ao banco de dados
+			cacheEntidadesService.limpar();
+			List<String> comandos = ComandosCapturados.capturar(
+					() -> transacao.executeWithoutResult(status -> caso.getValue().chamada.run()));
+			assertFalse(comandos.isEmpty(), "nenhum comando SQL em " + caso.getKey());
+
+			String coluna = caso.getValue().coluna;
+			String principal = explicar(comandos.get(0));
+			if (coluna != VARREDURA) {
+				// O H2 anota cada tabela com o índice escolhido e a condição atendida por ele
+				Pattern indice = Pattern.compile("/\\* PUBLIC\\.[^:*]+: [^*]*\\b" + coluna + "\\b");
+				assertTrue(indice.matcher(principal).find(), "índice de " + coluna + " não usado: " + principal);
+			}
+			// Os demais comandos carregam associações pela chave primária
+			for (String comando : comandos.subList(1, comandos.size())) {
+				String plano = explicar(comando);
+				assertFalse(plano.contains("tableScan"), "varredura em " + caso.getKey() + ": " + plano);
+			}
+			if (coluna != VARREDURA) {
+				assertFalse(principal.contains("tableScan"), "varredura em " + caso.getKey() + ": " + principal);
+			}
+		}));
+	}
+
+	private String explicar(String comando) {
+		return String.join("\n", jdbcTemplate.queryForList("explain " + comando, String.class));
+	}
+
+}
@@ -0,0 +1,116 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
+import br.edu.infnet.appMatheusAvelino.model.domain.Paciente;
+import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
+
+@SpringBootTest
+class AgendaServiceTests {
+
+	@Autowired
+	private AgendaService agendaService;
+
+	@Autowired
+	private AtendimentoService atendimentoService;
+
+	private static Atendimento novoAtendimento(int idPsicologo, String data) {
+		Psicologo psicologo = new Psicologo();
+		psicologo.setId(idPsicologo);
+		Paciente paciente = new Paciente();
+		paciente.setId(5);
+
+		Atendimento atendimento = new Atendimento(data, "Online");
+		atendimento.setPsicologo(psicologo);
+		atendimento.setPaciente(paciente);
+		return atendimento;
+	}
+
+	@Test
+	void agendaCarregadaDetectaSobreposicoes() {
+		// O psicólogo 2 tem um atendimento em 22/08/2024 às 11:30, com 50 minutos de duração
+		LocalDateTime atendimento = LocalDateTime.of(2024, 8, 22, 11, 30);
+
+		assertTrue(agendaService.isOcupado(2, atendimento));
+		assertTrue(agendaService.isOcupado(2, atendimento.minusMinutes(49)));
+		assertTrue(agendaService.isOcupado(2, atendimento.plusMinutes(49)));
+		assertFalse(agendaService.isOcupado(2, atendimento.minusMinutes(50)));
+		assertFalse(agendaService.isOcupado(2, atendimento.plusMinutes(50)));
+		assertFalse(agendaService.isOcupado(3, atendimento));
+
+		assertEquals(LocalDateTime.of(2024, 8, 22, 12, 20),
+				agendaService.obterProximoHorarioLivre(2, LocalDateTime.of(2024, 8, 22, 11, 0)));
+		assertEquals(LocalDateTime.of(2024, 8, 22, 10, 0),
+				agendaService.obterProximoHorarioLivre(2, LocalDateTime.of(2024, 8, 22, 10, 0)));
+	}
+
+	@Test
+	void inclusaoEmHorarioOcupadoNaoGravaEExclusaoLiberaOHorario() {
+		long antes = atendimentoService.obterQtde();
+
+		Atendimento conflitante = novoAtendimento(2, "22/08/2024 - 12:00");
+		atendimentoService.incluir(conflitante);
+		assertNull(conflitante.getId());
+		assertEquals(antes, atendimentoService.obterQtde());
+
+		Atendimento livre = novoAtendimento(2, "22/08/2024 - 12:20");
+		atendimentoService.incluir(livre);
+		assertNotNull(livre.getId());
+		assertTrue(agendaService.isOcupado(2, LocalDateTime.of(2024, 8, 22, 13, 0)));
+
+		atendimentoService.excluir(livre.getId());
+		assertFalse(agendaService.isOcupado(2, LocalDateTime.of(2024, 8, 22, 13, 0)));
+		assertEquals(antes, atendimentoService.obterQtde());
+	}
+
+	@Test
+	void inclusoesSimultaneasNoMesmoHorarioGravamApenasUmAtendimento() throws Exception {
+		int threads = 16;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Future<Atendimento>> inclusoes = new ArrayList<>();
+
+		try {
+			for (int i = 0; i < threads; i++) {
+				inclusoes.add(executor.submit(() -> {
+					Atendimento atendimento = novoAtendimento(3, "04/02/2030 - 10:00");
+					largada.await();
+					atendimentoService.incluir(atendimento);
+					return atendimento;
+				}));
+			}
+			largada.countDown();
+
+			List<Integer> gravados = new ArrayList<>();
+			for (Future<Atendimento> inclusao : inclusoes) {
+				Integer id = inclusao.get().getId();
+				if (id != null) {
+					gravados.add(id);
+				}
+			}
+
+			assertEquals(1, gravados.size());
+			atendimentoService.excluir(gravados.get(0));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,141 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
+import br.edu.infnet.appMatheusAvelino.model.domain.Paciente;
+import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
+import br.edu.infnet.appMatheusAvelino.model.service.AnaliseService.Dimensao;
+import br.edu.infnet.appMatheusAvelino.model.service.AnaliseService.Filtro;
+
+@SpringBootTest
+class AnaliseServiceTests {
+
+	@Autowired
+	private AnaliseService analiseService;
+
+	@Autowired
+	private AtendimentoService atendimentoService;
+
+	private static Map<String, Object> contagem(long total, long efetuados) {
+		return Map.of("total", total, "efetuados", efetuados, "taxaEfetuados", (double) efetuados / total);
+	}
+
+	@Test
+	void agrupamentoPorPsicologoEMes() {
+		Map<String, Map<String, Object>> porPsicologo = analiseService.agrupar(Dimensao.PSICOLOGO, new Filtro());
+		assertEquals(List.of("1", "2", "3", "4"), List.copyOf(porPsicologo.keySet()));
+		assertEquals(contagem(2, 1), porPsicologo.get("2"));
+		assertEquals(contagem(1, 0), porPsicologo.get("4"));
+
+		Map<String, Map<String, Object>> porMes = analiseService.agrupar(Dimensao.MES, new Filtro());
+		assertEquals(List.of("2024-08", "2024-09"), List.copyOf(porMes.keySet()));
+		assertEquals(contagem(3, 3), porMes.get("2024-08"));
+		assertEquals(contagem(2, 0), porMes.get("2024-09"));
+	}
+
+	@Test
+	void filtrosRestringemAsLinhas() {
+		// Dos três atendimentos online, os de setembro estão em andamento
+		assertEquals(Map.of("emAndamento", contagem(2, 0)), analiseService.agrupar(Dimensao.STATUS,
+				new Filtro().tipo("Online").efetuado(false)));
+
+		Map<String, Map<String, Object>> agosto = analiseService.agrupar(Dimensao.TIPO, new Filtro()
+				.periodo(LocalDateTime.of(2024, 8, 1, 0, 0), LocalDateTime.of(2024, 9, 1, 0, 0)));
+		assertEquals(Map.of("Online", contagem(1, 1), "Prescencial", contagem(2, 2)), agosto);
+
+		assertEquals(Map.of("5", contagem(2, 1)), analiseService.agrupar(Dimensao.PACIENTE,
+				new Filtro().psicologo(2)));
+		assertEquals(Map.of(), analiseService.agrupar(Dimensao.PSICOLOGO, new Filtro().tipo("Inexistente")));
+	}
+
+	@Test
+	void divisaoEmFaixasNaoAlteraOResultado() {
+		Map<String, Map<String, Object>> inteira = analiseService.agrupar(Dimensao.MES, new Filtro());
+		Object limiar = ReflectionTestUtils.getField(analiseService, "limiarDivisao");
+		ReflectionTestUtils.setField(analiseService, "limiarDivisao", 1);
+		try {
+			assertEquals(inteira, analiseService.agrupar(Dimensao.MES, new Filtro()));
+		} finally {
+			ReflectionTestUtils.setField(analiseService, "limiarDivisao", limiar);
+		}
+	}
+
+	@Test
+	void inclusaoAlteracaoEExclusaoAtualizamACopia() {
+		Psicologo psicologo = new Psicologo();
+		psicologo.setId(3);
+		Paciente paciente = new Paciente();
+		paciente.setId(7);
+		Atendimento atendimento = new Atendimento("16/10/2024 - 15:00", "Online");
+		atendimento.setPsicologo(psicologo);
+		atendimento.setPaciente(paciente);
+		int linhas = analiseService.obterQtde();
+
+		atendimentoService.incluir(atendimento);
+		assertNotNull(atendimento.getId());
+		try {
+			assertEquals(contagem(1, 0), analiseService.agrupar(Dimensao.MES, new Filtro()).get("2024-10"));
+			assertEquals(linhas + 1, analiseService.obterQtde());
+
+			atendimento.setStatusAtendimento(true);
+			atendimentoService.incluir(atendimento);
+			assertEquals(contagem(2, 2), analiseService.agrupar(Dimensao.PSICOLOGO, new Filtro()).get("3"));
+
+			Map<String, Map<String, Object>> incremental = analiseService.agrupar(Dimensao.TIPO, new Filtro());
+			analiseService.recriar();
+			assertEquals(incremental, analiseService.agrupar(Dimensao.TIPO, new Filtro()));
+		} finally {
+			atendimentoService.excluir(atendimento.getId());
+		}
+
+		assertFalse(analiseService.agrupar(Dimensao.MES, new Filtro()).containsKey("2024-10"));
+		assertEquals(linhas, analiseService.obterQtde());
+	}
+
+	@Test
+	void atualizacaoComFalhaMantemOsPendentes() {
+		Psicologo psicologo = new Psicologo();
+		psicologo.setId(3);
+		Paciente paciente = new Paciente();
+		paciente.setId(7);
+		Atendimento atendimento = new Atendimento("17/10/2024 - 15:00", "Online");
+		atendimento.setPsicologo(psicologo);
+		atendimento.setPaciente(paciente);
+		atendimentoService.incluir(atendimento);
+		try {
+			analiseService.atualizar();
+			assertEquals(contagem(1, 0), analiseService.agrupar(Dimensao.MES, new Filtro()).get("2024-10"));
+
+			// Sem DataSource, a releitura do atendimento alterado falha
+			Object jdbcTemplate = ReflectionTestUtils.getField(analiseService, "jdbcTemplate");
+			ReflectionTestUtils.setField(analiseService, "jdbcTemplate", new JdbcTemplate());
+			try {
+				atendimento.setStatusAtendimento(true);
+				atendimentoService.incluir(atendimento);
+				analiseService.atualizar();
+			} finally {
+				ReflectionTestUtils.setField(analiseService, "jdbcTemplate", jdbcTemplate);
+			}
+
+			analiseService.atualizar();
+			assertEquals(contagem(1, 1), analiseService.agrupar(Dimensao.MES, new Filtro()).get("2024-10"));
+		} finally {
+			atendimentoService.excluir(atendimento.getId());
+		}
+		assertFalse(analiseService.agrupar(Dimensao.MES, new Filtro()).containsKey("2024-10"));
+	}
+
+}
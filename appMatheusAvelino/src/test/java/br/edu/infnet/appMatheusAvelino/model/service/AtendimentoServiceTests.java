@@ -0,0 +1,106 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
+
+@SpringBootTest
+class AtendimentoServiceTests {
+
+	@Autowired
+	private AtendimentoService atendimentoService;
+
+	@Autowired
+	private AgendaService agendaService;
+
+	private static Atendimento novoAtendimento(int idPsicologo, LocalDateTime dataHora) {
+		Atendimento atendimento = new Atendimento();
+		atendimento.setIdPsicologo(idPsicologo);
+		atendimento.setIdPaciente(5 + idPsicologo % 3);
+		atendimento.setDataHora(dataHora);
+		atendimento.setTipoAtendimento("Online");
+		return atendimento;
+	}
+
+	@Test
+	void agendamentosConcorrentesNuncaSobrepoemAtendimentos() throws Exception {
+		LocalDateTime dia = LocalDateTime.of(2031, 3, 3, 8, 0);
+		int threads = 32;
+		int tentativasPorThread = 100;
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch largada = new CountDownLatch(1);
+		Queue<Atendimento> agendados = new ConcurrentLinkedQueue<>();
+		AtomicInteger conflitos = new AtomicInteger();
+		List<Future<?>> clientes = new ArrayList<>();
+
+		for (int t = 0; t < threads; t++) {
+			Random aleatorio = new Random(t);
+			clientes.add(executor.submit(() -> {
+				largada.await();
+				for (int i = 0; i < tentativasPorThread; i++) {
+					// Horários de 10 em 10 minutos: a maioria se sobrepõe a outro sem ser idêntica a ele
+					Atendimento atendimento = novoAtendimento(1 + aleatorio.nextInt(4),
+							dia.plusMinutes(10L * aleatorio.nextInt(48)));
+					try {
+						agendados.add(atendimentoService.agendar(atendimento, null));
+					} catch (ConflitoAgendaException e) {
+						conflitos.incrementAndGet();
+					}
+				}
+				return null;
+			}));
+		}
+
+		largada.countDown();
+		for (Future<?> cliente : clientes) {
+			cliente.get();
+		}
+		executor.shutdown();
+
+		int tentativas = threads * tentativasPorThread;
+
+		List<Atendimento> gravados = atendimentoService.obterPorPeriodo(dia, dia.plusDays(1));
+		try {
+			assertEquals(tentativas, agendados.size() + conflitos.get());
+			assertEquals(agendados.size(), gravados.size());
+
+			Map<Integer, List<Atendimento>> porPsicologo = gravados.stream()
+					.collect(Collectors.groupingBy(a -> a.getPsicologo().getId()));
+			for (List<Atendimento> agenda : porPsicologo.values()) {
+				agenda.sort(Comparator.comparing(Atendimento::getDataHora));
+				for (int i = 1; i < agenda.size(); i++) {
+					Duration intervalo = Duration.between(agenda.get(i - 1).getDataHora(), agenda.get(i).getDataHora());
+					assertTrue(intervalo.compareTo(agendaService.getDuracao()) >= 0, "atendimentos sobrepostos: "
+							+ agenda.get(i - 1) + " e " + agenda.get(i));
+				}
+			}
+		} finally {
+			for (Atendimento atendimento : gravados) {
+				atendimentoService.excluir(atendimento.getId());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,76 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Paciente;
+
+@SpringBootTest
+class BuscaServiceTests {
+
+	@Autowired
+	private BuscaService buscaService;
+
+	@Autowired
+	private PacienteService pacienteService;
+
+	private List<String> buscar(String consulta, String tipo, int qtde) {
+		return buscaService.buscar(consulta, tipo, qtde).stream()
+				.map(r -> r.getNomeCompleto())
+				.collect(Collectors.toList());
+	}
+
+	@Test
+	void buscaPeloInicioDasPalavrasSemAcentos() {
+		assertEquals(List.of("Joao Ribeiro"), buscar("JOÃO", null, 10));
+		assertEquals(List.of("Maria Oliveira"), buscar("oli mar", null, 10));
+		assertEquals(List.of("Joao Ribeiro"), buscar("1234567", null, 10));
+		assertEquals(List.of("Caio Nunes"), buscar("caio@caio", null, 10));
+		assertTrue(buscar("m", null, 10).isEmpty());
+		assertTrue(buscar("maria ribeiro", null, 10).isEmpty());
+	}
+
+	@Test
+	void resultadosOrdenadosPelaPontuacao() {
+		// Sem palavras inteiras, todos empatam e valem a ordem alfabética e a quantidade pedida
+		assertEquals(List.of("Manu Carvalhos", "Marcos Antonio", "Maria Oliveira", "Matheus Souza"),
+				buscar("ma", null, 10));
+		assertEquals(List.of("Manu Carvalhos", "Marcos Antonio"), buscar("ma", null, 2));
+		assertEquals(List.of("Maria Oliveira"), buscar("ma", "paciente", 10));
+
+		Paciente paciente = new Paciente("Mariana Souza", "mariana@email.com", 30, "11122233344");
+		pacienteService.incluir(paciente);
+		try {
+			// A palavra inteira vale o dobro de um prefixo
+			assertEquals(List.of("Maria Oliveira", "Mariana Souza"), buscar("maria", null, 10));
+			assertEquals(List.of("Mariana Souza", "Matheus Souza"), buscar("souza", null, 10));
+		} finally {
+			pacienteService.excluir(paciente.getId());
+		}
+	}
+
+	@Test
+	void inclusaoEExclusaoAtualizamOIndice() {
+		Paciente paciente = new Paciente("Conceição Araújo", "conceicao@email.com", 40, "98765432100");
+		pacienteService.incluir(paciente);
+		try {
+			assertEquals(List.of("Conceição Araújo"), buscar("conceicao arau", null, 10));
+
+			paciente.setNomeCompleto("Conceição Prado");
+			pacienteService.incluir(paciente);
+			assertTrue(buscar("araujo", null, 10).isEmpty());
+			assertEquals(List.of("Conceição Prado"), buscar("prado", "paciente", 10));
+		} finally {
+			pacienteService.excluir(paciente.getId());
+		}
+		assertTrue(buscar("conceicao", null, 10).isEmpty());
+	}
+
+}
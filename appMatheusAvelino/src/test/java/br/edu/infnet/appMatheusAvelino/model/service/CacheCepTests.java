@@ -0,0 +1,82 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Endereco;
+
+class CacheCepTests {
+
+	private static Endereco endereco(String cep) {
+		Endereco endereco = new Endereco();
+		endereco.setCep(cep);
+		return endereco;
+	}
+
+	@Test
+	void entradaUsadaHaMaisTempoEDespejadaNoTamanhoMaximo() {
+		CacheCep cache = new CacheCep(2, Duration.ofHours(1), Duration.ofHours(1));
+		cache.guardar("01001000", endereco("01001000"));
+		cache.guardar("20010000", endereco("20010000"));
+
+		// O acesso torna 01001000 a mais recente; 20010000 passa a ser a usada há mais tempo
+		assertNotNull(cache.obter("01001000"));
+		cache.guardar("30130000", endereco("30130000"));
+
+		assertNotNull(cache.obter("01001000"));
+		assertNull(cache.obter("20010000"));
+		assertNotNull(cache.obter("30130000"));
+		assertEquals(2, cache.obterEstatisticas().get("tamanho"));
+		assertEquals(1L, cache.obterEstatisticas().get("despejos"));
+	}
+
+	@Test
+	void entradaExpiradaNaoEEntregue() {
+		CacheCep cache = new CacheCep(10, Duration.ZERO, Duration.ofHours(1));
+		cache.guardar("01001000", endereco("01001000"));
+
+		assertNull(cache.obter("01001000"));
+		assertEquals(0, cache.obterEstatisticas().get("tamanho"));
+		assertEquals(1L, cache.obterEstatisticas().get("expiracoes"));
+		assertEquals(1L, cache.obterEstatisticas().get("faltas"));
+	}
+
+	@Test
+	void cepDesconhecidoEGuardadoComTempoDeVidaProprio() {
+		CacheCep cache = new CacheCep(10, Duration.ofHours(1), Duration.ofHours(1));
+		cache.guardar("99999999", null);
+
+		CacheCep.Entrada entrada = cache.obter("99999999");
+		assertNotNull(entrada);
+		assertNull(entrada.copiarEndereco());
+		assertEquals(1L, cache.obterEstatisticas().get("acertosNegativos"));
+		assertEquals(0L, cache.obterEstatisticas().get("acertos"));
+
+		// O tempo de vida negativo vale apenas para os CEPs desconhecidos
+		CacheCep curto = new CacheCep(10, Duration.ofHours(1), Duration.ZERO);
+		curto.guardar("99999999", null);
+		curto.guardar("01001000", endereco("01001000"));
+		assertNull(curto.obter("99999999"));
+		assertNotNull(curto.obter("01001000"));
+	}
+
+	@Test
+	void enderecoGuardadoEEntregueSempreComoCopia() {
+		CacheCep cache = new CacheCep(10, Duration.ofHours(1), Duration.ofHours(1));
+		Endereco original = endereco("01001000");
+		cache.guardar("01001000", original);
+		original.setCep("alterado");
+
+		Endereco primeira = cache.obter("01001000").copiarEndereco();
+		Endereco segunda = cache.obter("01001000").copiarEndereco();
+		assertEquals("01001000", primeira.getCep());
+		assertNotSame(primeira, segunda);
+	}
+
+}
@@ -0,0 +1,51 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Abordagem;
+
+@SpringBootTest
+class CacheEntidadesServiceTests {
+
+	@Autowired
+	private AbordagemService abordagemService;
+
+	private List<String> listar() {
+		List<String> descricoes = new ArrayList<>();
+		abordagemService.obterLista().forEach(a -> descricoes.add(a.getDescricao()));
+		return descricoes;
+	}
+
+	@Test
+	void inclusaoEExclusaoInvalidamOCache() {
+		int antes = listar().size();
+
+		Abordagem abordagem = new Abordagem("Abordagem do teste de cache");
+		abordagemService.incluir(abordagem);
+		assertNotNull(abordagem.getId());
+		try {
+			assertEquals(antes + 1, listar().size());
+			assertTrue(listar().contains("Abordagem do teste de cache"));
+
+			abordagem.setDescricao("Abordagem do teste de cache alterada");
+			abordagemService.incluir(abordagem);
+			assertEquals("Abordagem do teste de cache alterada", abordagemService.obterPorId(abordagem.getId()).getDescricao());
+		} finally {
+			abordagemService.excluir(abordagem.getId());
+		}
+
+		assertEquals(antes, listar().size());
+		assertNull(abordagemService.obterPorId(abordagem.getId()));
+	}
+
+}
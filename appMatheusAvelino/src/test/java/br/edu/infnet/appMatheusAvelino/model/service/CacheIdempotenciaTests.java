@@ -0,0 +1,62 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class CacheIdempotenciaTests {
+
+	@Test
+	void impressaoDiferenteComAMesmaChaveERejeitada() {
+		CacheIdempotencia<String> cache = new CacheIdempotencia<>(10, Duration.ofHours(1));
+		assertEquals("a", cache.executar("k", "x", () -> "a"));
+		assertEquals("a", cache.executar("k", "x", () -> "b"));
+		assertThrows(ChaveIdempotenciaReutilizadaException.class, () -> cache.executar("k", "y", () -> "c"));
+	}
+
+	@Test
+	void operacaoEmAndamentoNaoEDescartadaNemExpira() throws Exception {
+		// Tamanho máximo 1 e tempo de vida zero: só a operação em andamento impede o descarte da chave
+		CacheIdempotencia<String> cache = new CacheIdempotencia<>(1, Duration.ZERO);
+		AtomicInteger execucoes = new AtomicInteger();
+		CountDownLatch iniciada = new CountDownLatch(1);
+		CountDownLatch liberada = new CountDownLatch(1);
+
+		CompletableFuture<String> primeira = CompletableFuture.supplyAsync(() -> cache.executar("k", "x", () -> {
+			execucoes.incrementAndGet();
+			iniciada.countDown();
+			try {
+				liberada.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "a";
+		}));
+		iniciada.await(5, TimeUnit.SECONDS);
+
+		assertEquals("b", cache.executar("outra", "x", () -> "b"));
+		assertEquals(2, cache.obterEstatisticas().get("tamanho"));
+		CompletableFuture<String> repeticao = CompletableFuture.supplyAsync(() -> cache.executar("k", "x", () -> {
+			execucoes.incrementAndGet();
+			return "repetida";
+		}));
+
+		// A repetição só é contada depois de encontrar a chave, antes de aguardar a primeira execução
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (cache.obterEstatisticas().get("repeticoes").longValue() == 0 && System.nanoTime() < limite) {
+			Thread.sleep(1);
+		}
+		liberada.countDown();
+		assertEquals("a", primeira.get(5, TimeUnit.SECONDS));
+		assertEquals("a", repeticao.get(5, TimeUnit.SECONDS));
+		assertEquals(1, execucoes.get());
+	}
+
+}
@@ -0,0 +1,73 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
+import br.edu.infnet.appMatheusAvelino.model.domain.Paciente;
+import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
+
+@SpringBootTest
+class DisponibilidadeServiceTests {
+
+	// Os psicólogos 3 e 4 são da abordagem 5 (TCC); o psicólogo 3 atende em 20/08/2024 das 09:30 às 10:20
+	private static final int TCC = 5;
+
+	@Autowired
+	private DisponibilidadeService disponibilidadeService;
+
+	@Autowired
+	private AtendimentoService atendimentoService;
+
+	private List<String> buscar(int idAbordagem, LocalDateTime aPartirDe, int qtde) {
+		return disponibilidadeService.obterProximosHorarios(idAbordagem, aPartirDe, qtde).stream()
+				.map(h -> h.getIdPsicologo() + " " + h.getDataHora())
+				.collect(Collectors.toList());
+	}
+
+	@Test
+	void horariosOcupadosNaoSaoOferecidos() {
+		assertEquals(List.of("3 2024-08-20T08:00", "4 2024-08-20T08:00", "4 2024-08-20T08:50",
+				"4 2024-08-20T09:40", "3 2024-08-20T10:30"), buscar(TCC, LocalDateTime.of(2024, 8, 20, 8, 0), 5));
+	}
+
+	@Test
+	void buscaComecaNoProximoDiaDeAtendimento() {
+		// Sábado à tarde: a busca continua na segunda-feira, no início do expediente
+		assertEquals(List.of("3 2024-08-26T08:00"), buscar(TCC, LocalDateTime.of(2024, 8, 24, 15, 0), 1));
+		assertEquals(List.of("3 2024-08-20T10:30"), buscar(TCC, LocalDateTime.of(2024, 8, 20, 10, 0), 1));
+		assertTrue(buscar(2, LocalDateTime.of(2024, 8, 20, 8, 0), 5).isEmpty());
+	}
+
+	@Test
+	void inclusaoEExclusaoDeAtendimentoAtualizamADisponibilidade() {
+		Psicologo psicologo = new Psicologo();
+		psicologo.setId(4);
+		Paciente paciente = new Paciente();
+		paciente.setId(6);
+		Atendimento atendimento = new Atendimento("20/08/2024 - 08:00", "Online");
+		atendimento.setPsicologo(psicologo);
+		atendimento.setPaciente(paciente);
+
+		atendimentoService.incluir(atendimento);
+		assertNotNull(atendimento.getId());
+		try {
+			assertEquals(List.of("3 2024-08-20T08:00", "4 2024-08-20T08:50"),
+					buscar(TCC, LocalDateTime.of(2024, 8, 20, 8, 0), 2));
+		} finally {
+			atendimentoService.excluir(atendimento.getId());
+		}
+		assertEquals(List.of("3 2024-08-20T08:00", "4 2024-08-20T08:00"),
+				buscar(TCC, LocalDateTime.of(2024, 8, 20, 8, 0), 2));
+	}
+
+}
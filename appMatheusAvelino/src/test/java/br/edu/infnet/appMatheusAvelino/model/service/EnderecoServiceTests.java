@@ -0,0 +1,123 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.infnet.appMatheusAvelino.client.EnderecoClientStub;
+import br.edu.infnet.appMatheusAvelino.model.domain.Endereco;
+
+@SpringBootTest
+class EnderecoServiceTests {
+
+	private static final EnderecoClientStub STUB = EnderecoClientStub.iniciar();
+
+	@Autowired
+	private EnderecoService enderecoService;
+
+	@Value("${app.cep.consultas-simultaneas}")
+	private int consultasSimultaneas;
+
+	@AfterEach
+	void restaurarLatencia() {
+		STUB.setLatencia(0);
+	}
+
+	@Test
+	void consultasSimultaneasAoMesmoCepFazemUmaUnicaConsultaRemota() throws Exception {
+		String cep = "20010000";
+		int threads = 32;
+		STUB.setLatencia(300);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Future<Endereco>> resultados = new ArrayList<>();
+
+		try {
+			for (int i = 0; i < threads; i++) {
+				resultados.add(executor.submit(() -> {
+					largada.await();
+					return enderecoService.obterPorCep(cep);
+				}));
+			}
+			largada.countDown();
+
+			List<Endereco> enderecos = new ArrayList<>();
+			for (Future<Endereco> resultado : resultados) {
+				enderecos.add(resultado.get());
+			}
+
+			assertEquals(1, STUB.getRequisicoes(cep));
+			for (Endereco endereco : enderecos) {
+				assertNotNull(endereco);
+				assertEquals(cep, endereco.getCep());
+			}
+			assertNotSame(enderecos.get(0), enderecos.get(1));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void loteDeCepsDistintosEResolvidoEmParalelo() {
+		int qtde = 20;
+		long latencia = 100;
+		STUB.setLatencia(latencia);
+
+		List<String> ceps = new ArrayList<>();
+		for (int i = 0; i < qtde; i++) {
+			ceps.add(String.format("3%07d", i));
+		}
+		ceps.add("99999999");
+
+		STUB.zerarSimultaneas();
+		Map<String, Endereco> enderecos = enderecoService.obterPorCeps(ceps);
+
+		assertEquals(ceps.size(), enderecos.size());
+		assertEquals(ceps.get(0), enderecos.get(ceps.get(0)).getCep());
+		assertNull(enderecos.get("99999999"));
+		assertEquals(consultasSimultaneas, STUB.getMaximoSimultaneas(), "consultas remotas simultâneas");
+	}
+
+	@Test
+	void consultaAposOEncerramentoFalhaEmVezDeFicarPendente() throws Exception {
+		EnderecoService encerrado = new EnderecoService();
+		ReflectionTestUtils.setField(encerrado, "tamanhoMaximo", 10);
+		ReflectionTestUtils.setField(encerrado, "ttl", Duration.ofHours(1));
+		ReflectionTestUtils.setField(encerrado, "ttlNegativo", Duration.ofHours(1));
+		ReflectionTestUtils.setField(encerrado, "consultasSimultaneas", 1);
+		ReflectionTestUtils.setField(encerrado, "capacidadeFila", 1);
+		encerrado.iniciar();
+		encerrado.encerrar();
+
+		CompletableFuture<Endereco> consulta = encerrado.obterPorCepAsync("20010000");
+
+		ExecutionException falha = assertThrows(ExecutionException.class, () -> consulta.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(RejectedExecutionException.class, falha.getCause());
+		assertEquals(0, encerrado.obterEstatisticasCache().get("consultasEmAndamento"));
+	}
+
+}
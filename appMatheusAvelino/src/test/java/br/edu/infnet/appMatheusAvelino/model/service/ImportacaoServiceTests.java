@@ -0,0 +1,190 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
+import br.edu.infnet.appMatheusAvelino.model.repository.ArquivoCargaRepository;
+
+@SpringBootTest
+class ImportacaoServiceTests {
+
+	@TempDir
+	Path pasta;
+
+	@Autowired
+	private ImportacaoService importacaoService;
+
+	@Autowired
+	private ArquivoCargaRepository arquivoCargaRepository;
+
+	@Autowired
+	private PsicologoService psicologoService;
+
+	private final List<String> gravadas = Collections.synchronizedList(new ArrayList<>());
+
+	@BeforeEach
+	void habilitarIncremental() {
+		ReflectionTestUtils.setField(importacaoService, "incremental", true);
+	}
+
+	@AfterEach
+	void desabilitarIncremental() {
+		ReflectionTestUtils.setField(importacaoService, "incremental", false);
+	}
+
+	private long importar(Path arquivo) throws Exception {
+		return importacaoService.importar("Teste", arquivo.toString(), registro -> registro.texto(0),
+				gravadas::addAll);
+	}
+
+	private static void escrever(Path arquivo, String conteudo, StandardOpenOption... opcoes) throws Exception {
+		Files.write(arquivo, conteudo.getBytes(StandardCharsets.UTF_8), opcoes);
+	}
+
+	@Test
+	void somenteLinhasAcrescentadasSaoImportadas() throws Exception {
+		Path arquivo = pasta.resolve("linhas.txt");
+		escrever(arquivo, "a;1\nb;2\n");
+
+		assertEquals(2, importar(arquivo));
+		assertEquals(0, importar(arquivo));
+
+		escrever(arquivo, "c;3\nd;4\n", StandardOpenOption.APPEND);
+		assertEquals(2, importar(arquivo));
+		assertEquals(List.of("a", "b", "c", "d"), gravadas);
+		assertEquals(4, arquivoCargaRepository.findById(arquivo.toString()).get().getLinhas());
+		assertEquals(Files.size(arquivo), arquivoCargaRepository.findById(arquivo.toString()).get().getTamanho());
+	}
+
+	@Test
+	void arquivoAlteradoNoTrechoImportadoNaoEAplicado() throws Exception {
+		Path arquivo = pasta.resolve("alterado.txt");
+		escrever(arquivo, "a;1\nb;2\n");
+		assertEquals(2, importar(arquivo));
+
+		escrever(arquivo, "a;1\nx;2\nc;3\n");
+		assertEquals(0, importar(arquivo));
+
+		// A última linha sem quebra de linha continua na próxima gravação
+		Path semQuebra = pasta.resolve("sem-quebra.txt");
+		escrever(semQuebra, "a;1\nb");
+		assertEquals(2, importar(semQuebra));
+		escrever(semQuebra, "c;3\n", StandardOpenOption.APPEND);
+		assertEquals(0, importar(semQuebra));
+
+		assertEquals(List.of("a", "b", "a", "b"), gravadas);
+	}
+
+	@Test
+	void semModoIncrementalOArquivoEImportadoPorCompleto() throws Exception {
+		ReflectionTestUtils.setField(importacaoService, "incremental", false);
+		Path arquivo = pasta.resolve("completo.txt");
+		escrever(arquivo, "a;1\nb;2\n");
+
+		assertEquals(2, importar(arquivo));
+		assertEquals(2, importar(arquivo));
+		assertEquals(2, arquivoCargaRepository.findById(arquivo.toString()).get().getLinhas());
+	}
+
+	@Test
+	void linhaRejeitadaNaoInterrompeAImportacao() throws Exception {
+		Path arquivo = pasta.resolve("rejeitada.txt");
+		escrever(arquivo, "a;1\nx;2\nb;3\n");
+
+		// O lote inteiro falha por causa de "x"; as demais linhas são gravadas uma a uma
+		long importadas = importacaoService.importar("Teste", arquivo.toString(), registro -> registro.texto(0),
+				lote -> {
+					if (lote.contains("x")) {
+						throw new IllegalStateException("x inválido");
+					}
+					gravadas.addAll(lote);
+				});
+
+		assertEquals(2, importadas);
+		assertEquals(List.of("a", "b"), gravadas);
+		assertEquals(1, importacaoService.obterProgresso("Teste").get("linhasRejeitadas"));
+		// As linhas rejeitadas também contam como importadas na impressão digital
+		assertEquals(3, arquivoCargaRepository.findById(arquivo.toString()).get().getLinhas());
+		assertEquals(0, importar(arquivo));
+	}
+
+	@Test
+	void falhaNaImportacaoOrdenadaInterrompeAImportacao() throws Exception {
+		Object tamanhoLote = ReflectionTestUtils.getField(importacaoService, "tamanhoLote");
+		ReflectionTestUtils.setField(importacaoService, "tamanhoLote", 2);
+		Path arquivo = pasta.resolve("ordenado.txt");
+		escrever(arquivo, "a;1\nb;2\nx;3\nc;4\n");
+
+		try {
+			IllegalStateException falha = assertThrows(IllegalStateException.class,
+					() -> importacaoService.importar("Teste", arquivo.toString(), registro -> registro.texto(0),
+							lote -> {
+								if (lote.contains("x")) {
+									throw new IllegalStateException("x inválido");
+								}
+								gravadas.addAll(lote);
+							}, true));
+
+			assertTrue(falha.getMessage().contains("linhas 3 a 4"), falha.getMessage());
+			// Nenhuma linha do lote que falhou é gravada, para não deslocar os IDs das seguintes
+			assertEquals(List.of("a", "b"), gravadas);
+			assertEquals(2, arquivoCargaRepository.findById(arquivo.toString()).get().getLinhas());
+
+			// Corrigida a linha, a importação continua a partir do lote que falhou
+			escrever(arquivo, "a;1\nb;2\ny;3\nc;4\n");
+			assertEquals(2, importar(arquivo));
+			assertEquals(List.of("a", "b", "y", "c"), gravadas);
+		} finally {
+			ReflectionTestUtils.setField(importacaoService, "tamanhoLote", tamanhoLote);
+		}
+	}
+
+	@Test
+	void crpRepetidoRejeitaApenasASuaLinha() throws Exception {
+		ReflectionTestUtils.setField(importacaoService, "incremental", false);
+		Path arquivo = pasta.resolve("psicologos.txt");
+		// 345678 é o CRP de um psicólogo da carga inicial
+		escrever(arquivo, "Lote Um;um@lote.com;30;990001\nLote Dois;dois@lote.com;30;345678\n"
+				+ "Lote Tres;tres@lote.com;30;990003\n");
+
+		long importadas = importacaoService.importar("Teste", arquivo.toString(),
+				registro -> new Psicologo(registro.texto(0), registro.texto(1), registro.inteiro(2),
+						registro.texto(3), null),
+				psicologoService::incluirLote);
+
+		Psicologo primeiro = psicologoService.obterPorCrp("990001");
+		Psicologo terceiro = psicologoService.obterPorCrp("990003");
+		try {
+			assertEquals(2, importadas);
+			assertNotNull(primeiro);
+			assertNotNull(terceiro);
+			assertEquals("Matheus Souza", psicologoService.obterPorCrp("345678").getNomeCompleto());
+		} finally {
+			for (Psicologo psicologo : new Psicologo[] { primeiro, terceiro }) {
+				if (psicologo != null) {
+					psicologoService.excluir(psicologo.getId());
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,64 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LeitorRegistrosTests {
+
+	@TempDir
+	Path pasta;
+
+	private List<List<String>> ler(String conteudo, int capacidadeBloco) throws IOException {
+		Path arquivo = pasta.resolve("carga.txt");
+		Files.write(arquivo, conteudo.getBytes(StandardCharsets.UTF_8));
+
+		List<List<String>> linhas = new ArrayList<>();
+		Registro registro = new Registro();
+		LeitorRegistros.Bloco bloco = new LeitorRegistros.Bloco(capacidadeBloco);
+		try (LeitorRegistros leitor = new LeitorRegistros(arquivo)) {
+			while (leitor.proximoBloco(bloco)) {
+				bloco.paraCada(registro, r -> {
+					List<String> campos = new ArrayList<>();
+					for (int i = 0; i < r.qtdeCampos(); i++) {
+						campos.add(r.texto(i));
+					}
+					linhas.add(campos);
+				});
+			}
+		}
+		return linhas;
+	}
+
+	@Test
+	void quebrasDoWindowsELinhasVaziasSaoIgnoradas() throws IOException {
+		assertEquals(List.of(List.of("a", "1"), List.of("b", "2"), List.of("c", "3")),
+				ler("a;1\r\n\r\n\nb ; 2\r\n\r\nc;3", 16));
+	}
+
+	@Test
+	void linhasSaoDistribuidasEmVariosBlocos() throws IOException {
+		StringBuilder conteudo = new StringBuilder();
+		for (int i = 0; i < 10; i++) {
+			conteudo.append(i).append(";linha ").append(i).append('\n');
+		}
+		List<List<String>> linhas = ler(conteudo.toString(), 3);
+		assertEquals(10, linhas.size());
+		assertEquals(List.of("9", "linha 9"), linhas.get(9));
+	}
+
+	@Test
+	void caracteresMultibyteNasExtremidadesDosCampos() throws IOException {
+		assertEquals(List.of(List.of("Zé", "Ana Cláudia"), List.of("Érica", "São João")),
+				ler("Zé;Ana Cláudia\r\nÉrica ;São João\n", 16));
+	}
+
+}
@@ -0,0 +1,55 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Abordagem;
+import br.edu.infnet.appMatheusAvelino.model.service.PainelService.Contador;
+
+@SpringBootTest
+class PainelServiceTests {
+
+	@Autowired
+	private PainelService painelService;
+
+	@Autowired
+	private AbordagemService abordagemService;
+
+	@Autowired
+	private PsicologoService psicologoService;
+
+	@Autowired
+	private PacienteService pacienteService;
+
+	@Autowired
+	private AtendimentoService atendimentoService;
+
+	@Test
+	void contadoresRefletemACargaInicial() {
+		assertEquals(psicologoService.obterQtde(), painelService.obterQtde(Contador.PSICOLOGO));
+		assertEquals(pacienteService.obterQtde(), painelService.obterQtde(Contador.PACIENTE));
+		assertEquals(abordagemService.obterQtde(), painelService.obterQtde(Contador.ABORDAGEM));
+		assertEquals(atendimentoService.obterQtde(), painelService.obterQtde(Contador.ATENDIMENTO));
+		assertEquals(painelService.obterQtde(Contador.PSICOLOGO) + painelService.obterQtde(Contador.PACIENTE),
+				painelService.obterQtdeUsuario());
+	}
+
+	@Test
+	void inclusaoEExclusaoAtualizamOContadorSemConsultarOBanco() {
+		long antes = painelService.obterQtde(Contador.ABORDAGEM);
+
+		Abordagem abordagem = new Abordagem("Sistêmica");
+		abordagemService.incluir(abordagem);
+		assertEquals(antes + 1, painelService.obterQtde(Contador.ABORDAGEM));
+
+		abordagemService.excluir(abordagem.getId());
+		assertEquals(antes, painelService.obterQtde(Contador.ABORDAGEM));
+
+		painelService.recarregar();
+		assertEquals(antes, painelService.obterQtde(Contador.ABORDAGEM));
+	}
+
+}
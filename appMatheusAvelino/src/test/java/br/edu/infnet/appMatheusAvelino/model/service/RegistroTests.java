@@ -0,0 +1,54 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class RegistroTests {
+
+	private static Registro registro(String linha) {
+		byte[] bytes = linha.getBytes(StandardCharsets.UTF_8);
+		Registro registro = new Registro();
+		registro.posicionar(ByteBuffer.wrap(bytes), 0, bytes.length);
+		return registro;
+	}
+
+	@Test
+	void camposSaoLidosSemOsEspacosDasExtremidades() {
+		Registro registro = registro(" Ana Maria ;\tPsicóloga ;; fim");
+		assertEquals(4, registro.qtdeCampos());
+		assertEquals("Ana Maria", registro.texto(0));
+		assertEquals("Psicóloga", registro.texto(1));
+		assertEquals("", registro.texto(2));
+		assertEquals("fim", registro.texto(3));
+	}
+
+	@Test
+	void caracteresMultibyteNasExtremidadesSaoPreservados() {
+		// "é", "ã" e "ç" terminam com bytes de continuação (0x80 a 0xBF), que não podem ser tratados como espaço
+		Registro registro = registro("José;é; ação ;Érica;Ré");
+		assertEquals("José", registro.texto(0));
+		assertEquals("é", registro.texto(1));
+		assertEquals("ação", registro.texto(2));
+		assertEquals("Érica", registro.texto(3));
+		assertEquals("Ré", registro.texto(4));
+	}
+
+	@Test
+	void inteirosEBooleanosSaoLidosDosBytes() {
+		Registro registro = registro(" 42 ;-7;TRUE;false;4x");
+		assertEquals(42, registro.inteiro(0));
+		assertEquals(-7, registro.inteiro(1));
+		assertTrue(registro.booleano(2));
+		assertFalse(registro.booleano(3));
+		assertThrows(NumberFormatException.class, () -> registro.inteiro(4));
+		assertThrows(ArrayIndexOutOfBoundsException.class, () -> registro.texto(5));
+	}
+
+}
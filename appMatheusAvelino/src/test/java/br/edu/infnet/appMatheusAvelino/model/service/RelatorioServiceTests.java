@@ -0,0 +1,90 @@
+package br.edu.infnet.appMatheusAvelino.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.YearMonth;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.infnet.appMatheusAvelino.model.domain.Atendimento;
+import br.edu.infnet.appMatheusAvelino.model.domain.Paciente;
+import br.edu.infnet.appMatheusAvelino.model.domain.Psicologo;
+
+@SpringBootTest
+class RelatorioServiceTests {
+
+	private static final YearMonth OUTUBRO = YearMonth.of(2024, 10);
+
+	@Autowired
+	private RelatorioService relatorioService;
+
+	@Autowired
+	private AtendimentoService atendimentoService;
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> mes(Map<String, Object> relatorio, YearMonth mes) {
+		return (Map<String, Object>) relatorio.get(mes.toString());
+	}
+
+	@Test
+	void relatorioDoPsicologoPorMesTipoEStatus() {
+		// O psicólogo 2 tem um atendimento presencial efetuado em agosto e um online em andamento em setembro
+		Map<String, Object> relatorio = relatorioService.obterPorPsicologo(2, null);
+		assertEquals(Map.of("total", 1L, "efetuados", 1L, "emAndamento", 0L,
+				"porTipo", Map.of("Prescencial", Map.of("efetuados", 1L, "emAndamento", 0L))),
+				mes(relatorio, YearMonth.of(2024, 8)));
+		assertEquals(Map.of("total", 1L, "efetuados", 0L, "emAndamento", 1L,
+				"porTipo", Map.of("Online", Map.of("efetuados", 0L, "emAndamento", 1L))),
+				mes(relatorio, YearMonth.of(2024, 9)));
+
+		assertEquals(relatorio.get("2024-09"), mes(relatorioService.obterPorPsicologo(2, YearMonth.of(2024, 9)),
+				YearMonth.of(2024, 9)));
+
+		// Os dois atendimentos são do paciente 5
+		Map<String, Object> paciente = relatorioService.obterPorPaciente(5, null);
+		assertEquals(1L, mes(paciente, YearMonth.of(2024, 8)).get("total"));
+		assertEquals(1L, mes(paciente, YearMonth.of(2024, 9)).get("total"));
+	}
+
+	@Test
+	void inclusaoAlteracaoEExclusaoAtualizamOsContadores() {
+		Psicologo psicologo = new Psicologo();
+		psicologo.setId(2);
+		Paciente paciente = new Paciente();
+		paciente.setId(5);
+		Atendimento atendimento = new Atendimento("15/10/2024 - 10:00", "Online");
+		atendimento.setPsicologo(psicologo);
+		atendimento.setPaciente(paciente);
+
+		atendimentoService.incluir(atendimento);
+		assertNotNull(atendimento.getId());
+		try {
+			assertEquals(1L, mes(relatorioService.obterPorPsicologo(2, OUTUBRO), OUTUBRO).get("emAndamento"));
+			assertEquals(1L, mes(relatorioService.obterPorPaciente(5, OUTUBRO), OUTUBRO).get("total"));
+
+			atendimento.setStatusAtendimento(true);
+			atendimentoService.incluir(atendimento);
+			Map<String, Object> outubro = mes(relatorioService.obterPorPsicologo(2, OUTUBRO), OUTUBRO);
+			assertEquals(1L, outubro.get("efetuados"));
+			assertEquals(0L, outubro.get("emAndamento"));
+		} finally {
+			atendimentoService.excluir(atendimento.getId());
+		}
+
+		assertTrue(relatorioService.obterPorPsicologo(2, null).keySet().stream().noneMatch("2024-10"::equals));
+		assertEquals(0L, mes(relatorioService.obterGeral(OUTUBRO), OUTUBRO).get("total"));
+	}
+
+	@Test
+	void recalculoEquivaleAosContadoresIncrementais() {
+		Map<String, Object> incremental = relatorioService.obterGeral(null);
+		relatorioService.recalcular();
+		assertEquals(incremental, relatorioService.obterGeral(null));
+	}
+
+}